@@ -0,0 +1,169 @@
+package com.erebelo.springneptunedemo.benchmark;
+
+import static com.erebelo.springneptunedemo.constant.UserConstant.ADDRESS_STATE_PROPERTY;
+import static com.erebelo.springneptunedemo.constant.UserConstant.NAME_SEARCH_PROPERTY;
+import static com.erebelo.springneptunedemo.constant.UserConstant.USERNAME_PROPERTY;
+import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
+
+import com.erebelo.springneptunedemo.cache.UserNodeCache;
+import com.erebelo.springneptunedemo.cache.UsernameBloomFilter;
+import com.erebelo.springneptunedemo.config.GraphTraversalRouter;
+import com.erebelo.springneptunedemo.profiling.TraversalProfiler;
+import com.erebelo.springneptunedemo.repository.UserRepository;
+import com.erebelo.springneptunedemo.repository.impl.UserRepositoryImpl;
+import com.erebelo.springneptunedemo.repository.impl.UserRepositoryMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+import org.apache.tinkerpop.gremlin.driver.Cluster;
+import org.apache.tinkerpop.gremlin.driver.remote.DriverRemoteConnection;
+import org.apache.tinkerpop.gremlin.process.remote.RemoteConnection;
+import org.apache.tinkerpop.gremlin.process.remote.RemoteConnectionException;
+import org.apache.tinkerpop.gremlin.process.remote.traversal.RemoteTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+
+/**
+ * Graph backend shared by the benchmarks: either an embedded TinkerGraph or a
+ * remote Gremlin Server reached through the driver (see
+ * `db/gremlin-server/docker-compose.yml`). Every root traversal executed
+ * against the backend is counted as one round trip.
+ * <p>
+ * The embedded graph is indexed like the one of the `local` profile.
+ */
+public final class BenchmarkGraph implements AutoCloseable {
+
+    public static final String EMBEDDED = "embedded";
+    public static final String REMOTE = "remote";
+
+    private static final String HOST_PROPERTY = "benchmark.gremlin.host";
+    private static final String PORT_PROPERTY = "benchmark.gremlin.port";
+    private static final String DEFAULT_HOST = "localhost";
+    private static final int DEFAULT_PORT = 8182;
+
+    private final AtomicLong roundTrips = new AtomicLong();
+    private final boolean embedded;
+    private final Cluster cluster;
+    private final GraphTraversalSource g;
+
+    private BenchmarkGraph(String backend, UnaryOperator<Cluster.Builder> driverSettings) {
+        this.embedded = EMBEDDED.equals(backend);
+        if (embedded) {
+            TinkerGraph tinkerGraph = TinkerGraph.open();
+            tinkerGraph.createIndex(USERNAME_PROPERTY, Vertex.class);
+            tinkerGraph.createIndex(ADDRESS_STATE_PROPERTY, Vertex.class);
+            tinkerGraph.createIndex(NAME_SEARCH_PROPERTY, Vertex.class);
+
+            this.cluster = null;
+            this.g = traversal().withEmbedded(tinkerGraph).withStrategies(new RoundTripCountingStrategy(roundTrips));
+        } else if (REMOTE.equals(backend)) {
+            this.cluster = driverSettings.apply(Cluster.build(System.getProperty(HOST_PROPERTY, DEFAULT_HOST)))
+                    .port(Integer.getInteger(PORT_PROPERTY, DEFAULT_PORT)).create();
+            this.g = traversal()
+                    .withRemote(new RoundTripCountingConnection(DriverRemoteConnection.using(cluster), roundTrips));
+
+            // The stand-in server outlives the benchmark runs, so start from an empty graph
+            this.g.V().drop().iterate();
+        } else {
+            throw new IllegalArgumentException("Unknown benchmark backend: " + backend);
+        }
+    }
+
+    public static BenchmarkGraph open(String backend) {
+        return new BenchmarkGraph(backend, UnaryOperator.identity());
+    }
+
+    /*
+     * Remote backend whose driver is configured by the given settings, applied
+     * before the benchmark host and port.
+     */
+    public static BenchmarkGraph remote(UnaryOperator<Cluster.Builder> driverSettings) {
+        return new BenchmarkGraph(REMOTE, driverSettings);
+    }
+
+    public GraphTraversalSource traversal() {
+        return g;
+    }
+
+    /*
+     * User repository on this graph, without the node cache, the username filter
+     * and the traversal profiling, so that every operation reaches the graph.
+     */
+    public UserRepository userRepository() {
+        return new UserRepositoryImpl(GraphTraversalRouter.of(g),
+                new UserNodeCache(false, 0, Duration.ZERO, new SimpleMeterRegistry()),
+                new UsernameBloomFilter(g, false, 1, 0.01),
+                new UserRepositoryMetrics(new SimpleMeterRegistry(), embedded),
+                new TraversalProfiler(false, embedded, 0, Duration.ZERO, 0));
+    }
+
+    public long roundTrips() {
+        return roundTrips.get();
+    }
+
+    public void resetRoundTrips() {
+        roundTrips.set(0);
+    }
+
+    @Override
+    public void close() throws Exception {
+        g.close();
+        if (cluster != null) {
+            cluster.close();
+        }
+    }
+
+    /*
+     * Strategies are applied once to every traversal before it is executed, so
+     * counting the root traversals equals counting the embedded round trips.
+     */
+    private static final class RoundTripCountingStrategy
+            extends
+                AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy>
+            implements
+                TraversalStrategy.FinalizationStrategy {
+
+        private final transient AtomicLong roundTrips;
+
+        private RoundTripCountingStrategy(AtomicLong roundTrips) {
+            this.roundTrips = roundTrips;
+        }
+
+        @Override
+        public void apply(Traversal.Admin<?, ?> traversal) {
+            if (traversal.isRoot()) {
+                roundTrips.incrementAndGet();
+            }
+        }
+    }
+
+    private static final class RoundTripCountingConnection implements RemoteConnection {
+
+        private final RemoteConnection delegate;
+        private final AtomicLong roundTrips;
+
+        private RoundTripCountingConnection(RemoteConnection delegate, AtomicLong roundTrips) {
+            this.delegate = delegate;
+            this.roundTrips = roundTrips;
+        }
+
+        @Override
+        public <E> CompletableFuture<RemoteTraversal<?, E>> submitAsync(Bytecode bytecode)
+                throws RemoteConnectionException {
+            roundTrips.incrementAndGet();
+            return delegate.submitAsync(bytecode);
+        }
+
+        @Override
+        public void close() throws Exception {
+            delegate.close();
+        }
+    }
+}
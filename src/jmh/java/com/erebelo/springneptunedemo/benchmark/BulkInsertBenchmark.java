@@ -0,0 +1,92 @@
+package com.erebelo.springneptunedemo.benchmark;
+
+import com.erebelo.springneptunedemo.domain.graph.node.UserAddress;
+import com.erebelo.springneptunedemo.domain.graph.node.UserNode;
+import com.erebelo.springneptunedemo.repository.UserRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Import throughput, in users per second, of the batched `mergeV` used by the
+ * bulk endpoint compared with one `insert` per user. Every invocation imports
+ * new usernames, so that all of them are created.
+ * <p>
+ * The `remote` backend requires the Gremlin Server stand-in to be running.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    private static final int ROWS_PER_INVOCATION = 5000;
+
+    @Param({BenchmarkGraph.EMBEDDED, BenchmarkGraph.REMOTE})
+    private String backend;
+
+    @Param({"100", "500", "1000"})
+    private int chunkSize;
+
+    private BenchmarkGraph graph;
+    private UserRepository repository;
+    private long invocation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = BenchmarkGraph.open(backend);
+        repository = graph.userRepository();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        graph.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_INVOCATION)
+    public void chunkedMerge(Blackhole blackhole) {
+        List<UserNode> nodes = nextUsers();
+        for (int start = 0; start < nodes.size(); start += chunkSize) {
+            blackhole.consume(repository.insertAll(nodes.subList(start, Math.min(start + chunkSize, nodes.size()))));
+        }
+    }
+
+    /*
+     * Former import: one POST /users, hence one insert, per user.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_INVOCATION)
+    public void insertPerUser(Blackhole blackhole) {
+        for (UserNode node : nextUsers()) {
+            blackhole.consume(repository.insert(node));
+        }
+    }
+
+    private List<UserNode> nextUsers() {
+        long prefix = invocation++;
+        List<UserNode> nodes = new ArrayList<>(ROWS_PER_INVOCATION);
+        for (int i = 0; i < ROWS_PER_INVOCATION; i++) {
+            nodes.add(UserNode.builder().username("@user" + prefix + "_" + i).name("User " + i)
+                    .address(UserAddress.builder().city("Sacramento").state("CA").country("US").build()).build());
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,91 @@
+package com.erebelo.springneptunedemo.benchmark;
+
+import static com.erebelo.springneptunedemo.constant.UserConstant.USERNAME_PROPERTY;
+import static com.erebelo.springneptunedemo.constant.UserConstant.USER_VERTEX_LABEL;
+
+import com.erebelo.springneptunedemo.config.NeptuneDriverProperties;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.util.ser.Serializers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Load profile of the Gremlin driver settings exposed by
+ * `NeptuneDriverProperties`: reads per second of users by id, issued by
+ * concurrent threads through a single cluster, as the connection pool size,
+ * the simultaneous usage per connection and the serializer change.
+ * <p>
+ * Only runs against the `remote` backend, so the Gremlin Server stand-in must
+ * be running. The pool is opened at its maximum size, so that the measurement
+ * does not include its growth, and SSL is disabled like on the stand-in.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Threads(32)
+@Fork(1)
+public class DriverPoolBenchmark {
+
+    private static final int USERS = 1000;
+
+    @Param({"1", "5", "10"})
+    private int maxConnectionPoolSize;
+
+    @Param({"1", "5", "16"})
+    private int maxSimultaneousUsagePerConnection;
+
+    @Param({"GRAPHBINARY_V1", "GRAPHSON_V3"})
+    private Serializers serializer;
+
+    private BenchmarkGraph graph;
+    private GraphTraversalSource g;
+    private List<Object> userIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        NeptuneDriverProperties properties = new NeptuneDriverProperties();
+        properties.setEnableSsl(false);
+        properties.setSerializer(serializer);
+        properties.setMinConnectionPoolSize(maxConnectionPoolSize);
+        properties.setMaxConnectionPoolSize(maxConnectionPoolSize);
+        properties.setMaxInProcessPerConnection(maxSimultaneousUsagePerConnection);
+        properties.setMaxSimultaneousUsagePerConnection(maxSimultaneousUsagePerConnection);
+
+        graph = BenchmarkGraph.remote(properties::applyTo);
+        g = graph.traversal();
+
+        userIds = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            userIds.add(g.addV(USER_VERTEX_LABEL).property(USERNAME_PROPERTY, "@user" + i).id().next());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        graph.close();
+    }
+
+    @Benchmark
+    public Map<Object, Object> findById() {
+        return g.V(userIds.get(ThreadLocalRandom.current().nextInt(USERS))).elementMap().next();
+    }
+}
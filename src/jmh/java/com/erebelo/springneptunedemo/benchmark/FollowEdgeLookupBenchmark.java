@@ -0,0 +1,128 @@
+package com.erebelo.springneptunedemo.benchmark;
+
+import static com.erebelo.springneptunedemo.constant.UserConstant.FOLLOW_EDGE_LABEL;
+import static com.erebelo.springneptunedemo.constant.UserConstant.NAME_PROPERTY;
+import static com.erebelo.springneptunedemo.constant.UserConstant.USERNAME_PROPERTY;
+import static com.erebelo.springneptunedemo.constant.UserConstant.USER_VERTEX_LABEL;
+import static com.erebelo.springneptunedemo.util.GraphUtil.mapVertexAndEdgeToGraphObject;
+
+import com.erebelo.springneptunedemo.domain.graph.edge.FollowEdge;
+import com.erebelo.springneptunedemo.repository.UserRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the single projected traversal used by
+ * `UserRepository.findEdgesByUserIdAndDirection` with the former per-edge
+ * vertex lookup, for a growing number of followers. The round trips of both
+ * strategies are printed once per trial.
+ * <p>
+ * The `remote` backend requires the Gremlin Server stand-in to be running.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FollowEdgeLookupBenchmark {
+
+    private static final int SEED_BATCH_SIZE = 100;
+
+    @Param({BenchmarkGraph.EMBEDDED, BenchmarkGraph.REMOTE})
+    private String backend;
+
+    @Param({"10", "100", "1000", "5000"})
+    private int followerCount;
+
+    private BenchmarkGraph graph;
+    private UserRepository repository;
+    private String userId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = BenchmarkGraph.open(backend);
+        repository = graph.userRepository();
+        userId = seedFollowers(graph.traversal(), followerCount);
+
+        graph.resetRoundTrips();
+        singleTraversalLookup();
+        long singleTraversalRoundTrips = graph.roundTrips();
+
+        graph.resetRoundTrips();
+        perEdgeLookup();
+        long perEdgeRoundTrips = graph.roundTrips();
+
+        System.out.printf("%n[%s, %d followers] round trips per lookup: single traversal=%d, per edge=%d%n",
+                backend, followerCount, singleTraversalRoundTrips, perEdgeRoundTrips);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        graph.close();
+    }
+
+    @Benchmark
+    public List<FollowEdge> singleTraversalLookup() {
+        return repository.findEdgesByUserIdAndDirection(userId, Direction.IN);
+    }
+
+    /*
+     * Former implementation: one traversal for the edges followed by one vertex
+     * lookup per edge.
+     */
+    @Benchmark
+    public List<FollowEdge> perEdgeLookup() {
+        GraphTraversalSource g = graph.traversal();
+        Vertex vertex = g.V().hasLabel(USER_VERTEX_LABEL).has(T.id, userId).next();
+        List<Map<Object, Object>> edgeMapList = g.V(vertex.id()).inE(FOLLOW_EDGE_LABEL).elementMap().toList();
+
+        return edgeMapList.stream().map(edgeMap -> {
+            FollowEdge followEdge = mapVertexAndEdgeToGraphObject(edgeMap, FollowEdge.class);
+            followEdge.setOut(repository.findById(((Map<?, ?>) edgeMap.get(Direction.OUT)).get(T.id).toString()));
+            return followEdge;
+        }).toList();
+    }
+
+    private static String seedFollowers(GraphTraversalSource g, int followerCount) {
+        String userId = UUID.randomUUID().toString();
+        g.addV(USER_VERTEX_LABEL).property(T.id, userId).property(USERNAME_PROPERTY, "@celebrity")
+                .property(NAME_PROPERTY, "Celebrity").iterate();
+
+        // Chain the followers in batches so that seeding large graphs stays fast on
+        // the remote backend
+        for (int start = 0; start < followerCount; start += SEED_BATCH_SIZE) {
+            GraphTraversal<Vertex, ?> gtBatch = null;
+            for (int i = start; i < Math.min(start + SEED_BATCH_SIZE, followerCount); i++) {
+                gtBatch = (gtBatch == null ? g.addV(USER_VERTEX_LABEL) : gtBatch.addV(USER_VERTEX_LABEL))
+                        .property(T.id, UUID.randomUUID().toString()).property(USERNAME_PROPERTY, "@follower" + i)
+                        .property(NAME_PROPERTY, "Follower " + i).addE(FOLLOW_EDGE_LABEL).to(__.V(userId))
+                        .property(T.id, UUID.randomUUID().toString()).property("status", "ACTIVE");
+            }
+            gtBatch.iterate();
+        }
+
+        return userId;
+    }
+}
@@ -0,0 +1,181 @@
+package com.erebelo.springneptunedemo.benchmark;
+
+import static com.erebelo.springneptunedemo.constant.UserConstant.FOLLOW_EDGE_LABEL;
+import static com.erebelo.springneptunedemo.constant.UserConstant.NAME_SEARCH_PROPERTY;
+import static com.erebelo.springneptunedemo.constant.UserConstant.USER_VERTEX_LABEL;
+import static com.erebelo.springneptunedemo.util.GraphUtil.appendVertexAndEdgeProperties;
+import static com.erebelo.springneptunedemo.util.GraphUtil.mapEdgeAndAdjacentVertexToGraphObject;
+import static com.erebelo.springneptunedemo.util.GraphUtil.mapVertexAndEdgeToGraphObject;
+import static com.erebelo.springneptunedemo.util.ObjectMapperUtil.objectMapper;
+
+import com.erebelo.springneptunedemo.domain.graph.edge.FollowEdge;
+import com.erebelo.springneptunedemo.domain.graph.node.UserNode;
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+
+/**
+ * Compares the compiled graph object mapper used by
+ * `GraphUtil.mapVertexAndEdgeToGraphObject` with the former nested map parsing
+ * followed by a Jackson conversion, on `elementMap()` results shaped like the
+ * ones returned by the repositories. The property plan used by
+ * `GraphUtil.appendVertexAndEdgeProperties` is compared the same way with the
+ * former Jackson map conversion, on a PUT of a user. Run it with `-prof gc` to
+ * compare the allocation rates as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphMappingBenchmark {
+
+    private static final String NESTED_PROPERTY_DELIMITER = "_";
+
+    private final Map<Object, Object> vertexMap = userVertexMap();
+    private final Map<Object, Object> edgeMap = followEdgeMap();
+    private final UserNode node = mapVertexAndEdgeToGraphObject(vertexMap, UserNode.class);
+
+    @Benchmark
+    public UserNode compiledVertex() {
+        return mapVertexAndEdgeToGraphObject(vertexMap, UserNode.class);
+    }
+
+    @Benchmark
+    public UserNode jacksonVertex() {
+        return objectMapper.convertValue(parseVertexProperties(vertexMap), UserNode.class);
+    }
+
+    @Benchmark
+    public FollowEdge compiledEdgeAndAdjacentVertex() {
+        return mapEdgeAndAdjacentVertexToGraphObject(edgeMap, vertexMap, "out", FollowEdge.class);
+    }
+
+    @Benchmark
+    public FollowEdge jacksonEdgeAndAdjacentVertex() {
+        Map<String, Object> parsedProperties = parseVertexProperties(edgeMap);
+        parsedProperties.put("out", parseVertexProperties(vertexMap));
+
+        return objectMapper.convertValue(parsedProperties, FollowEdge.class);
+    }
+
+    @Benchmark
+    public GraphTraversal<Object, Object> plannedPropertySteps() {
+        GraphTraversal<Object, Object> gtVertex = __.start();
+        appendVertexAndEdgeProperties(gtVertex, node, HttpMethod.PUT.name());
+
+        return gtVertex;
+    }
+
+    /*
+     * Former implementation of `GraphUtil.addPropertySteps()`, without the
+     * canonical and search properties that both paths add the same way.
+     */
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public GraphTraversal<Object, Object> jacksonPropertySteps() {
+        GraphTraversal<Object, Object> gtVertex = __.start();
+        List<String> propertiesToDrop = new ArrayList<>();
+
+        Map<String, Object> properties = objectMapper.convertValue(node, new TypeReference<>() {
+        });
+        for (Map.Entry<String, Object> entry : properties.entrySet()) {
+            if (entry.getValue() instanceof Map) {
+                for (Map.Entry<String, Object> nestedEntry : ((Map<String, Object>) entry.getValue()).entrySet()) {
+                    String key = entry.getKey() + NESTED_PROPERTY_DELIMITER + nestedEntry.getKey();
+                    if (nestedEntry.getValue() != null) {
+                        gtVertex.property(key, nestedEntry.getValue());
+                    } else {
+                        propertiesToDrop.add(key);
+                    }
+                }
+            } else if (entry.getValue() != null) {
+                gtVertex.property(entry.getKey(), entry.getValue());
+            } else {
+                propertiesToDrop.add(entry.getKey());
+            }
+        }
+
+        if (!propertiesToDrop.isEmpty()) {
+            gtVertex.properties(propertiesToDrop.toArray(new String[0])).drop();
+        }
+        return gtVertex;
+    }
+
+    /*
+     * Former implementation of `GraphUtil.parseVertexProperties()`.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> parseVertexProperties(Map<Object, Object> propertiesMap) {
+        Map<String, Object> result = new HashMap<>();
+
+        for (Map.Entry<Object, Object> entry : propertiesMap.entrySet()) {
+            String key = entry.getKey().toString();
+            Object value = entry.getValue();
+
+            String[] parts = key.split(NESTED_PROPERTY_DELIMITER);
+            if (parts.length > 1) {
+                String prefix = parts[0];
+                String nestedKey = String.join(NESTED_PROPERTY_DELIMITER, Arrays.copyOfRange(parts, 1, parts.length));
+
+                Map<String, Object> nestedMap = (Map<String, Object>) result.computeIfAbsent(prefix,
+                        k -> new HashMap<>());
+                nestedMap.put(nestedKey, value);
+            } else {
+                result.put(key, value);
+            }
+        }
+
+        return result;
+    }
+
+    private static Map<Object, Object> userVertexMap() {
+        Map<Object, Object> vertexMap = new LinkedHashMap<>();
+        vertexMap.put(T.id, UUID.randomUUID().toString());
+        vertexMap.put(T.label, USER_VERTEX_LABEL);
+        vertexMap.put("username", "@john.doe");
+        vertexMap.put("name", "John Doe");
+        vertexMap.put(NAME_SEARCH_PROPERTY, "john doe");
+        vertexMap.put("address_addressLine", "123 Main St");
+        vertexMap.put("address_zipCode", "90001");
+        vertexMap.put("address_city", "Los Angeles");
+        vertexMap.put("address_state", "CA");
+        vertexMap.put("address_country", "USA");
+
+        return vertexMap;
+    }
+
+    private static Map<Object, Object> followEdgeMap() {
+        Map<Object, Object> edgeMap = new LinkedHashMap<>();
+        edgeMap.put(T.id, UUID.randomUUID().toString());
+        edgeMap.put(T.label, FOLLOW_EDGE_LABEL);
+        edgeMap.put(Direction.IN, Map.of(T.id, UUID.randomUUID().toString(), T.label, USER_VERTEX_LABEL));
+        edgeMap.put(Direction.OUT, Map.of(T.id, UUID.randomUUID().toString(), T.label, USER_VERTEX_LABEL));
+        edgeMap.put("status", "ACTIVE");
+        edgeMap.put("startPeriod", "2024-01-01");
+        edgeMap.put("endPeriod", "2025-01-01");
+
+        return edgeMap;
+    }
+}
@@ -0,0 +1,121 @@
+package com.erebelo.springneptunedemo.benchmark;
+
+import static com.erebelo.springneptunedemo.constant.UserConstant.NAME_PROPERTY;
+import static com.erebelo.springneptunedemo.constant.UserConstant.NAME_SEARCH_PROPERTY;
+import static com.erebelo.springneptunedemo.constant.UserConstant.USERNAME_PROPERTY;
+import static com.erebelo.springneptunedemo.constant.UserConstant.USER_VERTEX_LABEL;
+import static com.erebelo.springneptunedemo.util.GraphUtil.mapVertexAndEdgeToGraphObject;
+import static com.erebelo.springneptunedemo.util.TextUtil.normalizeSearchText;
+import static org.apache.tinkerpop.gremlin.process.traversal.TextP.regex;
+
+import com.erebelo.springneptunedemo.domain.graph.node.UserNode;
+import com.erebelo.springneptunedemo.domain.request.NameMatch;
+import com.erebelo.springneptunedemo.repository.UserRepository;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the former case-insensitive regex filter on `name` with the
+ * predicates on the normalized `nameSearch` shadow property used by
+ * `UserRepository.findAll`. Only a handful of users match the searched name, so
+ * every strategy has to go through the whole user population.
+ * <p>
+ * Seeding one million users takes a while, especially on the `remote` backend
+ * (`-p backend=remote`), which requires the Gremlin Server stand-in to be
+ * running.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class NameSearchBenchmark {
+
+    private static final int SEED_BATCH_SIZE = 100;
+    private static final int MATCH_EVERY = 100_000;
+    private static final String MATCHING_NAME = "Zoë Ångström";
+    private static final String SEARCHED_NAME = "Zoë Å";
+    private static final String SEARCHED_PREFIX = "ZOE";
+    private static final int LIMIT = 50;
+
+    @Param({BenchmarkGraph.EMBEDDED})
+    private String backend;
+
+    @Param({"1000000"})
+    private int userCount;
+
+    private BenchmarkGraph graph;
+    private UserRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = BenchmarkGraph.open(backend);
+        repository = graph.userRepository();
+        seedUsers(graph.traversal(), userCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        graph.close();
+    }
+
+    /*
+     * Former implementation: the user input compiled into a case-insensitive
+     * regex and evaluated against every `name`.
+     */
+    @Benchmark
+    public List<UserNode> regexContains() {
+        return graph.traversal().V().hasLabel(USER_VERTEX_LABEL).has(NAME_PROPERTY, regex("(?i)" + SEARCHED_NAME))
+                .limit(LIMIT).elementMap().toList().stream()
+                .map(v -> mapVertexAndEdgeToGraphObject(v, UserNode.class)).toList();
+    }
+
+    @Benchmark
+    public List<UserNode> shadowContains() {
+        return repository.findAll(SEARCHED_NAME, NameMatch.CONTAINS, null, LIMIT, 1);
+    }
+
+    @Benchmark
+    public List<UserNode> shadowPrefix() {
+        return repository.findAll(SEARCHED_PREFIX, NameMatch.PREFIX, null, LIMIT, 1);
+    }
+
+    @Benchmark
+    public List<UserNode> shadowExact() {
+        return repository.findAll(MATCHING_NAME, NameMatch.EXACT, null, LIMIT, 1);
+    }
+
+    private static void seedUsers(GraphTraversalSource g, int userCount) {
+        // Chain the users in batches so that seeding large graphs stays fast on the
+        // remote backend
+        for (int start = 0; start < userCount; start += SEED_BATCH_SIZE) {
+            GraphTraversal<Vertex, Vertex> gtBatch = null;
+            for (int i = start; i < Math.min(start + SEED_BATCH_SIZE, userCount); i++) {
+                String name = i % MATCH_EVERY == 0 ? MATCHING_NAME : "User " + i;
+                gtBatch = (gtBatch == null ? g.addV(USER_VERTEX_LABEL) : gtBatch.addV(USER_VERTEX_LABEL))
+                        .property(T.id, UUID.randomUUID().toString()).property(USERNAME_PROPERTY, "@user" + i)
+                        .property(NAME_PROPERTY, name).property(NAME_SEARCH_PROPERTY, normalizeSearchText(name));
+            }
+            gtBatch.iterate();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.erebelo.springneptunedemo.benchmark;
+
+import com.erebelo.springneptunedemo.domain.graph.edge.FollowEdge;
+import com.erebelo.springneptunedemo.domain.graph.node.UserNode;
+import com.erebelo.springneptunedemo.loadtest.SocialGraphGenerator;
+import com.erebelo.springneptunedemo.loadtest.SocialGraphSink;
+import com.erebelo.springneptunedemo.repository.UserRepository;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Follow lookups on the power-law graph of SocialGraphGenerator, where the
+ * first user is the most followed supernode while a random user has a handful
+ * of follows, with the node cache disabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SocialGraphBenchmark {
+
+    @Param({BenchmarkGraph.EMBEDDED})
+    private String backend;
+
+    @Param({"10000", "100000"})
+    private int userCount;
+
+    private BenchmarkGraph graph;
+    private UserRepository repository;
+    private List<String> userIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = BenchmarkGraph.open(backend);
+        repository = graph.userRepository();
+        userIds = new SocialGraphGenerator(userCount, 42L, 1, 1_000, 2.2, 1.0, 500)
+                .load(SocialGraphSink.of(repository)).getUserIds();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        graph.close();
+    }
+
+    @Benchmark
+    public List<FollowEdge> findCelebrityFollowers() {
+        return repository.findEdgesByUserIdAndDirection(userIds.get(0), Direction.IN);
+    }
+
+    @Benchmark
+    public List<FollowEdge> findRandomUserFollowers() {
+        return repository.findEdgesByUserIdAndDirection(randomUserId(), Direction.IN);
+    }
+
+    @Benchmark
+    public List<FollowEdge> findRandomUserFollowing() {
+        return repository.findEdgesByUserIdAndDirection(randomUserId(), Direction.OUT);
+    }
+
+    @Benchmark
+    public UserNode findRandomUser() {
+        return repository.findById(randomUserId());
+    }
+
+    private String randomUserId() {
+        return userIds.get(ThreadLocalRandom.current().nextInt(userCount));
+    }
+}
@@ -0,0 +1,211 @@
+package com.erebelo.springneptunedemo.benchmark;
+
+import com.erebelo.springneptunedemo.domain.graph.edge.FollowEdge;
+import com.erebelo.springneptunedemo.domain.graph.node.UserAddress;
+import com.erebelo.springneptunedemo.domain.graph.node.UserNode;
+import com.erebelo.springneptunedemo.domain.request.NameMatch;
+import com.erebelo.springneptunedemo.repository.UserRepository;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency of the `UserRepositoryImpl` operations on a seeded graph of
+ * `userCount` users, each following the next `FOLLOWS_PER_USER` ones, with the
+ * node cache disabled. Every operation targets a random user, and the writes
+ * either create new users or undo themselves, so that the graph keeps its size
+ * across iterations.
+ * <p>
+ * Runs on the embedded graph by default; pass `-p backend=remote` to run it
+ * against the Gremlin Server stand-in.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserRepositoryBenchmark {
+
+    private static final int SEED_CHUNK_SIZE = 500;
+    private static final int FOLLOWS_PER_USER = 5;
+    private static final int PAGE_SIZE = 50;
+    private static final String[] STATES = {"CA", "NY", "TX", "FL", "WA"};
+
+    @Param({BenchmarkGraph.EMBEDDED})
+    private String backend;
+
+    @Param({"1000", "100000"})
+    private int userCount;
+
+    private BenchmarkGraph graph;
+    private UserRepository repository;
+    private List<String> userIds;
+    private long invocation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = BenchmarkGraph.open(backend);
+        repository = graph.userRepository();
+        userIds = seedUsers();
+        seedFollows();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        graph.close();
+    }
+
+    @Benchmark
+    public UserNode findById() {
+        return repository.findById(randomUserId());
+    }
+
+    @Benchmark
+    public List<UserNode> findAllByState() {
+        int pages = Math.max(1, userCount / STATES.length / PAGE_SIZE);
+        return repository.findAll(null, NameMatch.CONTAINS, STATES[ThreadLocalRandom.current().nextInt(STATES.length)],
+                PAGE_SIZE, ThreadLocalRandom.current().nextInt(pages) + 1);
+    }
+
+    @Benchmark
+    public List<UserNode> findAllByName() {
+        return repository.findAll("user 1", NameMatch.PREFIX, null, PAGE_SIZE, 1);
+    }
+
+    /*
+     * `findAllPage` and `findAllAfterCursor` read the same page of the whole user
+     * list, by page number and by the cursor of the previous page respectively.
+     */
+    @Benchmark
+    public List<UserNode> findAllPage(PageDepth depth) {
+        return repository.findAll(null, NameMatch.CONTAINS, null, PAGE_SIZE, depth.page);
+    }
+
+    @Benchmark
+    public List<UserNode> findAllAfterCursor(PageDepth depth) {
+        return repository.findAllAfter(null, NameMatch.CONTAINS, null, PAGE_SIZE, depth.cursor);
+    }
+
+    @Benchmark
+    public List<FollowEdge> findFollowers() {
+        return repository.findEdgesByUserIdAndDirection(randomUserId(), Direction.IN);
+    }
+
+    @Benchmark
+    public UserNode insertAndDelete() {
+        UserNode node = repository.insert(user("@bench" + invocation++, 0));
+        repository.deleteById(node.getId());
+        return node;
+    }
+
+    @Benchmark
+    public UserNode update() {
+        int index = ThreadLocalRandom.current().nextInt(userCount);
+        return repository.update(userIds.get(index), user("@user" + index, index));
+    }
+
+    @Benchmark
+    public UserNode patch() {
+        int index = ThreadLocalRandom.current().nextInt(userCount);
+        return repository.patch(userIds.get(index), Map.of("name", "User " + index));
+    }
+
+    /*
+     * The target is half the graph away, so it is never one of the seeded
+     * follows.
+     */
+    @Benchmark
+    public FollowEdge followAndUnfollow() {
+        int index = ThreadLocalRandom.current().nextInt(userCount);
+        String fromId = userIds.get(index);
+        String toId = userIds.get((index + userCount / 2) % userCount);
+
+        FollowEdge edge = repository.createEdge(fromId, toId,
+                FollowEdge.builder().status("ACTIVE").startPeriod(LocalDate.now()).build());
+        repository.removeEdge(fromId, toId);
+        return edge;
+    }
+
+    /**
+     * Page read by the pagination benchmarks, capped to the last full page of
+     * the seeded graph.
+     */
+    @State(Scope.Benchmark)
+    public static class PageDepth {
+
+        @Param({"1", "20", "2000"})
+        private int requestedPage;
+
+        private int page;
+        private String cursor;
+
+        /*
+         * The cursor of a page is the last id of the previous one, in the id order
+         * of the cursor traversal.
+         */
+        @Setup(Level.Trial)
+        public void setUp(UserRepositoryBenchmark benchmark) {
+            page = Math.min(requestedPage, benchmark.userCount / PAGE_SIZE);
+            List<String> sortedIds = benchmark.userIds.stream().sorted(Comparator.naturalOrder()).toList();
+            cursor = page == 1 ? null : sortedIds.get((page - 1) * PAGE_SIZE - 1);
+        }
+    }
+
+    private String randomUserId() {
+        return userIds.get(ThreadLocalRandom.current().nextInt(userCount));
+    }
+
+    private List<String> seedUsers() {
+        List<String> ids = new ArrayList<>(userCount);
+        for (int start = 0; start < userCount; start += SEED_CHUNK_SIZE) {
+            List<UserNode> nodes = new ArrayList<>(SEED_CHUNK_SIZE);
+            for (int i = start; i < Math.min(start + SEED_CHUNK_SIZE, userCount); i++) {
+                nodes.add(user("@user" + i, i));
+            }
+            ids.addAll(repository.insertAll(nodes));
+        }
+        return ids;
+    }
+
+    private void seedFollows() {
+        List<FollowEdge> edges = new ArrayList<>(SEED_CHUNK_SIZE);
+        for (int i = 0; i < userCount; i++) {
+            for (int offset = 1; offset <= FOLLOWS_PER_USER; offset++) {
+                edges.add(FollowEdge.builder().out(UserNode.builder().id(userIds.get(i)).build())
+                        .in(UserNode.builder().id(userIds.get((i + offset) % userCount)).build()).status("ACTIVE")
+                        .startPeriod(LocalDate.of(2024, 1, 1)).build());
+                if (edges.size() == SEED_CHUNK_SIZE) {
+                    repository.createEdges(edges);
+                    edges.clear();
+                }
+            }
+        }
+        if (!edges.isEmpty()) {
+            repository.createEdges(edges);
+        }
+    }
+
+    private static UserNode user(String username, int index) {
+        return UserNode.builder().username(username).name("User " + index).address(UserAddress.builder()
+                .city("City " + index % 100).state(STATES[index % STATES.length]).country("US").build()).build();
+    }
+}
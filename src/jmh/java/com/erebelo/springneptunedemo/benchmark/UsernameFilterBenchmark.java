@@ -0,0 +1,104 @@
+package com.erebelo.springneptunedemo.benchmark;
+
+import static com.erebelo.springneptunedemo.util.ObjectMapperUtil.objectMapper;
+import static com.erebelo.springneptunedemo.util.UsernameUtil.normalizeUsername;
+
+import com.erebelo.springneptunedemo.filter.CustomHttpServletRequest;
+import com.erebelo.springneptunedemo.filter.UserRequestFilter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.servlet.ServletRequest;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Compares the streaming body rewrite of `UserRequestFilter` with the former
+ * read-to-string, `readTree()` and `writeValueAsString()` rewrite, on a user
+ * POST body. Both variants read the rewritten body back like the message
+ * converter does. Run it with `-prof gc` to compare the allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UsernameFilterBenchmark {
+
+    private static final String USERS_URI = "/spring-neptune-demo/users";
+    private static final String USERNAME_PROPERTY = "username";
+    private static final byte[] BODY = """
+            {
+              "username": "John.Doe",
+              "name": "John Doe",
+              "address": {
+                "addressLine": "123 Main St",
+                "zipCode": "90001",
+                "city": "Los Angeles",
+                "state": "CA",
+                "country": "USA"
+              }
+            }
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final UserRequestFilter filter = new UserRequestFilter();
+
+    /*
+     * The body is read within the chain, before its pooled buffer is reused.
+     */
+    @Benchmark
+    public byte[] streamingRewrite() throws Exception {
+        byte[][] body = new byte[1][];
+        filter.doFilter(request(), new MockHttpServletResponse(), (request, response) -> body[0] = readBody(request));
+
+        return body[0];
+    }
+
+    /*
+     * Former implementation of the body rewrite.
+     */
+    @Benchmark
+    public byte[] treeRewrite() throws Exception {
+        MockHttpServletRequest request = request();
+
+        StringBuilder requestBody = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                requestBody.append(line);
+            }
+        }
+
+        JsonNode jsonNode = objectMapper.readTree(requestBody.toString());
+        ((ObjectNode) jsonNode).put(USERNAME_PROPERTY, normalizeUsername(jsonNode.get(USERNAME_PROPERTY).asText()));
+        String modifiedBody = objectMapper.writeValueAsString(jsonNode);
+
+        byte[] modifiedBodyBytes = modifiedBody.getBytes(StandardCharsets.UTF_8);
+        return readBody(new CustomHttpServletRequest(request, modifiedBodyBytes, modifiedBodyBytes.length));
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", USERS_URI);
+        request.setContent(BODY);
+        return request;
+    }
+
+    private static byte[] readBody(ServletRequest request) throws IOException {
+        return request.getInputStream().readAllBytes();
+    }
+}
@@ -0,0 +1,114 @@
+package com.erebelo.springneptunedemo.loadtest;
+
+import static com.erebelo.springneptunedemo.constant.BusinessConstant.USERS_BULK_PATH;
+import static com.erebelo.springneptunedemo.constant.BusinessConstant.USERS_FOLLOW_PATH;
+import static com.erebelo.springneptunedemo.constant.BusinessConstant.USERS_PATH;
+import static com.erebelo.springneptunedemo.util.ObjectMapperUtil.objectMapper;
+
+import com.erebelo.springneptunedemo.domain.graph.edge.FollowEdge;
+import com.erebelo.springneptunedemo.domain.graph.node.UserAddress;
+import com.erebelo.springneptunedemo.domain.graph.node.UserNode;
+import com.erebelo.springneptunedemo.domain.request.BulkFollowRequest;
+import com.erebelo.springneptunedemo.domain.request.UserAddressRequest;
+import com.erebelo.springneptunedemo.domain.request.UserRequest;
+import com.erebelo.springneptunedemo.domain.response.bulk.BulkRowResponse;
+import com.erebelo.springneptunedemo.domain.response.bulk.BulkRowStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+/**
+ * Loads the generated graph into a running app through its NDJSON bulk
+ * endpoints, one request per chunk. Whether the app stores it in its embedded
+ * TinkerGraph (`local` profile) or in Neptune only depends on how it was
+ * started.
+ */
+public final class HttpSocialGraphSink implements SocialGraphSink {
+
+    public static final String DEFAULT_URL = "http://localhost:8080/spring-neptune-demo";
+
+    private static final TypeReference<List<BulkRowResponse>> BULK_RESPONSE_TYPE = new TypeReference<>() {
+    };
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final String usersUrl;
+
+    public HttpSocialGraphSink(String baseUrl) {
+        this.usersUrl = baseUrl + USERS_PATH;
+    }
+
+    public static String baseUrl() {
+        return System.getProperty("loadtest.url", DEFAULT_URL);
+    }
+
+    @Override
+    public List<String> insertUsers(List<UserNode> users) {
+        return post(USERS_BULK_PATH, users.stream().map(HttpSocialGraphSink::userRequest).toList()).stream()
+                .map(BulkRowResponse::getId).toList();
+    }
+
+    @Override
+    public void insertFollows(List<FollowEdge> follows) {
+        post(USERS_FOLLOW_PATH + USERS_BULK_PATH, follows.stream().map(follow -> BulkFollowRequest.builder()
+                .fromId(follow.getOut().getId()).toId(follow.getIn().getId()).status(follow.getStatus())
+                .startPeriod(follow.getStartPeriod()).endPeriod(follow.getEndPeriod()).build()).toList());
+    }
+
+    /*
+     * The generated rows are valid and unique, so any row that is not created
+     * means that the target graph was not empty or that the app failed.
+     */
+    private List<BulkRowResponse> post(String path, List<?> rows) {
+        try {
+            HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create(usersUrl + path))
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE)
+                    .POST(HttpRequest.BodyPublishers.ofString(ndjson(rows))).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException(
+                        "Bulk request failed with status " + response.statusCode() + ": " + response.body());
+            }
+
+            List<BulkRowResponse> rowResponses = objectMapper.readValue(response.body(), BULK_RESPONSE_TYPE);
+            rowResponses.stream().filter(row -> row.getStatus() != BulkRowStatus.CREATED).findFirst()
+                    .ifPresent(row -> {
+                        throw new IllegalStateException(
+                                "Bulk row " + row.getIndex() + " was not created: " + row.getMessage());
+                    });
+            return rowResponses;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String ndjson(List<?> rows) {
+        return rows.stream().map(row -> {
+            try {
+                return objectMapper.writeValueAsString(row);
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).collect(Collectors.joining("\n"));
+    }
+
+    private static UserRequest userRequest(UserNode user) {
+        UserAddress address = user.getAddress();
+        return UserRequest.builder().username(user.getUsername()).name(user.getName())
+                .address(UserAddressRequest.builder().addressLine(address.getAddressLine())
+                        .zipCode(address.getZipCode()).city(address.getCity()).state(address.getState())
+                        .country(address.getCountry()).build())
+                .build();
+    }
+}
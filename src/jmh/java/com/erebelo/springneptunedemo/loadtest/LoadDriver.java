@@ -0,0 +1,454 @@
+package com.erebelo.springneptunedemo.loadtest;
+
+import static com.erebelo.springneptunedemo.constant.BusinessConstant.MERGE_PATCH_MEDIA_TYPE;
+import static com.erebelo.springneptunedemo.constant.BusinessConstant.NEXT_CURSOR_HEADER;
+import static com.erebelo.springneptunedemo.constant.BusinessConstant.USERS_FOLLOW_PATH;
+import static com.erebelo.springneptunedemo.constant.BusinessConstant.USERS_PATH;
+import static com.erebelo.springneptunedemo.constant.BusinessConstant.USERS_UNFOLLOW_PATH;
+import static com.erebelo.springneptunedemo.util.ObjectMapperUtil.objectMapper;
+
+import com.erebelo.springneptunedemo.domain.request.FollowRequest;
+import com.erebelo.springneptunedemo.domain.request.UserAddressRequest;
+import com.erebelo.springneptunedemo.domain.request.UserRequest;
+import com.erebelo.springneptunedemo.domain.response.node.UserResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.DoubleSummaryStatistics;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+/**
+ * Replays a weighted mix of the UserController operations against a running
+ * app from `threads` concurrent clients, then reports the throughput, the
+ * response status classes and the latency percentiles of every operation.
+ * Requests sent during the warmup are not recorded.
+ * <p>
+ * Reads and follows target a sample of the existing users (typically loaded by
+ * SocialGraphGenerator), paged through GET /users. Updates, patches, deletes
+ * and follows only act on the users the driver inserted, and unfollows on the
+ * follows it created, so that the loaded graph is left as it was: what remains
+ * of them is removed once the run is over. When an operation has nothing to act
+ * on yet, an insert is sent instead.
+ * <p>
+ * The heap, non-heap, live threads and CPU usage of the app are sampled from
+ * its metrics endpoint every second after the warmup, so that two runs with the
+ * same settings compare app modes (e.g. platform and virtual threads) on both
+ * throughput and footprint.
+ * <p>
+ * Run it from the command line with the `benchmark` profile (see the README),
+ * its settings being read from the `loadtest.*` system properties.
+ */
+public final class LoadDriver {
+
+    private static final String DEFAULT_MIX = "findById=40,findAll=20,insert=8,update=8,patch=8,delete=4,follow=8,"
+            + "unfollow=4";
+    private static final int SAMPLE_PAGE_SIZE = 500;
+    private static final int SEARCH_PAGE_SIZE = 20;
+    private static final int SEARCH_PAGES = 5;
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final double BYTES_PER_MB = 1024 * 1024;
+    // Name, tag and unit of the sampled app metrics, the MB ones being read in bytes
+    private static final String[][] SERVER_METRICS = {{"jvm.memory.used", "area:heap", "MB"},
+            {"jvm.memory.used", "area:nonheap", "MB"}, {"jvm.threads.live", null, null},
+            {"process.cpu.usage", null, null}};
+    private static final TypeReference<List<UserResponse>> USERS_RESPONSE_TYPE = new TypeReference<>() {
+    };
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ConcurrentLinkedDeque<String> insertedIds = new ConcurrentLinkedDeque<>();
+    private final ConcurrentLinkedDeque<String[]> follows = new ConcurrentLinkedDeque<>();
+    private final AtomicLong insertCount = new AtomicLong();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<String, DoubleSummaryStatistics> serverMetrics = new LinkedHashMap<>();
+    private final String metricsUrl;
+    private final String usersUrl;
+    private final int threads;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Map<Operation, Integer> mix;
+    private final int totalWeight;
+    private final Map<Operation, Timer> timers = new EnumMap<>(Operation.class);
+    private List<String> sampledIds;
+
+    public LoadDriver(String baseUrl, int threads, Duration warmup, Duration duration, Map<Operation, Integer> mix) {
+        this.metricsUrl = baseUrl + "/actuator/metrics/";
+        this.usersUrl = baseUrl + USERS_PATH;
+        this.threads = threads;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.mix = mix;
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        if (threads < 1 || totalWeight < 1) {
+            throw new IllegalArgumentException("Invalid load settings");
+        }
+
+        // A single window spanning the whole run, so that the percentiles are those of all the requests
+        for (Operation operation : Operation.values()) {
+            timers.put(operation, Timer.builder("loadtest.requests").tag("operation", operation.key)
+                    .publishPercentiles(PERCENTILES).percentilePrecision(3)
+                    .distributionStatisticExpiry(warmup.plus(duration).plusMinutes(10))
+                    .distributionStatisticBufferLength(1).register(registry));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadDriver driver = new LoadDriver(HttpSocialGraphSink.baseUrl(), Integer.getInteger("loadtest.threads", 16),
+                duration(System.getProperty("loadtest.warmup", "10s")),
+                duration(System.getProperty("loadtest.duration", "60s")),
+                mix(System.getProperty("loadtest.mix", DEFAULT_MIX)));
+
+        driver.sampleUsers(Integer.getInteger("loadtest.sample", 10_000));
+        driver.run();
+        driver.report();
+        driver.cleanUp();
+    }
+
+    /*
+     * Pages through the users with the keyset cursor until the sample is full or
+     * the last page is reached.
+     */
+    public void sampleUsers(int sampleSize) throws IOException, InterruptedException {
+        List<String> ids = new ArrayList<>(sampleSize);
+        String cursor = "";
+        while (cursor != null && ids.size() < sampleSize) {
+            HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(usersUrl + "?limit="
+                    + SAMPLE_PAGE_SIZE + "&cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8))).GET());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Unable to sample the users, status " + response.statusCode());
+            }
+
+            objectMapper.readValue(response.body(), USERS_RESPONSE_TYPE).stream().limit(sampleSize - ids.size())
+                    .forEach(user -> ids.add(user.getId()));
+            cursor = response.headers().firstValue(NEXT_CURSOR_HEADER).orElse(null);
+        }
+
+        if (ids.size() < 2) {
+            throw new IllegalStateException("Not enough users to sample, load a graph first");
+        }
+        sampledIds = ids;
+        System.out.printf("Sampled %d users, running %s for %s (warmup %s) from %d threads%n", ids.size(), mix,
+                duration, warmup, threads);
+    }
+
+    public void run() throws InterruptedException {
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(this::sampleServerMetrics, warmup.toMillis(), 1_000, TimeUnit.MILLISECONDS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            SplittableRandom random = new SplittableRandom(i);
+            workers.add(executor.submit(() -> {
+                while (System.nanoTime() < end && !Thread.currentThread().isInterrupted()) {
+                    call(nextOperation(random), random, System.nanoTime() >= warmupEnd);
+                }
+            }));
+        }
+
+        executor.shutdown();
+        if (!executor.awaitTermination(duration.plus(warmup).toSeconds() + 60, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+        for (Future<?> worker : workers) {
+            try {
+                worker.get();
+            } catch (Exception e) {
+                System.out.println("Worker failed: " + e);
+            }
+        }
+        sampler.shutdownNow();
+    }
+
+    public void report() {
+        double seconds = duration.toNanos() / 1e9;
+        System.out.printf("%n%-9s %9s %9s %8s %8s %8s %8s %9s %9s %9s %9s %9s%n", "operation", "count", "ops/s",
+                "2xx", "4xx", "5xx", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        long totalCount = 0;
+        for (Operation operation : Operation.values()) {
+            HistogramSnapshot snapshot = timers.get(operation).takeSnapshot();
+            if (snapshot.count() == 0) {
+                continue;
+            }
+            totalCount += snapshot.count();
+
+            StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "%-9s %9d %9.1f %8d %8d %8d %8d",
+                    operation.key, snapshot.count(), snapshot.count() / seconds, statusCount(operation, "2xx"),
+                    statusCount(operation, "4xx"), statusCount(operation, "5xx"), statusCount(operation, "error")));
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                line.append(String.format(Locale.ROOT, " %9.2f", percentile.value(TimeUnit.MILLISECONDS)));
+            }
+            line.append(String.format(Locale.ROOT, " %9.2f", snapshot.max(TimeUnit.MILLISECONDS)));
+            System.out.println(line);
+        }
+        System.out.printf(Locale.ROOT, "%-9s %9d %9.1f%n", "total", totalCount, totalCount / seconds);
+
+        synchronized (serverMetrics) {
+            if (serverMetrics.isEmpty()) {
+                System.out.println("\nNo app metrics sampled, is " + metricsUrl + " exposed?");
+                return;
+            }
+            System.out.printf("%n%-32s %9s %9s%n", "app metric", "avg", "max");
+            serverMetrics.forEach((metric, statistics) -> System.out.printf(Locale.ROOT, "%-32s %9.2f %9.2f%n", metric,
+                    statistics.getAverage(), statistics.getMax()));
+        }
+    }
+
+    /*
+     * Removes what the run created and did not remove itself, without timing it.
+     */
+    public void cleanUp() {
+        System.out.printf("%nRemoving %d follows and %d users created by the run%n", follows.size(),
+                insertedIds.size());
+        for (String[] follow = follows.poll(); follow != null; follow = follows.poll()) {
+            sendQuietly(unfollowRequest(follow));
+        }
+        for (String id = insertedIds.poll(); id != null; id = insertedIds.poll()) {
+            sendQuietly(HttpRequest.newBuilder(URI.create(usersUrl + "/" + id)).DELETE());
+        }
+    }
+
+    private void sampleServerMetrics() {
+        for (String[] metric : SERVER_METRICS) {
+            String query = metric[1] != null ? "?tag=" + URLEncoder.encode(metric[1], StandardCharsets.UTF_8) : "";
+            try {
+                HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(metricsUrl + metric[0] + query))
+                        .GET());
+                if (response.statusCode() != 200) {
+                    continue;
+                }
+
+                double value = objectMapper.readValue(response.body(), JsonNode.class).path("measurements").path(0)
+                        .path("value").asDouble();
+                String key = metric[0] + (metric[1] != null ? "{" + metric[1] + "}" : "")
+                        + (metric[2] != null ? " " + metric[2] : "");
+                synchronized (serverMetrics) {
+                    serverMetrics.computeIfAbsent(key, k -> new DoubleSummaryStatistics())
+                            .accept(metric[2] != null ? value / BYTES_PER_MB : value);
+                }
+            } catch (IOException e) {
+                // The app may not expose its metrics, the run goes on without them
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private Operation nextOperation(SplittableRandom random) {
+        int draw = random.nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            draw -= entry.getValue();
+            if (draw < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Unreachable operation draw");
+    }
+
+    /*
+     * Builds and sends the request of the operation, the onSuccess callback
+     * keeping track of what it created.
+     */
+    private void call(Operation operation, SplittableRandom random, boolean recorded) {
+        HttpRequest.Builder request;
+        Consumer<String> onSuccess = body -> {
+        };
+
+        String insertedId = operation.usesInsertedUser ? insertedIds.peekLast() : null;
+        String[] follow = operation == Operation.UNFOLLOW ? follows.pollFirst() : null;
+        if ((operation.usesInsertedUser && insertedId == null) || (operation == Operation.UNFOLLOW && follow == null)) {
+            operation = Operation.INSERT;
+        } else if (operation == Operation.DELETE) {
+            insertedId = insertedIds.pollFirst();
+            if (insertedId == null) {
+                operation = Operation.INSERT;
+            }
+        }
+
+        switch (operation) {
+            case FIND_BY_ID -> request = HttpRequest.newBuilder(URI.create(usersUrl + "/" + sampledId(random))).GET();
+            case FIND_ALL -> request = HttpRequest.newBuilder(URI.create(usersUrl + searchQuery(random))).GET();
+            case INSERT -> {
+                request = jsonRequest(usersUrl, user(insertCount.incrementAndGet(), random), "POST",
+                        MediaType.APPLICATION_JSON_VALUE);
+                onSuccess = body -> insertedIds.add(readUserId(body));
+            }
+            case UPDATE -> request = jsonRequest(usersUrl + "/" + insertedId,
+                    user(insertCount.incrementAndGet(), random), "PUT", MediaType.APPLICATION_JSON_VALUE);
+            case PATCH -> request = jsonRequest(usersUrl + "/" + insertedId,
+                    Map.of("name", "Patched " + random.nextInt(1_000)), "PATCH", MERGE_PATCH_MEDIA_TYPE);
+            case DELETE -> request = HttpRequest.newBuilder(URI.create(usersUrl + "/" + insertedId)).DELETE();
+            case FOLLOW -> {
+                String fromId = insertedId;
+                String toId = sampledId(random);
+                request = jsonRequest(usersUrl + "/" + fromId + USERS_FOLLOW_PATH + "/" + toId,
+                        FollowRequest.builder().status("Active").startPeriod(LocalDate.now()).build(), "POST",
+                        MediaType.APPLICATION_JSON_VALUE);
+                onSuccess = body -> follows.add(new String[]{fromId, toId});
+            }
+            case UNFOLLOW -> request = unfollowRequest(follow);
+            default -> throw new IllegalStateException("Unknown operation: " + operation);
+        }
+
+        long start = System.nanoTime();
+        String status;
+        try {
+            HttpResponse<String> response = send(request);
+            status = response.statusCode() / 100 + "xx";
+            if (response.statusCode() / 100 == 2) {
+                onSuccess.accept(response.body());
+            }
+        } catch (IOException | RuntimeException e) {
+            status = "error";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        if (recorded) {
+            timers.get(operation).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            registry.counter("loadtest.responses", "operation", operation.key, "status", status).increment();
+        }
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private void sendQuietly(HttpRequest.Builder request) {
+        try {
+            send(request);
+        } catch (IOException e) {
+            System.out.println("Clean up request failed: " + e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private HttpRequest.Builder unfollowRequest(String[] follow) {
+        return HttpRequest.newBuilder(URI.create(usersUrl + "/" + follow[0] + USERS_UNFOLLOW_PATH + "/" + follow[1]))
+                .DELETE();
+    }
+
+    private String sampledId(SplittableRandom random) {
+        return sampledIds.get(random.nextInt(sampledIds.size()));
+    }
+
+    /*
+     * Half of the searches are by state, on one of the first pages, and half by
+     * the start of a first name.
+     */
+    private static String searchQuery(SplittableRandom random) {
+        if (random.nextBoolean()) {
+            return "?addressState=" + SocialGraphGenerator.randomState(random) + "&limit=" + SEARCH_PAGE_SIZE
+                    + "&page=" + (random.nextInt(SEARCH_PAGES) + 1);
+        }
+        return "?name=" + URLEncoder.encode(SocialGraphGenerator.randomFirstName(random), StandardCharsets.UTF_8)
+                + "&nameMatch=PREFIX&limit=" + SEARCH_PAGE_SIZE;
+    }
+
+    private UserRequest user(long index, SplittableRandom random) {
+        return UserRequest.builder().username("@load" + runId + "n" + index).name("Load User " + index)
+                .address(UserAddressRequest.builder().addressLine(index + " Main St").zipCode("10001")
+                        .city("New York").state(SocialGraphGenerator.randomState(random)).country("US").build())
+                .build();
+    }
+
+    private static HttpRequest.Builder jsonRequest(String url, Object body, String method, String contentType) {
+        try {
+            return HttpRequest.newBuilder(URI.create(url)).header(HttpHeaders.CONTENT_TYPE, contentType)
+                    .method(method, HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String readUserId(String body) {
+        try {
+            return objectMapper.readValue(body, UserResponse.class).getId();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long statusCount(Operation operation, String status) {
+        Counter counter = registry.find("loadtest.responses").tags("operation", operation.key, "status", status)
+                .counter();
+        return counter != null ? (long) counter.count() : 0;
+    }
+
+    /*
+     * Accepts the ISO-8601 durations and their short form without the `PT`
+     * prefix, like `90s` or `5m`.
+     */
+    private static Duration duration(String value) {
+        return Duration.parse(value.toUpperCase(Locale.ROOT).startsWith("P") ? value : "PT" + value);
+    }
+
+    /*
+     * Parses the `operation=weight` pairs of the mix, e.g.
+     * `findById=80,insert=20`. The operations left out are not sent.
+     */
+    private static Map<Operation, Integer> mix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String pair : value.split(",")) {
+            String[] keyAndWeight = pair.trim().split("=");
+            Operation operation = Arrays.stream(Operation.values())
+                    .filter(candidate -> candidate.key.equals(keyAndWeight[0])).findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown operation: " + keyAndWeight[0]));
+            mix.put(operation, Integer.parseInt(keyAndWeight[1]));
+        }
+        return mix;
+    }
+
+    public enum Operation {
+
+        FIND_BY_ID("findById", false), FIND_ALL("findAll", false), INSERT("insert", false), UPDATE("update", true),
+        PATCH("patch", true), DELETE("delete", true), FOLLOW("follow", true), UNFOLLOW("unfollow", false);
+
+        private final String key;
+        private final boolean usesInsertedUser;
+
+        Operation(String key, boolean usesInsertedUser) {
+            this.key = key;
+            this.usesInsertedUser = usesInsertedUser;
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.erebelo.springneptunedemo.loadtest;
+
+import com.erebelo.springneptunedemo.benchmark.BenchmarkGraph;
+import com.erebelo.springneptunedemo.domain.graph.edge.FollowEdge;
+import com.erebelo.springneptunedemo.domain.graph.node.UserAddress;
+import com.erebelo.springneptunedemo.domain.graph.node.UserNode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates a synthetic social graph of `userCount` users and loads it into a
+ * SocialGraphSink. The graph is fully determined by its settings and seed, so
+ * that two runs load the same graph:
+ * <ul>
+ * <li>addresses are spread over the most populated states in proportion to
+ * their population, and over a few cities of each state, the first ones being
+ * the most frequent;</li>
+ * <li>the number of users a user follows (out-degree) has a discrete power-law
+ * (Pareto) distribution of exponent `followsExponent`, between `minFollows` and
+ * `maxFollows`;</li>
+ * <li>the followed users are drawn by popularity rank with a Zipf distribution of
+ * exponent `popularityExponent`, rank `r` being the user at index `r - 1`. The
+ * first users are then followed by a large share of the graph (celebrity
+ * supernodes), while most users have a handful of followers.</li>
+ * </ul>
+ * <p>
+ * Run it from the command line with the `benchmark` profile (see the README),
+ * its settings being read from the `loadtest.*` system properties.
+ */
+public final class SocialGraphGenerator {
+
+    public static final String HTTP_TARGET = "http";
+
+    private static final int MAX_DRAWS_PER_FOLLOW = 4;
+    private static final double INACTIVE_FOLLOW_RATE = 0.1;
+    private static final LocalDate FIRST_FOLLOW_DATE = LocalDate.of(2020, 1, 1);
+    private static final int FOLLOW_DATE_RANGE_DAYS = 5 * 365;
+
+    private static final String[] STATES = {"CA", "TX", "FL", "NY", "PA", "IL", "OH", "GA", "NC", "MI", "NJ", "VA",
+            "WA", "AZ", "MA"};
+    // Population in millions, in the order of STATES
+    private static final double[] STATE_POPULATIONS = {39.0, 30.5, 22.6, 19.6, 13.0, 12.5, 11.8, 11.0, 10.8, 10.0,
+            9.3, 8.7, 7.8, 7.4, 7.0};
+    private static final String[][] STATE_CITIES = {{"Los Angeles", "San Diego", "San Jose", "San Francisco"},
+            {"Houston", "San Antonio", "Dallas", "Austin"}, {"Jacksonville", "Miami", "Tampa", "Orlando"},
+            {"New York", "Buffalo", "Rochester"}, {"Philadelphia", "Pittsburgh", "Allentown"},
+            {"Chicago", "Aurora", "Naperville"}, {"Columbus", "Cleveland", "Cincinnati"},
+            {"Atlanta", "Augusta", "Savannah"}, {"Charlotte", "Raleigh", "Greensboro"},
+            {"Detroit", "Grand Rapids", "Lansing"}, {"Newark", "Jersey City", "Paterson"},
+            {"Virginia Beach", "Richmond", "Norfolk"}, {"Seattle", "Spokane", "Tacoma"},
+            {"Phoenix", "Tucson", "Mesa"}, {"Boston", "Worcester", "Springfield"}};
+    private static final String[] FIRST_NAMES = {"James", "Mary", "José", "Patricia", "Robert", "Jennifer", "Michael",
+            "Linda", "William", "Élodie", "David", "Barbara", "Richard", "Zoë", "Joseph", "Susan", "Thomas", "Jessica",
+            "André", "Sarah"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller",
+            "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas",
+            "Taylor", "Moore", "Jackson", "Martin"};
+    private static final String[] STREETS = {"Main St", "Oak Ave", "Maple Dr", "Cedar Ln", "Park Blvd", "Pine St",
+            "Elm St", "Washington Ave", "Lake Rd", "Hill St"};
+    private static final double[] CUMULATIVE_STATE_WEIGHTS = cumulativeWeights(STATE_POPULATIONS);
+
+    private final int userCount;
+    private final long seed;
+    private final int minFollows;
+    private final int maxFollows;
+    private final double followsExponent;
+    private final double popularityExponent;
+    private final int chunkSize;
+
+    public SocialGraphGenerator(int userCount, long seed, int minFollows, int maxFollows, double followsExponent,
+            double popularityExponent, int chunkSize) {
+        if (userCount < 2 || minFollows < 0 || maxFollows < minFollows || followsExponent <= 1
+                || popularityExponent <= 0 || chunkSize < 1) {
+            throw new IllegalArgumentException("Invalid social graph settings");
+        }
+        this.userCount = userCount;
+        this.seed = seed;
+        this.minFollows = minFollows;
+        this.maxFollows = Math.min(maxFollows, userCount - 1);
+        this.followsExponent = followsExponent;
+        this.popularityExponent = popularityExponent;
+        this.chunkSize = chunkSize;
+    }
+
+    public static SocialGraphGenerator fromSystemProperties() {
+        return new SocialGraphGenerator(Integer.getInteger("loadtest.users", 10_000),
+                Long.getLong("loadtest.seed", 42L), Integer.getInteger("loadtest.follows.min", 1),
+                Integer.getInteger("loadtest.follows.max", 1_000),
+                Double.parseDouble(System.getProperty("loadtest.follows.exponent", "2.2")),
+                Double.parseDouble(System.getProperty("loadtest.popularity.exponent", "1.0")),
+                Integer.getInteger("loadtest.chunk-size", 500));
+    }
+
+    /*
+     * Loads the users by chunks, then the follows of each user in turn, so that
+     * only the user ids are held in memory whatever the size of the graph.
+     */
+    public SocialGraph load(SocialGraphSink sink) {
+        SplittableRandom random = new SplittableRandom(seed);
+
+        List<String> userIds = new ArrayList<>(userCount);
+        for (int start = 0; start < userCount; start += chunkSize) {
+            List<UserNode> users = new ArrayList<>(chunkSize);
+            for (int index = start; index < Math.min(start + chunkSize, userCount); index++) {
+                users.add(user(index, random));
+            }
+            userIds.addAll(sink.insertUsers(users));
+        }
+
+        int[] inDegrees = new int[userCount];
+        long followCount = 0;
+        int maxOutDegree = 0;
+        List<FollowEdge> follows = new ArrayList<>(chunkSize);
+        for (int index = 0; index < userCount; index++) {
+            Set<Integer> followedIndexes = followedIndexes(index, random);
+            maxOutDegree = Math.max(maxOutDegree, followedIndexes.size());
+
+            for (int followedIndex : followedIndexes) {
+                follows.add(follow(userIds.get(index), userIds.get(followedIndex), random));
+                inDegrees[followedIndex]++;
+                followCount++;
+                if (follows.size() == chunkSize) {
+                    sink.insertFollows(follows);
+                    follows = new ArrayList<>(chunkSize);
+                }
+            }
+        }
+        if (!follows.isEmpty()) {
+            sink.insertFollows(follows);
+        }
+
+        return new SocialGraph(userIds, followCount, maxOutDegree, Arrays.stream(inDegrees).max().orElse(0));
+    }
+
+    /*
+     * The first ranks come out over and over, so duplicates and self-follows are
+     * drawn again until the out-degree is reached, up to a bound for the users
+     * following more than the distinct users the draws yield.
+     */
+    private Set<Integer> followedIndexes(int index, SplittableRandom random) {
+        int outDegree = outDegree(random);
+        Set<Integer> followedIndexes = new HashSet<>(outDegree * 2);
+        for (int draws = 0; followedIndexes.size() < outDegree && draws < outDegree * MAX_DRAWS_PER_FOLLOW; draws++) {
+            int followedIndex = popularityRank(random) - 1;
+            if (followedIndex != index) {
+                followedIndexes.add(followedIndex);
+            }
+        }
+        return followedIndexes;
+    }
+
+    /*
+     * Inverse of the Pareto distribution function, floored to a whole number of
+     * follows.
+     */
+    private int outDegree(SplittableRandom random) {
+        double outDegree = minFollows * Math.pow(1 - random.nextDouble(), -1 / (followsExponent - 1));
+        return (int) Math.min(maxFollows, Math.floor(outDegree));
+    }
+
+    /*
+     * Inverse of the distribution function of the continuous power law over [1,
+     * userCount + 1), floored to the rank.
+     */
+    private int popularityRank(SplittableRandom random) {
+        double u = random.nextDouble();
+        double rank = popularityExponent == 1
+                ? Math.pow(userCount + 1.0, u)
+                : Math.pow(1 + u * (Math.pow(userCount + 1.0, 1 - popularityExponent) - 1),
+                        1 / (1 - popularityExponent));
+        return Math.min(userCount, (int) rank);
+    }
+
+    private static UserNode user(int index, SplittableRandom random) {
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        int state = randomStateIndex(random);
+        String[] cities = STATE_CITIES[state];
+
+        return UserNode.builder().username("@" + lastName.toLowerCase(Locale.ROOT) + index)
+                .name(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + lastName)
+                .address(UserAddress.builder()
+                        .addressLine((random.nextInt(9_999) + 1) + " " + STREETS[random.nextInt(STREETS.length)])
+                        .zipCode(String.format("%05d", random.nextInt(100_000)))
+                        .city(cities[(int) (cities.length * Math.pow(random.nextDouble(), 2))]).state(STATES[state])
+                        .country("US").build())
+                .build();
+    }
+
+    private static FollowEdge follow(String fromId, String toId, SplittableRandom random) {
+        LocalDate startPeriod = FIRST_FOLLOW_DATE.plusDays(random.nextInt(FOLLOW_DATE_RANGE_DAYS));
+        boolean inactive = random.nextDouble() < INACTIVE_FOLLOW_RATE;
+
+        return FollowEdge.builder().out(UserNode.builder().id(fromId).build()).in(UserNode.builder().id(toId).build())
+                .status(inactive ? "Inactive" : "Active").startPeriod(startPeriod)
+                .endPeriod(inactive ? startPeriod.plusDays(random.nextInt(365) + 1) : null).build();
+    }
+
+    /*
+     * A draw equal to a bound belongs to the next slice, as does the insertion
+     * point of any other draw.
+     */
+    private static int randomStateIndex(SplittableRandom random) {
+        return Math.abs(Arrays.binarySearch(CUMULATIVE_STATE_WEIGHTS, random.nextDouble()) + 1);
+    }
+
+    /*
+     * Upper bounds of the [0, 1) interval slices of each weight, the last one
+     * being 1.
+     */
+    private static double[] cumulativeWeights(double[] weights) {
+        double total = Arrays.stream(weights).sum();
+        double[] cumulativeWeights = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cumulativeWeights[i] = sum / total;
+        }
+        cumulativeWeights[weights.length - 1] = 1;
+        return cumulativeWeights;
+    }
+
+    /*
+     * Random state weighted by population, used by the load driver to search the
+     * users of the generated graph.
+     */
+    static String randomState(SplittableRandom random) {
+        return STATES[randomStateIndex(random)];
+    }
+
+    static String randomFirstName(SplittableRandom random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+    }
+
+    /*
+     * Loads the graph into the app through its bulk endpoints (`http`, the
+     * default) or into a benchmark backend through the repository (`remote` for
+     * the Gremlin Server stand-in, which is emptied first).
+     */
+    public static void main(String[] args) throws Exception {
+        SocialGraphGenerator generator = fromSystemProperties();
+        String target = System.getProperty("loadtest.target", HTTP_TARGET);
+
+        long start = System.nanoTime();
+        SocialGraph graph;
+        if (HTTP_TARGET.equals(target)) {
+            graph = generator.load(new HttpSocialGraphSink(HttpSocialGraphSink.baseUrl()));
+        } else {
+            try (BenchmarkGraph benchmarkGraph = BenchmarkGraph.open(target)) {
+                graph = generator.load(SocialGraphSink.of(benchmarkGraph.userRepository()));
+            }
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        System.out.printf("Loaded %d users and %d follows into %s in %d ms%n", graph.getUserIds().size(),
+                graph.getFollowCount(), target, elapsedMillis);
+        System.out.printf("Max out-degree: %d, max in-degree: %d, first celebrity: %s%n", graph.getMaxOutDegree(),
+                graph.getMaxInDegree(), graph.getUserIds().get(0));
+    }
+
+    /**
+     * Ids of the loaded users, in index (popularity rank) order, and the degree
+     * figures of the loaded graph.
+     */
+    public static final class SocialGraph {
+
+        private final List<String> userIds;
+        private final long followCount;
+        private final int maxOutDegree;
+        private final int maxInDegree;
+
+        private SocialGraph(List<String> userIds, long followCount, int maxOutDegree, int maxInDegree) {
+            this.userIds = userIds;
+            this.followCount = followCount;
+            this.maxOutDegree = maxOutDegree;
+            this.maxInDegree = maxInDegree;
+        }
+
+        public List<String> getUserIds() {
+            return userIds;
+        }
+
+        public long getFollowCount() {
+            return followCount;
+        }
+
+        public int getMaxOutDegree() {
+            return maxOutDegree;
+        }
+
+        public int getMaxInDegree() {
+            return maxInDegree;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.erebelo.springneptunedemo.loadtest;
+
+import com.erebelo.springneptunedemo.domain.graph.edge.FollowEdge;
+import com.erebelo.springneptunedemo.domain.graph.node.UserNode;
+import com.erebelo.springneptunedemo.repository.UserRepository;
+import java.util.List;
+
+/**
+ * Destination of the users and follows produced by SocialGraphGenerator, which
+ * hands them over by chunks: the users first, then the follows between the ids
+ * the users were created with.
+ */
+public interface SocialGraphSink {
+
+    /*
+     * Returns the ids of the created users, in the order of the given ones.
+     */
+    List<String> insertUsers(List<UserNode> users);
+
+    void insertFollows(List<FollowEdge> follows);
+
+    /*
+     * Writes straight through the repository bulk operations, e.g. into the
+     * graph of a BenchmarkGraph.
+     */
+    static SocialGraphSink of(UserRepository repository) {
+        return new SocialGraphSink() {
+
+            @Override
+            public List<String> insertUsers(List<UserNode> users) {
+                return repository.insertAll(users);
+            }
+
+            @Override
+            public void insertFollows(List<FollowEdge> follows) {
+                repository.createEdges(follows);
+            }
+        };
+    }
+}
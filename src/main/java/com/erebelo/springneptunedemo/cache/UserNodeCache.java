@@ -0,0 +1,85 @@
+package com.erebelo.springneptunedemo.cache;
+
+import com.erebelo.springneptunedemo.domain.graph.node.UserNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded, size and TTL evicting cache of the user nodes by id, read through by
+ * the user repositories and invalidated by their writes. Its hit, miss and
+ * eviction counts are published as `cache.*{cache=users.nodes}` metrics.
+ * <p>
+ * When disabled (`users.cache.enabled=false`) every read goes to the loader.
+ * Cached nodes are shared, so they must not be modified.
+ */
+@Slf4j
+@Component
+public class UserNodeCache {
+
+    private static final String CACHE_NAME = "users.nodes";
+
+    private final boolean enabled;
+    private final Cache<String, UserNode> cache;
+
+    public UserNodeCache(@Value("${users.cache.enabled:true}") boolean enabled,
+            @Value("${users.cache.maximum-size:10000}") long maximumSize,
+            @Value("${users.cache.expire-after-write:10m}") Duration expireAfterWrite, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(expireAfterWrite).recordStats()
+                .build();
+
+        if (enabled) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+            log.info("User node cache enabled with maximum size: {} and expiration after write: {}", maximumSize,
+                    expireAfterWrite);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /*
+     * The loader exceptions (e.g. NotFoundException) are propagated and nothing is
+     * cached for that id.
+     */
+    public UserNode get(String id, Function<String, UserNode> loader) {
+        return enabled ? cache.get(id, loader) : loader.apply(id);
+    }
+
+    /*
+     * All the missing nodes are loaded at once. Ids unknown to the loader are
+     * absent from the returned map.
+     */
+    public Map<String, UserNode> getAll(Collection<String> ids,
+            Function<Set<? extends String>, Map<String, UserNode>> loader) {
+        return enabled ? cache.getAll(ids, loader) : loader.apply(Set.copyOf(ids));
+    }
+
+    public UserNode getIfPresent(String id) {
+        return enabled ? cache.getIfPresent(id) : null;
+    }
+
+    public void put(UserNode node) {
+        if (enabled) {
+            cache.put(node.getId(), node);
+        }
+    }
+
+    public void invalidate(String... ids) {
+        if (enabled) {
+            cache.invalidateAll(Arrays.asList(ids));
+        }
+    }
+}
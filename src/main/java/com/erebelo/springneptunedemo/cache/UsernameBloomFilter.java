@@ -0,0 +1,127 @@
+package com.erebelo.springneptunedemo.cache;
+
+import static com.erebelo.springneptunedemo.constant.UserConstant.USERNAME_PROPERTY;
+import static com.erebelo.springneptunedemo.constant.UserConstant.USER_VERTEX_LABEL;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory bloom filter of the usernames in use, loaded once the application
+ * is ready and updated on every username write. A negative answer is definite,
+ * which allows the username conflict check round trip to be skipped; a positive
+ * one may be false and still goes to the graph.
+ * <p>
+ * Usernames are never removed (deleted users only raise the false positive
+ * rate) and the filter only sees the writes of this instance, so it must be
+ * enabled only where this instance is the sole writer of the graph.
+ */
+@Slf4j
+@Component
+public class UsernameBloomFilter {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final GraphTraversalSource g;
+    private final boolean enabled;
+    private final int bitCount;
+    private final int hashCount;
+    private final AtomicLongArray bits;
+    private volatile boolean loaded;
+
+    public UsernameBloomFilter(GraphTraversalSource g,
+            @Value("${users.username-filter.enabled:false}") boolean enabled,
+            @Value("${users.username-filter.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${users.username-filter.false-positive-probability:0.01}") double falsePositiveProbability) {
+        this.g = g;
+        this.enabled = enabled;
+
+        // Optimal sizing: m = -n * ln(p) / ln(2)^2 bits and k = m / n * ln(2) hashes
+        long optimalBitCount = (long) Math.ceil(
+                -expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.max(Long.SIZE, Math.min(optimalBitCount, Integer.MAX_VALUE - Long.SIZE));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        this.bits = new AtomicLongArray(enabled ? (bitCount + Long.SIZE - 1) / Long.SIZE : 0);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+
+        AtomicLong usernameCount = new AtomicLong();
+        g.V().hasLabel(USER_VERTEX_LABEL).values(USERNAME_PROPERTY).forEachRemaining(username -> {
+            put(username.toString());
+            usernameCount.incrementAndGet();
+        });
+        loaded = true;
+
+        log.info("Username bloom filter loaded with {} usernames ({} bits, {} hashes)", usernameCount.get(),
+                bitCount, hashCount);
+    }
+
+    /*
+     * Until the filter is loaded every username might exist.
+     */
+    public boolean mightContain(String username) {
+        if (!enabled || !loaded) {
+            return true;
+        }
+
+        for (int bit : bitIndexes(username)) {
+            if ((bits.get(bit / Long.SIZE) & (1L << (bit % Long.SIZE))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void put(String username) {
+        if (!enabled || username == null) {
+            return;
+        }
+
+        for (int bit : bitIndexes(username)) {
+            long mask = 1L << (bit % Long.SIZE);
+            bits.getAndAccumulate(bit / Long.SIZE, mask, (word, m) -> word | m);
+        }
+    }
+
+    /*
+     * The two halves of the 64-bit hash are combined into the k hashes (Kirsch and
+     * Mitzenmacher double hashing). The second one is kept odd so that the k bits
+     * never collapse into one.
+     */
+    private int[] bitIndexes(String username) {
+        long hash = hash(username);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32) | 1;
+
+        int[] bitIndexes = new int[hashCount];
+        for (int i = 0; i < hashCount; i++) {
+            bitIndexes[i] = ((hash1 + i * hash2) & Integer.MAX_VALUE) % bitCount;
+        }
+        return bitIndexes;
+    }
+
+    /*
+     * 64-bit FNV-1a.
+     */
+    private static long hash(String username) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : username.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
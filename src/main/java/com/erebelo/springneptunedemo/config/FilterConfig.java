@@ -1,13 +1,47 @@
 package com.erebelo.springneptunedemo.config;
 
+import com.erebelo.springneptunedemo.filter.GremlinBulkheadFilter;
 import com.erebelo.springneptunedemo.filter.UserRequestFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+@Slf4j
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class FilterConfig {
 
+    /*
+     * Only registered when enabled, which it is along with the virtual threads
+     * unless set otherwise. Without an explicit size, the permits are the
+     * requests the driver pool can have in flight.
+     */
+    @Bean
+    @ConditionalOnExpression("${aws.neptune.bulkhead.enabled:${spring.threads.virtual.enabled:false}}")
+    public FilterRegistrationBean<GremlinBulkheadFilter> gremlinBulkheadFilterRegistrationBean(
+            @Value("${aws.neptune.bulkhead.max-concurrent-requests:0}") int maxConcurrentRequests,
+            @Value("${aws.neptune.bulkhead.max-wait:1s}") Duration maxWait, NeptuneDriverProperties driverProperties,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<GremlinBulkheadFilter> registrationBean = new FilterRegistrationBean<>();
+
+        int permits = maxConcurrentRequests > 0
+                ? maxConcurrentRequests
+                : driverProperties.getMaxConnectionPoolSize() * driverProperties.getMaxSimultaneousUsagePerConnection();
+        log.info("Gremlin bulkhead enabled with {} permits and max wait: {}", permits, maxWait);
+
+        registrationBean.setFilter(new GremlinBulkheadFilter(permits, maxWait, meterRegistry));
+        registrationBean.addUrlPatterns("/users/*");
+        registrationBean.setOrder(0);
+
+        return registrationBean;
+    }
+
     @Bean
     public FilterRegistrationBean<UserRequestFilter> userRequestFilterRegistrationBean() {
         FilterRegistrationBean<UserRequestFilter> registrationBean = new FilterRegistrationBean<>();
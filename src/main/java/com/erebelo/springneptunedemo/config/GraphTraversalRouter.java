@@ -0,0 +1,77 @@
+package com.erebelo.springneptunedemo.config;
+
+import org.apache.tinkerpop.gremlin.driver.Cluster;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Routes the traversals between the Neptune writer instance and its read
+ * replicas (`aws.neptune.reader.*`). Writes, and the reads they depend on, go
+ * to the writer, while the other reads go to the reader endpoint, which spreads
+ * them over the replicas. Without a reader endpoint, or on the embedded graph,
+ * both are the same traversal source.
+ * <p>
+ * Replicas lag slightly behind the writer, so with read-your-writes enabled a
+ * request that has written keeps reading from the writer until it completes.
+ * Outside of a request (e.g. startup tasks), reads always go to the reader.
+ */
+public class GraphTraversalRouter implements AutoCloseable {
+
+    private static final String WRITTEN_ATTRIBUTE = GraphTraversalRouter.class.getName() + ".WRITTEN";
+
+    private final GraphTraversalSource writer;
+    private final GraphTraversalSource reader;
+    private final boolean readYourWrites;
+    private final Cluster readerCluster;
+
+    public GraphTraversalRouter(GraphTraversalSource writer, GraphTraversalSource reader, boolean readYourWrites,
+            Cluster readerCluster) {
+        this.writer = writer;
+        this.reader = reader;
+        this.readYourWrites = readYourWrites;
+        this.readerCluster = readerCluster;
+    }
+
+    /*
+     * Single traversal source, when there is no read replica to route to.
+     */
+    public static GraphTraversalRouter of(GraphTraversalSource g) {
+        return new GraphTraversalRouter(g, g, false, null);
+    }
+
+    public GraphTraversalSource reader() {
+        if (readYourWrites && reader != writer && hasWritten()) {
+            return writer;
+        }
+        return reader;
+    }
+
+    public GraphTraversalSource writer() {
+        if (readYourWrites && reader != writer) {
+            RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+            if (requestAttributes != null) {
+                requestAttributes.setAttribute(WRITTEN_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+            }
+        }
+        return writer;
+    }
+
+    /*
+     * The writer source and its cluster are beans of their own, closed by the
+     * context.
+     */
+    @Override
+    public void close() throws Exception {
+        if (readerCluster != null) {
+            reader.close();
+            readerCluster.close();
+        }
+    }
+
+    private static boolean hasWritten() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        return requestAttributes != null
+                && requestAttributes.getAttribute(WRITTEN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+}
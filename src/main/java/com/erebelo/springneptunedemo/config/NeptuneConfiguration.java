@@ -2,20 +2,26 @@ package com.erebelo.springneptunedemo.config;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
 
+import com.amazonaws.auth.AWSCredentialsProvider;
 import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
-import com.amazonaws.neptune.auth.NeptuneNettyHttpSigV4Signer;
-import com.amazonaws.neptune.auth.NeptuneSigV4SignerException;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.tinkerpop.gremlin.driver.Cluster;
 import org.apache.tinkerpop.gremlin.driver.remote.DriverRemoteConnection;
 import org.apache.tinkerpop.gremlin.process.remote.RemoteConnection;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.PartitionStrategy;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+@Slf4j
 @Configuration
+@EnableConfigurationProperties(NeptuneDriverProperties.class)
 public class NeptuneConfiguration {
 
     @Value("${aws.region}")
@@ -27,26 +33,46 @@ public class NeptuneConfiguration {
     @Value("${aws.neptune.endpoint}")
     private String endpoint;
 
+    @Value("${aws.neptune.reader.endpoint:}")
+    private String readerEndpoint;
+
+    @Value("${aws.neptune.reader.read-your-writes:true}")
+    private boolean readYourWrites;
+
     @Value("${aws.neptune.partition.key}")
     private String partitionKey;
 
     @Value("${aws.neptune.partition.name}")
     private String partitionName;
 
+    @Value("${aws.neptune.embedded.vertex-indexes:}")
+    private List<String> embeddedVertexIndexes;
+
+    @Value("${aws.neptune.embedded.edge-indexes:}")
+    private List<String> embeddedEdgeIndexes;
+
+    /*
+     * Shared by every signed request, instead of a new provider chain (and
+     * credentials lookup) per request.
+     */
+    @Bean
+    public AWSCredentialsProvider neptuneCredentialsProvider() {
+        return DefaultAWSCredentialsProviderChain.getInstance();
+    }
+
+    @Bean
+    public NeptuneRequestSigner neptuneRequestSigner(AWSCredentialsProvider neptuneCredentialsProvider) {
+        return new NeptuneRequestSigner(region, neptuneCredentialsProvider);
+    }
+
     @Bean
-    public Cluster cluster() {
-        return Cluster.build(endpoint).enableSsl(true).maxConnectionPoolSize(5).maxInProcessPerConnection(1)
-                .maxSimultaneousUsagePerConnection(5).minSimultaneousUsagePerConnection(1).requestInterceptor(r -> {
-                    try {
-                        NeptuneNettyHttpSigV4Signer sigV4Signer = new NeptuneNettyHttpSigV4Signer(region,
-                                new DefaultAWSCredentialsProviderChain());
-                        sigV4Signer.signRequest(r);
-                    } catch (NeptuneSigV4SignerException e) {
-                        throw new IllegalStateException("Exception occurred while signing the request", e);
-
-                    }
-                    return r;
-                }).create();
+    public Cluster cluster(NeptuneDriverProperties driverProperties, NeptuneRequestSigner requestSigner) {
+        log.info("Neptune driver connection pool size: {}-{}, simultaneous usage per connection: {}-{}, serializer: {}",
+                driverProperties.getMinConnectionPoolSize(), driverProperties.getMaxConnectionPoolSize(),
+                driverProperties.getMinSimultaneousUsagePerConnection(),
+                driverProperties.getMaxSimultaneousUsagePerConnection(), driverProperties.getSerializer());
+
+        return driverProperties.applyTo(Cluster.build(endpoint)).requestInterceptor(requestSigner::sign).create();
     }
 
     @Bean
@@ -64,9 +90,48 @@ public class NeptuneConfiguration {
     public GraphTraversalSource graphTraversalSource(RemoteConnection remoteConnection,
             PartitionStrategy partitionStrategy) {
         if (useEmbedded) {
-            return traversal().withEmbedded(TinkerGraph.open())/* TODO .withStrategies(partitionStrategy()) */;
+            return traversal().withEmbedded(openEmbeddedGraph())/* TODO .withStrategies(partitionStrategy()) */;
         }
 
         return traversal().withRemote(remoteConnection)/* TODO .withStrategies(partitionStrategy) */;
     }
+
+    /*
+     * The reader cluster has the same driver settings as the writer one, and is
+     * owned by the router.
+     */
+    @Bean
+    public GraphTraversalRouter graphTraversalRouter(GraphTraversalSource graphTraversalSource,
+            NeptuneDriverProperties driverProperties, NeptuneRequestSigner requestSigner) {
+        if (useEmbedded || readerEndpoint.isBlank()) {
+            log.info("No Neptune reader endpoint, reads are sent to the writer");
+            return GraphTraversalRouter.of(graphTraversalSource);
+        }
+
+        log.info("Neptune reads sent to the reader endpoint: {}, read-your-writes: {}", readerEndpoint,
+                readYourWrites);
+        Cluster readerCluster = driverProperties.applyTo(Cluster.build(readerEndpoint))
+                .requestInterceptor(requestSigner::sign).create();
+        GraphTraversalSource readerTraversalSource = traversal()
+                .withRemote(DriverRemoteConnection.using(readerCluster))/* TODO .withStrategies(partitionStrategy) */;
+
+        return new GraphTraversalRouter(graphTraversalSource, readerTraversalSource, readYourWrites, readerCluster);
+    }
+
+    /*
+     * Index the properties looked up by equality, as they are in Neptune, so that
+     * local runs do not scan every vertex. TinkerGraph only serves `has(key,
+     * value)`/`P.eq` lookups from its indexes.
+     */
+    private TinkerGraph openEmbeddedGraph() {
+        TinkerGraph graph = TinkerGraph.open();
+        embeddedVertexIndexes.stream().filter(key -> !key.isBlank())
+                .forEach(key -> graph.createIndex(key.strip(), Vertex.class));
+        embeddedEdgeIndexes.stream().filter(key -> !key.isBlank())
+                .forEach(key -> graph.createIndex(key.strip(), Edge.class));
+
+        log.info("Embedded TinkerGraph indexed vertex keys: {}, indexed edge keys: {}",
+                graph.getIndexedKeys(Vertex.class), graph.getIndexedKeys(Edge.class));
+        return graph;
+    }
 }
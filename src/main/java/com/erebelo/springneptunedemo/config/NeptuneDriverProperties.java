@@ -0,0 +1,107 @@
+package com.erebelo.springneptunedemo.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.tinkerpop.gremlin.driver.Cluster;
+import org.apache.tinkerpop.gremlin.util.ser.Serializers;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Gremlin driver settings (`aws.neptune.driver.*`) of the Neptune cluster. The
+ * defaults are the former hardcoded ones, and the driver's for the settings
+ * that were not set.
+ * <p>
+ * A request borrows a connection with fewer than
+ * `max-simultaneous-usage-per-connection` requests in flight, and the pool
+ * grows up to `max-connection-pool-size` connections once all of them are that
+ * busy, so their product bounds the concurrent requests. Requests that cannot
+ * borrow a connection within `max-wait-for-connection` fail.
+ */
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "aws.neptune.driver")
+public class NeptuneDriverProperties {
+
+    @Min(1)
+    private int port = 8182;
+
+    private boolean enableSsl = true;
+
+    @NotNull
+    private Serializers serializer = Serializers.GRAPHBINARY_V1;
+
+    @Min(1)
+    private int minConnectionPoolSize = 2;
+
+    @Min(1)
+    private int maxConnectionPoolSize = 5;
+
+    @Min(0)
+    private int minInProcessPerConnection = 0;
+
+    @Min(1)
+    private int maxInProcessPerConnection = 1;
+
+    @Min(0)
+    private int minSimultaneousUsagePerConnection = 1;
+
+    @Min(1)
+    private int maxSimultaneousUsagePerConnection = 5;
+
+    @NotNull
+    private Duration maxWaitForConnection = Duration.ofSeconds(3);
+
+    @NotNull
+    private Duration connectionSetupTimeout = Duration.ofSeconds(15);
+
+    @NotNull
+    private Duration reconnectInterval = Duration.ofSeconds(1);
+
+    /*
+     * Zero disables the keep-alive requests of the idle connections.
+     */
+    @NotNull
+    private Duration keepAliveInterval = Duration.ofMinutes(3);
+
+    @Min(1)
+    private int maxContentLength = 10 * 1024 * 1024;
+
+    @Min(1)
+    private int resultIterationBatchSize = 64;
+
+    /*
+     * Netty event loop sizes, left to the driver (based on the available
+     * processors) when unset.
+     */
+    @Min(1)
+    private Integer nioPoolSize;
+
+    @Min(1)
+    private Integer workerPoolSize;
+
+    public Cluster.Builder applyTo(Cluster.Builder builder) {
+        builder.port(port).enableSsl(enableSsl).serializer(serializer).minConnectionPoolSize(minConnectionPoolSize)
+                .maxConnectionPoolSize(maxConnectionPoolSize).minInProcessPerConnection(minInProcessPerConnection)
+                .maxInProcessPerConnection(maxInProcessPerConnection)
+                .minSimultaneousUsagePerConnection(minSimultaneousUsagePerConnection)
+                .maxSimultaneousUsagePerConnection(maxSimultaneousUsagePerConnection)
+                .maxWaitForConnection((int) maxWaitForConnection.toMillis())
+                .connectionSetupTimeoutMillis(connectionSetupTimeout.toMillis())
+                .reconnectInterval((int) reconnectInterval.toMillis())
+                .keepAliveInterval(keepAliveInterval.toMillis()).maxContentLength(maxContentLength)
+                .resultIterationBatchSize(resultIterationBatchSize);
+
+        if (nioPoolSize != null) {
+            builder.nioPoolSize(nioPoolSize);
+        }
+        if (workerPoolSize != null) {
+            builder.workerPoolSize(workerPoolSize);
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,53 @@
+package com.erebelo.springneptunedemo.config;
+
+import com.amazonaws.auth.AWSCredentialsProvider;
+import com.amazonaws.neptune.auth.NeptuneNettyHttpSigV4Signer;
+import com.amazonaws.neptune.auth.NeptuneSigV4SignerException;
+import io.netty.handler.codec.http.FullHttpRequest;
+
+/**
+ * Signs the requests of the Gremlin driver with SigV4, reusing a single signer
+ * and a single credentials provider for every connection.
+ * <p>
+ * The provider is expected to cache the credentials and refresh them before
+ * they expire, as the default AWS provider chain does: it sticks to the
+ * provider that last succeeded, whose instance profile and container
+ * credentials are only fetched again close to their expiration. The signer is
+ * created on the first signed request, so that the embedded graph needs no
+ * region.
+ */
+public final class NeptuneRequestSigner {
+
+    private final String region;
+    private final AWSCredentialsProvider credentialsProvider;
+
+    private volatile NeptuneNettyHttpSigV4Signer signer;
+
+    public NeptuneRequestSigner(String region, AWSCredentialsProvider credentialsProvider) {
+        this.region = region;
+        this.credentialsProvider = credentialsProvider;
+    }
+
+    public FullHttpRequest sign(FullHttpRequest request) {
+        try {
+            signer().signRequest(request);
+        } catch (NeptuneSigV4SignerException e) {
+            throw new IllegalStateException("Exception occurred while signing the request", e);
+        }
+        return request;
+    }
+
+    private NeptuneNettyHttpSigV4Signer signer() throws NeptuneSigV4SignerException {
+        NeptuneNettyHttpSigV4Signer current = signer;
+        if (current == null) {
+            synchronized (this) {
+                current = signer;
+                if (current == null) {
+                    current = new NeptuneNettyHttpSigV4Signer(region, credentialsProvider);
+                    signer = current;
+                }
+            }
+        }
+        return current;
+    }
+}
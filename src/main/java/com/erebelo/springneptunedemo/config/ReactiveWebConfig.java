@@ -0,0 +1,22 @@
+package com.erebelo.springneptunedemo.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebConfig {
+
+    /*
+     * Tomcat is on the classpath for the servlet stack and would otherwise serve
+     * the reactive one as well. Reactor Netty handles every connection on a few
+     * event loop threads (`reactor.netty.ioWorkerCount`, the number of cores by
+     * default).
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
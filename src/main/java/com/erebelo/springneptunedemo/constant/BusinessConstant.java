@@ -6,10 +6,14 @@ import lombok.experimental.UtilityClass;
 public class BusinessConstant {
 
     public static final String MERGE_PATCH_MEDIA_TYPE = "application/merge-patch+json";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
     public static final String HEALTH_CHECK_PATH = "/health-check";
     public static final String GRAPH_PATH = "/graph";
     public static final String GRAPH_DATA_PATH = "/data";
+    public static final String GRAPH_DATA_STREAM_PATH = "/data/stream";
+    public static final String GRAPH_NEIGHBORHOOD_PATH = "/neighborhood";
     public static final String USERS_PATH = "/users";
+    public static final String USERS_BULK_PATH = "/bulk";
     public static final String USERS_FOLLOW_PATH = "/follow";
     public static final String USERS_UNFOLLOW_PATH = "/unfollow";
 
@@ -9,9 +9,8 @@ public class UserConstant {
     public static final String FOLLOW_EDGE_LABEL = "FOLLOW";
     public static final String USERNAME_PROPERTY = "username";
     public static final String NAME_PROPERTY = "name";
+    public static final String NAME_SEARCH_PROPERTY = "nameSearch";
     public static final String ADDRESS_STATE_PROPERTY = "address_state";
-    public static final String REGEX_LIKE_CASE_INSENSITIVE = "(?i)";
-    public static final String REGEX_CASE_INSENSITIVE = "^(?i)%s$";
 
     public static final String USERS_NOT_FOUND_ERROR_MESSAGE = "Users not found";
     public static final String USER_NOT_FOUND_ERROR_MESSAGE = "User not found by id: ";
@@ -23,5 +22,10 @@ public class UserConstant {
     public static final String EDGE_CONSTRAINT_ERROR_MESSAGE = "A constraint error occurred while creating the edge";
     public static final String JSON_PROCESSING_ERROR_MESSAGE = "Failed to parse ResponseException message";
     public static final String GREMLIN_QUERY_ERROR_MESSAGE = "Gremlin query failed";
+    public static final String INVALID_USERNAME_ERROR_MESSAGE = "username is mandatory and cannot be blank or contain "
+            + "any whitespace characters";
+    public static final String EMPTY_BULK_ROW_ERROR_MESSAGE = "Bulk row cannot be null";
+    public static final String INVALID_FOLLOW_ROW_ERROR_MESSAGE = "fromId and toId are mandatory";
+    public static final String MALFORMED_BULK_ROW_ERROR_MESSAGE = "Malformed bulk row at index %d: %s";
 
 }
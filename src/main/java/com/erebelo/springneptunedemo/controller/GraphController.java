@@ -1,56 +1,140 @@
 package com.erebelo.springneptunedemo.controller;
 
 import static com.erebelo.springneptunedemo.constant.BusinessConstant.GRAPH_DATA_PATH;
+import static com.erebelo.springneptunedemo.constant.BusinessConstant.GRAPH_DATA_STREAM_PATH;
+import static com.erebelo.springneptunedemo.constant.BusinessConstant.GRAPH_NEIGHBORHOOD_PATH;
 import static com.erebelo.springneptunedemo.constant.BusinessConstant.GRAPH_PATH;
+import static com.erebelo.springneptunedemo.constant.UserConstant.FOLLOW_EDGE_LABEL;
+import static com.erebelo.springneptunedemo.constant.UserConstant.USER_NOT_FOUND_ERROR_MESSAGE;
 import static com.erebelo.springneptunedemo.util.ObjectMapperUtil.objectMapper;
 
+import com.erebelo.springneptunedemo.config.GraphTraversalRouter;
+import com.erebelo.springneptunedemo.exception.model.NotFoundException;
+import com.fasterxml.jackson.core.JsonGenerator;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.T;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Profile;
 import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Slf4j
+@Validated
 @RestController
 @Profile("local")
 @RequiredArgsConstructor
 @RequestMapping(GRAPH_PATH)
 @Tag(name = "Graph API")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GraphController {
 
-    private final GraphTraversalSource g;
+    private final GraphTraversalRouter router;
 
     private static final String VERTICES_KEY = "vertices";
     private static final String EDGES_KEY = "edges";
     private static final String FROM_KEY = "from";
     private static final String TO_KEY = "to";
+    private static final String TYPE_KEY = "type";
+    private static final String VERTEX_TYPE = "vertex";
+    private static final String EDGE_TYPE = "edge";
 
     @Operation(summary = "GET Vertices and Edges")
     @GetMapping(path = GRAPH_DATA_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
     public Map<String, Object> getGraphData() {
         log.info("GET {}", GRAPH_PATH + GRAPH_DATA_PATH);
 
+        GraphTraversalSource g = router.reader();
         Map<String, Object> graphData = new HashMap<>();
-        graphData.put(VERTICES_KEY, collectVertices());
-        graphData.put(EDGES_KEY, collectEdges());
+        graphData.put(VERTICES_KEY, collectVertices(g.V().elementMap().toList()));
+        graphData.put(EDGES_KEY, collectEdges(g.E().elementMap().toList()));
 
         return graphData;
     }
 
-    private Map<Object, Map<String, Object>> collectVertices() {
+    /*
+     * Same shape as `getGraphData()`, but bounded to the vertices up to `radius`
+     * FOLLOW hops away from the seed (in both directions) and to the edges among
+     * them. The hops are walked breadth-first, one traversal each, and the walk
+     * stops once `limit` vertices are selected, so the response size depends on
+     * the budget rather than on the graph size.
+     */
+    @Operation(summary = "GET Vertices and Edges around a seed Vertex")
+    @GetMapping(path = GRAPH_NEIGHBORHOOD_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Object> getNeighborhood(@RequestParam(value = "seedId") String seedId,
+            @Min(0) @Max(5) @RequestParam(value = "radius", required = false, defaultValue = "1") Integer radius,
+            @Min(1) @Max(2000) @RequestParam(value = "limit", required = false, defaultValue = "200") Integer limit) {
+        log.info("GET {}", GRAPH_PATH + GRAPH_NEIGHBORHOOD_PATH);
+
+        GraphTraversalSource g = router.reader();
+        if (!g.V(seedId).hasNext()) {
+            throw new NotFoundException(USER_NOT_FOUND_ERROR_MESSAGE + seedId);
+        }
+
+        Set<Object> vertexIds = new LinkedHashSet<>(List.of(seedId));
+        List<Object> frontier = List.of(seedId);
+        for (int hop = 0; hop < radius && !frontier.isEmpty() && vertexIds.size() < limit; hop++) {
+            frontier = g.V(frontier.toArray()).both(FOLLOW_EDGE_LABEL).dedup().not(__.hasId(P.within(vertexIds)))
+                    .limit(limit - vertexIds.size()).id().toList();
+            vertexIds.addAll(frontier);
+        }
+
+        Object[] ids = vertexIds.toArray();
+        Map<String, Object> graphData = new HashMap<>();
+        graphData.put(VERTICES_KEY, collectVertices(g.V(ids).elementMap().toList()));
+        graphData.put(EDGES_KEY, collectEdges(g.V(ids).outE(FOLLOW_EDGE_LABEL)
+                .where(__.inV().hasId(P.within(vertexIds))).elementMap().toList()));
+
+        return graphData;
+    }
+
+    /*
+     * Streams one JSON line per element (vertices first, then edges) while the
+     * traversals are iterated, so the heap use does not grow with the graph.
+     * Each line holds the same properties as in `getGraphData()` plus its type.
+     */
+    @Operation(summary = "GET Vertices and Edges as NDJSON")
+    @GetMapping(path = GRAPH_DATA_STREAM_PATH, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody streamGraphData() {
+        log.info("GET {}", GRAPH_PATH + GRAPH_DATA_STREAM_PATH);
+
+        // Resolved on the request thread, the body being written on an async one
+        GraphTraversalSource g = router.reader();
+        return outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+                long vertexCount = writeElements(generator, g.V().elementMap(), VERTEX_TYPE);
+                long edgeCount = writeElements(generator, g.E().elementMap(), EDGE_TYPE);
+
+                log.info("{} vertices and {} edges streamed", vertexCount, edgeCount);
+            }
+        };
+    }
+
+    private Map<Object, Map<String, Object>> collectVertices(List<Map<Object, Object>> vertexMapList) {
         Map<Object, Map<String, Object>> vertices = new HashMap<>();
-        List<Map<Object, Object>> vertexMapList = g.V().elementMap().toList();
 
         if (!vertexMapList.isEmpty()) {
             for (Map<Object, Object> vertexMap : vertexMapList) {
@@ -62,16 +146,12 @@ public class GraphController {
         return vertices;
     }
 
-    private Map<Object, Map<String, Object>> collectEdges() {
+    private Map<Object, Map<String, Object>> collectEdges(List<Map<Object, Object>> edgeMapList) {
         Map<Object, Map<String, Object>> edges = new HashMap<>();
-        List<Map<Object, Object>> edgeMapList = g.E().elementMap().toList();
 
         if (!edgeMapList.isEmpty()) {
             for (Map<Object, Object> edgeMap : edgeMapList) {
-                Map<String, Object> properties = convertElementMap(edgeMap);
-                properties.put(FROM_KEY, extractIdFromNestedMap(properties, Direction.OUT.name()));
-                properties.put(TO_KEY, extractIdFromNestedMap(properties, Direction.IN.name()));
-
+                Map<String, Object> properties = convertEdgeMap(edgeMap);
                 edges.put(properties.get(T.id.toString()), properties);
             }
         }
@@ -79,6 +159,40 @@ public class GraphController {
         return edges;
     }
 
+    private long writeElements(JsonGenerator generator, GraphTraversal<?, Map<Object, Object>> gtElements,
+            String type) throws IOException {
+        long count = 0;
+
+        try (gtElements) {
+            while (gtElements.hasNext()) {
+                Map<Object, Object> elementMap = gtElements.next();
+                Map<String, Object> properties = EDGE_TYPE.equals(type)
+                        ? convertEdgeMap(elementMap)
+                        : convertElementMap(elementMap);
+                properties.put(TYPE_KEY, type);
+
+                generator.writeObject(properties);
+                generator.writeRaw('\n');
+                count++;
+            }
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Failed to stream the graph " + type + "s", e);
+        }
+
+        generator.flush();
+        return count;
+    }
+
+    private Map<String, Object> convertEdgeMap(Map<Object, Object> edgeMap) {
+        Map<String, Object> properties = convertElementMap(edgeMap);
+        properties.put(FROM_KEY, extractIdFromNestedMap(properties, Direction.OUT.name()));
+        properties.put(TO_KEY, extractIdFromNestedMap(properties, Direction.IN.name()));
+
+        return properties;
+    }
+
     private Map<String, Object> convertElementMap(Map<Object, Object> elementMap) {
         Map<String, Object> properties = new LinkedHashMap<>();
 
@@ -0,0 +1,181 @@
+package com.erebelo.springneptunedemo.controller;
+
+import static com.erebelo.springneptunedemo.constant.BusinessConstant.MERGE_PATCH_MEDIA_TYPE;
+import static com.erebelo.springneptunedemo.constant.BusinessConstant.NEXT_CURSOR_HEADER;
+import static com.erebelo.springneptunedemo.constant.BusinessConstant.USERS_BULK_PATH;
+import static com.erebelo.springneptunedemo.constant.BusinessConstant.USERS_FOLLOW_PATH;
+import static com.erebelo.springneptunedemo.constant.BusinessConstant.USERS_PATH;
+import static com.erebelo.springneptunedemo.constant.BusinessConstant.USERS_UNFOLLOW_PATH;
+import static com.erebelo.springneptunedemo.util.QueryUtil.decodeCursor;
+import static com.erebelo.springneptunedemo.util.QueryUtil.encodeCursor;
+
+import com.erebelo.springneptunedemo.domain.request.BulkFollowRequest;
+import com.erebelo.springneptunedemo.domain.request.FollowRequest;
+import com.erebelo.springneptunedemo.domain.request.NameMatch;
+import com.erebelo.springneptunedemo.domain.request.UserRequest;
+import com.erebelo.springneptunedemo.domain.response.bulk.BulkRowResponse;
+import com.erebelo.springneptunedemo.domain.response.edge.FollowResponse;
+import com.erebelo.springneptunedemo.domain.response.node.UserResponse;
+import com.erebelo.springneptunedemo.service.ReactiveUserService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux counterpart of `UserController`, with the same paths, parameters and
+ * responses. Only registered when the app runs as a reactive web application
+ * (`spring.main.web-application-type=reactive`), in which case
+ * `UserController` is not.
+ * <p>
+ * The handlers return as soon as the traversals are submitted, the response
+ * being written once the Gremlin driver completes them, so the few event loop
+ * threads are never held by a request.
+ */
+@Slf4j
+@Validated
+@RestController
+@RequestMapping(USERS_PATH)
+@RequiredArgsConstructor
+@Tag(name = "Users API")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserController {
+
+    private final ReactiveUserService service;
+
+    /*
+     * Same pagination as UserController, the X-Next-Cursor header being set
+     * before the response body is written.
+     */
+    @Operation(summary = "GET Users")
+    @ResponseStatus(HttpStatus.OK)
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<List<UserResponse>> findAll(@RequestParam(value = "name", required = false) String name,
+            @RequestParam(value = "nameMatch", required = false, defaultValue = "CONTAINS") NameMatch nameMatch,
+            @RequestParam(value = "addressState", required = false) String addressState,
+            @Min(1) @RequestParam(value = "limit", required = false, defaultValue = "50") Integer limit,
+            @Min(1) @RequestParam(value = "page", required = false, defaultValue = "1") Integer page,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            ServerHttpResponse serverHttpResponse) {
+        log.info("GET {}", USERS_PATH);
+
+        if (cursor == null) {
+            return service.findAll(name, nameMatch, addressState, limit, page);
+        }
+
+        return Mono.fromCallable(() -> decodeCursor(cursor))
+                .flatMap(lastId -> service.findAllAfter(name, nameMatch, addressState, limit, lastId))
+                .doOnNext(response -> {
+                    if (response.size() == limit) {
+                        serverHttpResponse.getHeaders().set(NEXT_CURSOR_HEADER,
+                                encodeCursor(response.get(limit - 1).getId()));
+                    }
+                });
+    }
+
+    @Operation(summary = "GET User by Id")
+    @ResponseStatus(HttpStatus.OK)
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<UserResponse> findById(@PathVariable String id) {
+        log.info("GET {}/{}", USERS_PATH, id);
+        return service.findById(id);
+    }
+
+    @Operation(summary = "POST Users")
+    @ResponseStatus(HttpStatus.CREATED)
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<UserResponse> insert(@Valid @RequestBody UserRequest request, ServerHttpRequest serverHttpRequest,
+            ServerHttpResponse serverHttpResponse) {
+        log.info("POST {}", USERS_PATH);
+        return service.insert(request).doOnNext(response -> serverHttpResponse.getHeaders().setLocation(
+                UriComponentsBuilder.fromUri(serverHttpRequest.getURI()).path("/{id}").buildAndExpand(response.getId())
+                        .toUri()));
+    }
+
+    /*
+     * The rows (a JSON array or NDJSON) are decoded as they arrive, so that large
+     * imports are not held in memory.
+     */
+    @Operation(summary = "POST Users in bulk")
+    @ResponseStatus(HttpStatus.OK)
+    @PostMapping(value = USERS_BULK_PATH, consumes = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE}, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<List<BulkRowResponse>> bulkInsert(@RequestBody Flux<UserRequest> requests) {
+        log.info("POST {}{}", USERS_PATH, USERS_BULK_PATH);
+        return service.bulkInsert(requests);
+    }
+
+    @Operation(summary = "PUT Users")
+    @ResponseStatus(HttpStatus.OK)
+    @PutMapping(value = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<UserResponse> update(@PathVariable String id, @Valid @RequestBody UserRequest request) {
+        log.info("PUT {}/{}", USERS_PATH, id);
+        return service.update(id, request);
+    }
+
+    @Operation(summary = "PATCH Users")
+    @ResponseStatus(HttpStatus.OK)
+    @PatchMapping(value = "/{id}", consumes = MERGE_PATCH_MEDIA_TYPE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<UserResponse> patch(@PathVariable String id, @Valid @RequestBody Map<String, Object> requestMap) {
+        log.info("PATCH {}/{}", USERS_PATH, id);
+        return service.patch(id, requestMap);
+    }
+
+    @Operation(summary = "DELETE Users")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @DeleteMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<Void> delete(@PathVariable String id) {
+        log.info("DELETE {}/{}", USERS_PATH, id);
+        return service.delete(id);
+    }
+
+    @Operation(summary = "POST Follow Users")
+    @ResponseStatus(HttpStatus.OK)
+    @PostMapping("/{fromId}" + USERS_FOLLOW_PATH + "/{toId}")
+    public Mono<FollowResponse> follow(@PathVariable String fromId, @PathVariable String toId,
+            @Valid @RequestBody FollowRequest request) {
+        log.info("POST {}{}", USERS_PATH, "/" + fromId + USERS_FOLLOW_PATH + "/" + toId);
+        return service.follow(fromId, toId, request);
+    }
+
+    @Operation(summary = "POST Follow Users in bulk")
+    @ResponseStatus(HttpStatus.OK)
+    @PostMapping(value = USERS_FOLLOW_PATH + USERS_BULK_PATH, consumes = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE}, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<List<BulkRowResponse>> bulkFollow(@RequestBody Flux<BulkFollowRequest> requests) {
+        log.info("POST {}{}{}", USERS_PATH, USERS_FOLLOW_PATH, USERS_BULK_PATH);
+        return service.bulkFollow(requests);
+    }
+
+    @Operation(summary = "POST Unfollow Users")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @DeleteMapping("/{fromId}" + USERS_UNFOLLOW_PATH + "/{toId}")
+    public Mono<Void> unfollow(@PathVariable String fromId, @PathVariable String toId) {
+        log.info("DELETE {}{}", USERS_PATH, "/" + fromId + USERS_UNFOLLOW_PATH + "/" + toId);
+        return service.unfollow(fromId, toId);
+    }
+}
@@ -1,24 +1,33 @@
 package com.erebelo.springneptunedemo.controller;
 
 import static com.erebelo.springneptunedemo.constant.BusinessConstant.MERGE_PATCH_MEDIA_TYPE;
+import static com.erebelo.springneptunedemo.constant.BusinessConstant.NEXT_CURSOR_HEADER;
+import static com.erebelo.springneptunedemo.constant.BusinessConstant.USERS_BULK_PATH;
 import static com.erebelo.springneptunedemo.constant.BusinessConstant.USERS_FOLLOW_PATH;
 import static com.erebelo.springneptunedemo.constant.BusinessConstant.USERS_PATH;
 import static com.erebelo.springneptunedemo.constant.BusinessConstant.USERS_UNFOLLOW_PATH;
+import static com.erebelo.springneptunedemo.util.QueryUtil.decodeCursor;
+import static com.erebelo.springneptunedemo.util.QueryUtil.encodeCursor;
 
 import com.erebelo.springneptunedemo.domain.request.FollowRequest;
+import com.erebelo.springneptunedemo.domain.request.NameMatch;
 import com.erebelo.springneptunedemo.domain.request.UserRequest;
+import com.erebelo.springneptunedemo.domain.response.bulk.BulkRowResponse;
 import com.erebelo.springneptunedemo.domain.response.edge.FollowResponse;
 import com.erebelo.springneptunedemo.domain.response.node.UserResponse;
 import com.erebelo.springneptunedemo.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -42,19 +51,47 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 @RequestMapping(USERS_PATH)
 @RequiredArgsConstructor
 @Tag(name = "Users API")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class UserController {
 
     private final UserService service;
 
-    @Operation(summary = "GET Users")
+    /*
+     * Passing the `cursor` parameter (empty for the first page) switches from page
+     * to keyset pagination: the next page is requested with the cursor sent back
+     * in the X-Next-Cursor header, which is absent once the last page is reached.
+     * A full last page still sends a cursor, which then returns an empty page.
+     * The cursor pages follow a stable id order, but each of them scans and sorts
+     * the users left after the cursor (see UserTraversals.findUsersAfter()), so
+     * they are slower than the same `page` at every depth.
+     * The `name` filter is case and accent insensitive, `nameMatch` sets whether
+     * it matches part of, the start of, or the whole name.
+     */
+    @Operation(summary = "GET Users", description = "Pages by `page` number, or by `cursor` (empty for the first "
+            + "page, then the X-Next-Cursor header of the previous one). Cursor pages follow a stable id order, but "
+            + "every one of them scans all the matching users and sorts the ones after the cursor, so it is slower "
+            + "than the same page number at any depth.")
     @ResponseStatus(HttpStatus.OK)
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     public List<UserResponse> findAll(@RequestParam(value = "name", required = false) String name,
+            @RequestParam(value = "nameMatch", required = false, defaultValue = "CONTAINS") NameMatch nameMatch,
             @RequestParam(value = "addressState", required = false) String addressState,
             @Min(1) @RequestParam(value = "limit", required = false, defaultValue = "50") Integer limit,
-            @Min(1) @RequestParam(value = "page", required = false, defaultValue = "1") Integer page) {
+            @Min(1) @RequestParam(value = "page", required = false, defaultValue = "1") Integer page,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            HttpServletResponse httpServletResponse) {
         log.info("GET {}", USERS_PATH);
-        return service.findAll(name, addressState, limit, page);
+
+        if (cursor == null) {
+            return service.findAll(name, nameMatch, addressState, limit, page);
+        }
+
+        List<UserResponse> response = service.findAllAfter(name, nameMatch, addressState, limit,
+                decodeCursor(cursor));
+        if (response.size() == limit) {
+            httpServletResponse.setHeader(NEXT_CURSOR_HEADER, encodeCursor(response.get(limit - 1).getId()));
+        }
+        return response;
     }
 
     @Operation(summary = "GET User by Id")
@@ -76,6 +113,20 @@ public class UserController {
         return response;
     }
 
+    /*
+     * The body (a JSON array or NDJSON) is streamed rather than bound, so that
+     * large imports are not held in memory. Usernames are validated and
+     * normalized per row, as UserRequestFilter does for single inserts.
+     */
+    @Operation(summary = "POST Users in bulk")
+    @ResponseStatus(HttpStatus.OK)
+    @PostMapping(value = USERS_BULK_PATH, consumes = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE}, produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<BulkRowResponse> bulkInsert(HttpServletRequest httpServletRequest) throws IOException {
+        log.info("POST {}{}", USERS_PATH, USERS_BULK_PATH);
+        return service.bulkInsert(httpServletRequest.getInputStream());
+    }
+
     @Operation(summary = "PUT Users")
     @ResponseStatus(HttpStatus.OK)
     @PutMapping(value = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
@@ -109,6 +160,19 @@ public class UserController {
         return service.follow(fromId, toId, request);
     }
 
+    /*
+     * Streamed like the users bulk insert. Every row carries the fromId and toId
+     * of an existing follow pair in addition to the FollowRequest properties.
+     */
+    @Operation(summary = "POST Follow Users in bulk")
+    @ResponseStatus(HttpStatus.OK)
+    @PostMapping(value = USERS_FOLLOW_PATH + USERS_BULK_PATH, consumes = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE}, produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<BulkRowResponse> bulkFollow(HttpServletRequest httpServletRequest) throws IOException {
+        log.info("POST {}{}{}", USERS_PATH, USERS_FOLLOW_PATH, USERS_BULK_PATH);
+        return service.bulkFollow(httpServletRequest.getInputStream());
+    }
+
     @Operation(summary = "POST Unfollow Users")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @DeleteMapping("/{fromId}" + USERS_UNFOLLOW_PATH + "/{toId}")
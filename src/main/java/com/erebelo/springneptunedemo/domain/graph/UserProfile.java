@@ -0,0 +1,21 @@
+package com.erebelo.springneptunedemo.domain.graph;
+
+import com.erebelo.springneptunedemo.domain.graph.edge.FollowEdge;
+import com.erebelo.springneptunedemo.domain.graph.node.UserNode;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserProfile {
+
+    private UserNode node;
+    private List<FollowEdge> followers;
+    private List<FollowEdge> following;
+
+}
@@ -0,0 +1,25 @@
+package com.erebelo.springneptunedemo.domain.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BulkFollowRequest {
+
+    private String fromId;
+    private String toId;
+    private String status;
+    private LocalDate startPeriod;
+    private LocalDate endPeriod;
+
+}
@@ -0,0 +1,11 @@
+package com.erebelo.springneptunedemo.domain.request;
+
+/**
+ * How the `name` filter of GET /users is matched against the normalized
+ * (lower-cased, accent-folded) name of the users.
+ */
+public enum NameMatch {
+
+    CONTAINS, PREFIX, EXACT
+
+}
@@ -0,0 +1,27 @@
+package com.erebelo.springneptunedemo.domain.response.bulk;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of a single row of a bulk request, rows being indexed from 0 in the
+ * order they were received.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BulkRowResponse {
+
+    private Integer index;
+    private BulkRowStatus status;
+    private String id;
+    private String message;
+
+}
@@ -0,0 +1,7 @@
+package com.erebelo.springneptunedemo.domain.response.bulk;
+
+public enum BulkRowStatus {
+
+    CREATED, CONFLICT, NOT_FOUND, INVALID
+
+}
@@ -0,0 +1,31 @@
+package com.erebelo.springneptunedemo.domain.response.profiling;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.Instant;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A traversal that exceeded the slow traversal threshold. The step-level
+ * timings (`profile`) are only present when the traversal was also sampled.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SlowTraversalResponse {
+
+    private Instant timestamp;
+    private Long durationMillis;
+    private String traversal;
+    private Map<String, Object> bindings;
+    private Boolean failed;
+    private String profile;
+
+}
@@ -6,8 +6,10 @@ import com.erebelo.springneptunedemo.exception.model.NotFoundException;
 import com.erebelo.springneptunedemo.exception.model.UnprocessableEntityException;
 import jakarta.validation.ConstraintViolationException;
 import java.util.List;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.util.ObjectUtils;
@@ -19,6 +21,10 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.MethodNotAllowedException;
+import org.springframework.web.server.ServerWebInputException;
+import org.springframework.web.server.UnsupportedMediaTypeStatusException;
 
 @Slf4j
 @ControllerAdvice
@@ -86,6 +92,46 @@ public class GlobalExceptionHandler {
         return parseGeneralException(HttpStatus.BAD_REQUEST, e, errorMessage);
     }
 
+    /*
+     * The reactive stack counterparts of the request binding exceptions above.
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public @ResponseBody ExceptionResponse handleWebExchangeBindException(WebExchangeBindException e) {
+        String errorMessage = null;
+        List<FieldError> fieldErrors = e.getFieldErrors();
+        if (!fieldErrors.isEmpty()) {
+            errorMessage = fieldErrors.stream().map(FieldError::getDefaultMessage).toList().toString();
+        }
+
+        return parseGeneralException(HttpStatus.BAD_REQUEST, e, errorMessage);
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public @ResponseBody ExceptionResponse handleServerWebInputException(ServerWebInputException e) {
+        return parseGeneralException(HttpStatus.BAD_REQUEST, e, e.getReason());
+    }
+
+    @ExceptionHandler(UnsupportedMediaTypeStatusException.class)
+    @ResponseStatus(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+    public @ResponseBody ExceptionResponse handleUnsupportedMediaTypeStatusException(
+            UnsupportedMediaTypeStatusException e) {
+        return parseGeneralException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, e, e.getReason());
+    }
+
+    @ExceptionHandler(MethodNotAllowedException.class)
+    @ResponseStatus(HttpStatus.METHOD_NOT_ALLOWED)
+    public @ResponseBody ExceptionResponse handleMethodNotAllowedException(MethodNotAllowedException e) {
+        String errorMessage = e.getReason();
+        if (!ObjectUtils.isEmpty(e.getSupportedMethods())) {
+            errorMessage += ". Supported methods: "
+                    + e.getSupportedMethods().stream().map(HttpMethod::name).collect(Collectors.joining(", "));
+        }
+
+        return parseGeneralException(HttpStatus.METHOD_NOT_ALLOWED, e, errorMessage);
+    }
+
     @ExceptionHandler(BadRequestException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public @ResponseBody ExceptionResponse handleBadRequestException(BadRequestException e) {
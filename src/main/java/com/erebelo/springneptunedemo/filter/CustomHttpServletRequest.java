@@ -6,18 +6,21 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletRequestWrapper;
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
 
 public class CustomHttpServletRequest extends HttpServletRequestWrapper {
 
-    private final String body;
+    private final byte[] body;
+    private final int length;
 
-    public CustomHttpServletRequest(HttpServletRequest request, String body) {
+    /*
+     * Only the first `length` bytes of the body are read. The array is not
+     * copied.
+     */
+    public CustomHttpServletRequest(HttpServletRequest request, byte[] body, int length) {
         super(request);
         this.body = body;
+        this.length = length;
     }
 
     @Override
@@ -25,18 +28,23 @@ public class CustomHttpServletRequest extends HttpServletRequestWrapper {
         return new BufferedReader(new InputStreamReader(getInputStream()));
     }
 
+    /*
+     * Every call reads the body from its start.
+     */
     @Override
     public ServletInputStream getInputStream() {
+        ByteArrayInputStream inputStream = new ByteArrayInputStream(body, 0, length);
+
         return new ServletInputStream() {
 
             @Override
             public boolean isFinished() {
-                return false;
+                return inputStream.available() == 0;
             }
 
             @Override
             public boolean isReady() {
-                return false;
+                return true;
             }
 
             @Override
@@ -45,12 +53,15 @@ public class CustomHttpServletRequest extends HttpServletRequestWrapper {
                 // does not support asynchronous/non-blocking I/O.
             }
 
-            private final InputStream inputStream = new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
-
             @Override
-            public int read() throws IOException {
+            public int read() {
                 return inputStream.read();
             }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return inputStream.read(b, off, len);
+            }
         };
     }
 }
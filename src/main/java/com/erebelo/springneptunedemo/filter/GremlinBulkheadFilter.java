@@ -0,0 +1,88 @@
+package com.erebelo.springneptunedemo.filter;
+
+import static com.erebelo.springneptunedemo.util.ObjectMapperUtil.objectMapper;
+
+import com.erebelo.springneptunedemo.exception.ExceptionResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Bounds the requests reaching the graph to the ones the Gremlin driver pool
+ * can serve at once. With platform threads, the Tomcat thread pool used to be
+ * that bound, but with virtual threads every request gets a thread, and
+ * thousands of them would otherwise all wait on the driver connections until
+ * they time out.
+ * <p>
+ * A request waits up to `maxWait` for a permit, in arrival order, and is
+ * rejected with a 503 (and a `Retry-After` header) past that. The permits in
+ * use are exposed as the `gremlin.bulkhead.*` metrics.
+ */
+@Slf4j
+public class GremlinBulkheadFilter extends OncePerRequestFilter {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+    private static final String REJECTED_ERROR_MESSAGE = "Too many concurrent graph requests, retry later";
+
+    private final Semaphore permits;
+    private final long maxWaitNanos;
+    private final Counter rejectedRequests;
+
+    public GremlinBulkheadFilter(int maxConcurrentRequests, Duration maxWait, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.maxWaitNanos = maxWait.toNanos();
+
+        Gauge.builder("gremlin.bulkhead.permits.available", permits, Semaphore::availablePermits)
+                .description("Requests that can still reach the graph without waiting").register(meterRegistry);
+        Gauge.builder("gremlin.bulkhead.queued", permits, Semaphore::getQueueLength)
+                .description("Requests waiting for a permit").register(meterRegistry);
+        this.rejectedRequests = Counter.builder("gremlin.bulkhead.rejected")
+                .description("Requests rejected for lack of a permit").register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        if (!acquirePermit()) {
+            rejectedRequests.increment();
+            log.warn("Request rejected by the Gremlin bulkhead: {} {}", request.getMethod(), request.getRequestURI());
+
+            ExceptionResponse exceptionResponse = new ExceptionResponse(HttpStatus.SERVICE_UNAVAILABLE,
+                    REJECTED_ERROR_MESSAGE, System.currentTimeMillis());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            response.getWriter().write(objectMapper.writeValueAsString(exceptionResponse));
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean acquirePermit() {
+        try {
+            return permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
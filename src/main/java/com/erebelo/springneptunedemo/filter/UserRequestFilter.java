@@ -1,18 +1,24 @@
 package com.erebelo.springneptunedemo.filter;
 
 import static com.erebelo.springneptunedemo.util.ObjectMapperUtil.objectMapper;
+import static com.erebelo.springneptunedemo.util.UsernameUtil.isUsernameInvalid;
+import static com.erebelo.springneptunedemo.util.UsernameUtil.normalizeUsername;
 
 import com.erebelo.springneptunedemo.exception.ExceptionResponse;
 import com.erebelo.springneptunedemo.exception.model.BadRequestException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.NullNode;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -31,22 +37,35 @@ import org.springframework.web.filter.OncePerRequestFilter;
  * <p>
  * The filter throws a `BadRequestException` if validation fails for `username`
  * (either if it's blank, contains whitespace, or is missing).
+ * <p>
+ * The body is rewritten in a single token pass from the request stream into a
+ * buffer, which the wrapped request reads back without further copies. The
+ * buffers are pooled and reused once the filter chain returns, so the wrapped
+ * body must be read within the chain, as the message converters do. Buffers
+ * grown past `MAX_POOLED_BUFFER_SIZE` by a large body are not kept.
  */
 public class UserRequestFilter extends OncePerRequestFilter {
 
     private static final String USER_API_PATH = "/spring-neptune-demo/users";
+    private static final String USER_API_PATH_PREFIX = USER_API_PATH + "/";
     private static final String USERNAME_PROPERTY = "username";
-    private static final char AT_SIGN = '@';
+    private static final int MIN_BODY_BUFFER_SIZE = 256;
+    private static final int MAX_POOLED_BUFFERS = 64;
+    private static final int MAX_POOLED_BUFFER_SIZE = 64 * 1024;
+
+    private final JsonFactory jsonFactory = objectMapper.getFactory();
+    private final BlockingQueue<BodyBuffer> bodyBuffers = new ArrayBlockingQueue<>(MAX_POOLED_BUFFERS);
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain) throws IOException {
+        BodyBuffer modifiedBody = acquireBodyBuffer(request.getContentLength());
         try {
-            String requestBody = readRequestBody(request);
-            String modifiedBody = modifyUsernameAttribute(requestBody, HttpMethod.PATCH.matches(request.getMethod()));
+            modifyUsernameAttribute(request, HttpMethod.PATCH.matches(request.getMethod()), modifiedBody);
 
             // Wrap the request with the modified body
-            CustomHttpServletRequest modifiedRequest = new CustomHttpServletRequest(request, modifiedBody);
+            CustomHttpServletRequest modifiedRequest = new CustomHttpServletRequest(request, modifiedBody.bytes(),
+                    modifiedBody.size());
 
             // Proceed with the filter chain using the modified request
             filterChain.doFilter(modifiedRequest, response);
@@ -63,6 +82,8 @@ public class UserRequestFilter extends OncePerRequestFilter {
             }
 
             response.getWriter().write(objectMapper.writeValueAsString(exceptionResponse));
+        } finally {
+            releaseBodyBuffer(modifiedBody);
         }
     }
 
@@ -70,54 +91,123 @@ public class UserRequestFilter extends OncePerRequestFilter {
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String method = request.getMethod();
         String path = request.getRequestURI();
-        String regexPattern = "^" + USER_API_PATH + "/[^/]+$";
 
         boolean isPostUsers = HttpMethod.POST.matches(method) && path.equals(USER_API_PATH);
         boolean isPutOrPatchUsers = (HttpMethod.PUT.matches(method) || HttpMethod.PATCH.matches(method))
-                && path.matches(regexPattern);
+                && isUserPath(path);
 
         return !(isPostUsers || isPutOrPatchUsers);
     }
 
-    private String readRequestBody(HttpServletRequest request) throws IOException {
-        StringBuilder requestBody = new StringBuilder();
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                requestBody.append(line);
+    /*
+     * Same as matching `^/spring-neptune-demo/users/[^/]+$`, without a regex.
+     */
+    private static boolean isUserPath(String path) {
+        return path.length() > USER_API_PATH_PREFIX.length() && path.startsWith(USER_API_PATH_PREFIX)
+                && path.indexOf('/', USER_API_PATH_PREFIX.length()) < 0;
+    }
+
+    /*
+     * Copies the tokens of the first JSON value of the body, replacing the value
+     * of the top-level `username` field by its normalized form. The username value
+     * alone is read as a tree, so that it is validated from its text like the
+     * whole body used to be.
+     */
+    private void modifyUsernameAttribute(HttpServletRequest request, boolean isPatchRequest, BodyBuffer body)
+            throws IOException {
+        boolean usernameFound = false;
+
+        try (JsonParser parser = jsonFactory.createParser(request.getInputStream());
+                JsonGenerator generator = jsonFactory.createGenerator(body)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.FIELD_NAME && parser.getParsingContext().getParent().inRoot()
+                        && USERNAME_PROPERTY.equals(parser.currentName())) {
+                    parser.nextToken();
+                    String username = readUsername(parser);
+                    validateUsername(username, isPatchRequest);
+
+                    generator.writeStringField(USERNAME_PROPERTY, normalizeUsername(username));
+                    usernameFound = true;
+                } else {
+                    generator.copyCurrentEvent(parser);
+                }
+
+                // Ignore any content trailing the first value, as readTree() did
+                if (parser.getParsingContext().inRoot()) {
+                    break;
+                }
             }
         }
-        return requestBody.toString();
+
+        if (!isPatchRequest && !usernameFound) {
+            validateUsername(null, false);
+        }
     }
 
-    private String modifyUsernameAttribute(String body, boolean isPatchRequest) throws IOException {
-        JsonNode jsonNode = objectMapper.readTree(body);
-        JsonNode usernameNode = jsonNode.get(USERNAME_PROPERTY);
+    /*
+     * A pooled buffer, made at least as large as the body, or a new one when the
+     * pool is empty.
+     */
+    private BodyBuffer acquireBodyBuffer(int contentLength) {
+        int size = Math.max(contentLength, MIN_BODY_BUFFER_SIZE);
+        BodyBuffer body = bodyBuffers.poll();
+        if (body == null) {
+            return new BodyBuffer(size);
+        }
+
+        body.reset(size);
+        return body;
+    }
+
+    private void releaseBodyBuffer(BodyBuffer body) {
+        if (body.capacity() <= MAX_POOLED_BUFFER_SIZE) {
+            bodyBuffers.offer(body);
+        }
+    }
 
-        if (isPatchRequest) {
-            if (usernameNode != null && isUsernameInvalid(usernameNode.asText())) {
+    private static String readUsername(JsonParser parser) throws IOException {
+        JsonNode usernameNode = parser.currentToken() == JsonToken.VALUE_NULL
+                ? NullNode.getInstance()
+                : parser.readValueAsTree();
+        return usernameNode.asText();
+    }
+
+    private static void validateUsername(String username, boolean isPatchRequest) {
+        if (isUsernameInvalid(username)) {
+            if (isPatchRequest) {
                 throw new BadRequestException("[username cannot be blank or contain any whitespace characters]");
             }
-        } else if (usernameNode == null || isUsernameInvalid(usernameNode.asText())) {
             throw new BadRequestException(
                     "[username is mandatory and cannot be blank or contain any whitespace characters]");
         }
+    }
 
-        // Need to check if username is not null as it may be null for
-        // PATCH request method
-        if (usernameNode != null) {
-            String username = usernameNode.asText();
-            if (username.charAt(0) != AT_SIGN) {
-                username = AT_SIGN + username;
-            }
-            ((ObjectNode) jsonNode).put(USERNAME_PROPERTY, username.toLowerCase());
+    /*
+     * Exposes its bytes to the wrapped request without copying them.
+     */
+    private static final class BodyBuffer extends ByteArrayOutputStream {
+
+        private BodyBuffer(int size) {
+            super(size);
         }
 
-        return objectMapper.writeValueAsString(jsonNode);
-    }
+        private byte[] bytes() {
+            return buf;
+        }
+
+        private int capacity() {
+            return buf.length;
+        }
 
-    private boolean isUsernameInvalid(String username) {
-        return username.isEmpty() || username.contains(" ") || username.equals("null");
+        /*
+         * The former content is not cleared, only overwritten by the next body.
+         */
+        private void reset(int size) {
+            reset();
+            if (buf.length < size) {
+                buf = new byte[size];
+            }
+        }
     }
 }
@@ -2,8 +2,10 @@ package com.erebelo.springneptunedemo.mapper;
 
 import static org.mapstruct.ReportingPolicy.WARN;
 
+import com.erebelo.springneptunedemo.domain.graph.UserProfile;
 import com.erebelo.springneptunedemo.domain.graph.edge.FollowEdge;
 import com.erebelo.springneptunedemo.domain.graph.node.UserNode;
+import com.erebelo.springneptunedemo.domain.request.BulkFollowRequest;
 import com.erebelo.springneptunedemo.domain.request.FollowRequest;
 import com.erebelo.springneptunedemo.domain.request.UserRequest;
 import com.erebelo.springneptunedemo.domain.response.edge.FollowResponse;
@@ -21,6 +23,11 @@ public interface UserMapper {
     List<UserResponse> nodeListToResponseList(List<UserNode> nodeList);
     UserResponse nodeToResponse(UserNode node);
 
+    @Mapping(target = ".", source = "node")
+    @Mapping(target = "followers", expression = "java(edgeListToLazyFollowResponseList(profile.getFollowers(), \"OUT\"))")
+    @Mapping(target = "following", expression = "java(edgeListToLazyFollowResponseList(profile.getFollowing(), \"IN\"))")
+    UserResponse profileToResponse(UserProfile profile);
+
     List<LazyFollowResponse> edgeListToLazyFollowResponseList(List<FollowEdge> edgeList, @Context String direction);
     @Mapping(target = "user", expression = "java(direction.equalsIgnoreCase(\"IN\") ? nodeToLazyResponse(edge.getIn()) : nodeToLazyResponse(edge.getOut()))")
     LazyFollowResponse edgeToLazyFollowResponse(FollowEdge edge, @Context String direction);
@@ -32,4 +39,8 @@ public interface UserMapper {
 
     FollowEdge requestToEdge(FollowRequest request);
 
+    @Mapping(target = "out.id", source = "fromId")
+    @Mapping(target = "in.id", source = "toId")
+    FollowEdge bulkRequestToEdge(BulkFollowRequest request);
+
 }
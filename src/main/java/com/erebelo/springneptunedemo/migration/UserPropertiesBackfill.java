@@ -0,0 +1,104 @@
+package com.erebelo.springneptunedemo.migration;
+
+import static com.erebelo.springneptunedemo.constant.UserConstant.ADDRESS_STATE_PROPERTY;
+import static com.erebelo.springneptunedemo.constant.UserConstant.NAME_PROPERTY;
+import static com.erebelo.springneptunedemo.constant.UserConstant.NAME_SEARCH_PROPERTY;
+import static com.erebelo.springneptunedemo.constant.UserConstant.USER_VERTEX_LABEL;
+import static com.erebelo.springneptunedemo.util.TextUtil.canonicalizeCode;
+import static com.erebelo.springneptunedemo.util.TextUtil.normalizeSearchText;
+
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-off migration of the users written before the canonical `address_state`
+ * and the `nameSearch` shadow property were introduced. Users are read in id
+ * order and rewritten in batches, each batch in a single traversal, so it can be
+ * re-run safely and resumed from any id.
+ * <p>
+ * Enable it for a single start with
+ * `users.migration.backfill-properties.enabled=true`.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "users.migration.backfill-properties.enabled", havingValue = "true")
+public class UserPropertiesBackfill implements ApplicationRunner {
+
+    private final GraphTraversalSource g;
+
+    @Value("${users.migration.batch-size:500}")
+    private int batchSize;
+
+    @Value("${users.migration.start-after-id:}")
+    private String startAfterId;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        String lastId = startAfterId.isBlank() ? null : startAfterId;
+        long migrated = 0;
+        List<Map<Object, Object>> batch;
+
+        log.info("Backfilling user properties in batches of {}", batchSize);
+        do {
+            batch = readBatch(lastId);
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            writeBatch(batch);
+            lastId = batch.get(batch.size() - 1).get(T.id).toString();
+            migrated += batch.size();
+            log.info("{} users backfilled, last id: {}", migrated, lastId);
+        } while (batch.size() == batchSize);
+
+        log.info("User properties backfill completed: {} users", migrated);
+    }
+
+    private List<Map<Object, Object>> readBatch(String lastId) {
+        GraphTraversal<Vertex, Vertex> gtVertex = g.V().hasLabel(USER_VERTEX_LABEL);
+
+        if (lastId != null) {
+            gtVertex.has(T.id, P.gt(lastId));
+        }
+
+        return gtVertex.order().by(T.id).limit(batchSize).elementMap(NAME_PROPERTY, ADDRESS_STATE_PROPERTY)
+                .toList();
+    }
+
+    /*
+     * Chain the whole batch in a single traversal. Single cardinality replaces the
+     * current values instead of adding to them on Neptune, where vertex properties
+     * default to set cardinality.
+     */
+    private void writeBatch(List<Map<Object, Object>> batch) {
+        GraphTraversal<Vertex, Vertex> gtBatch = null;
+
+        for (Map<Object, Object> vertexMap : batch) {
+            Object vertexId = vertexMap.get(T.id);
+            gtBatch = gtBatch == null ? g.V(vertexId) : gtBatch.V(vertexId);
+
+            if (vertexMap.get(NAME_PROPERTY) instanceof String name) {
+                gtBatch.property(VertexProperty.Cardinality.single, NAME_SEARCH_PROPERTY, normalizeSearchText(name));
+            }
+            if (vertexMap.get(ADDRESS_STATE_PROPERTY) instanceof String state) {
+                gtBatch.property(VertexProperty.Cardinality.single, ADDRESS_STATE_PROPERTY, canonicalizeCode(state));
+            }
+        }
+
+        gtBatch.iterate();
+    }
+}
@@ -0,0 +1,31 @@
+package com.erebelo.springneptunedemo.profiling;
+
+import com.erebelo.springneptunedemo.domain.response.profiling.SlowTraversalResponse;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Admin endpoint (`/actuator/slowtraversals`) listing the last slow traversals
+ * recorded by TraversalProfiler, most recent first. A DELETE clears them.
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "slowtraversals")
+public class SlowTraversalEndpoint {
+
+    private final TraversalProfiler profiler;
+
+    @ReadOperation
+    public List<SlowTraversalResponse> slowTraversals() {
+        return profiler.getSlowTraversals();
+    }
+
+    @DeleteOperation
+    public void clearSlowTraversals() {
+        profiler.clearSlowTraversals();
+    }
+}
@@ -0,0 +1,227 @@
+package com.erebelo.springneptunedemo.profiling;
+
+import com.erebelo.springneptunedemo.domain.response.profiling.SlowTraversalResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalSideEffects;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.translator.GroovyTranslator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Executes the repository traversals, timing them and profiling a sampled
+ * fraction of them (`aws.neptune.profiling.*`). Traversals slower than the
+ * threshold are logged with their Gremlin script, bindings and, when sampled,
+ * step-level timings, and the last ones are kept for the `slowtraversals`
+ * actuator endpoint.
+ * <p>
+ * Only read-only traversals are profiled, sampled mutations (including the ones
+ * nested in anonymous traversals) are only timed. Sampled embedded traversals
+ * run with a `profile()` side effect, so they are executed once and their
+ * results are unchanged, but the metrics are only complete once the traversal
+ * is exhausted: what their terminal left unread (e.g. after `next()`) is read
+ * too. Remote traversals cannot return side effects, so they are profiled by a
+ * second `profile()` submission once they complete.
+ * <p>
+ * When disabled, traversals are executed as they are, without being timed.
+ */
+@Slf4j
+@Component
+public class TraversalProfiler {
+
+    private static final String PROFILE_SIDE_EFFECT_KEY = "~traversalProfile";
+    private static final Set<String> MUTATING_STEPS = Set.of(GraphTraversal.Symbols.addV, GraphTraversal.Symbols.addE,
+            GraphTraversal.Symbols.mergeV, GraphTraversal.Symbols.mergeE, GraphTraversal.Symbols.property,
+            GraphTraversal.Symbols.drop);
+
+    private final boolean enabled;
+    private final boolean remote;
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final int capacity;
+    private final Deque<SlowTraversalResponse> slowTraversals = new ArrayDeque<>();
+
+    public TraversalProfiler(@Value("${aws.neptune.profiling.enabled:false}") boolean enabled,
+            @Value("${aws.neptune.embedded}") boolean embedded,
+            @Value("${aws.neptune.profiling.sample-rate:0.01}") double sampleRate,
+            @Value("${aws.neptune.profiling.slow-threshold:500ms}") Duration slowThreshold,
+            @Value("${aws.neptune.profiling.capacity:100}") int capacity) {
+        this.enabled = enabled;
+        this.remote = !embedded;
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.capacity = capacity;
+
+        if (enabled) {
+            log.info("Traversal profiling enabled with sample rate: {}, slow threshold: {} and capacity: {}",
+                    sampleRate, slowThreshold, capacity);
+        }
+    }
+
+    public <S, E, R> R execute(Traversal<S, E> traversal, Function<Traversal<S, E>, R> terminal) {
+        if (!enabled) {
+            return terminal.apply(traversal);
+        }
+
+        Bytecode bytecode = traversal.asAdmin().getBytecode().clone();
+        boolean profiled = isSampled() && isReadOnly(traversal, bytecode);
+        Traversal<S, E> executedTraversal = profiled && !remote ? withProfileSideEffect(traversal) : traversal;
+        GraphTraversal<S, E> profileTraversal = profiled && remote ? cloneTraversal(traversal) : null;
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            R result = terminal.apply(executedTraversal);
+            failed = false;
+            return result;
+        } finally {
+            long durationNanos = System.nanoTime() - start;
+            if (profiled && !remote && !failed) {
+                complete(bytecode, durationNanos, false, sideEffectProfile(executedTraversal));
+            } else {
+                profileAndComplete(bytecode, durationNanos, failed, failed ? null : profileTraversal);
+            }
+        }
+    }
+
+    /*
+     * Counterpart of execute() for the remote traversals submitted with
+     * `promise()`, timed up to the completion of their future.
+     */
+    public <S, E, R> CompletableFuture<R> promise(Traversal<S, E> traversal, Function<Traversal<S, E>, R> terminal) {
+        if (!enabled) {
+            return traversal.promise(terminal);
+        }
+
+        Bytecode bytecode = traversal.asAdmin().getBytecode().clone();
+        GraphTraversal<S, E> profileTraversal = isSampled() && isReadOnly(traversal, bytecode)
+                ? cloneTraversal(traversal)
+                : null;
+
+        long start = System.nanoTime();
+        return traversal.promise(terminal).whenComplete((result, throwable) -> profileAndComplete(bytecode,
+                System.nanoTime() - start, throwable != null, throwable != null ? null : profileTraversal));
+    }
+
+    public synchronized List<SlowTraversalResponse> getSlowTraversals() {
+        List<SlowTraversalResponse> response = new ArrayList<>(slowTraversals);
+        Collections.reverse(response);
+        return response;
+    }
+
+    public synchronized void clearSlowTraversals() {
+        slowTraversals.clear();
+    }
+
+    private boolean isSampled() {
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    /*
+     * Only graph traversals can be profiled.
+     */
+    private static boolean isReadOnly(Traversal<?, ?> traversal, Bytecode bytecode) {
+        return traversal instanceof GraphTraversal && !isMutating(bytecode);
+    }
+
+    /*
+     * Anonymous traversals (e.g. `sideEffect(drop())`) are part of the bytecode
+     * as nested bytecode arguments.
+     */
+    private static boolean isMutating(Bytecode bytecode) {
+        return bytecode.getStepInstructions().stream()
+                .anyMatch(instruction -> MUTATING_STEPS.contains(instruction.getOperator())
+                        || Arrays.stream(instruction.getArguments())
+                                .anyMatch(argument -> argument instanceof Bytecode nested && isMutating(nested)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <S, E> GraphTraversal<S, E> cloneTraversal(Traversal<S, E> traversal) {
+        return (GraphTraversal<S, E>) traversal.asAdmin().clone();
+    }
+
+    private static <S, E> Traversal<S, E> withProfileSideEffect(Traversal<S, E> traversal) {
+        return cloneTraversal(traversal).profile(PROFILE_SIDE_EFFECT_KEY);
+    }
+
+    /*
+     * The metrics are only set once the traversal is exhausted, so the results
+     * left by terminals like next() are read first. The traversal is read-only,
+     * so this only costs the extra reads.
+     */
+    private static String sideEffectProfile(Traversal<?, ?> traversal) {
+        try {
+            traversal.iterate();
+            TraversalSideEffects sideEffects = traversal.asAdmin().getSideEffects();
+            return sideEffects.exists(PROFILE_SIDE_EFFECT_KEY)
+                    ? sideEffects.get(PROFILE_SIDE_EFFECT_KEY).toString()
+                    : null;
+        } catch (RuntimeException e) {
+            log.warn("Unable to read the traversal profile", e);
+            return null;
+        }
+    }
+
+    private <S, E> void profileAndComplete(Bytecode bytecode, long durationNanos, boolean failed,
+            GraphTraversal<S, E> profileTraversal) {
+        if (profileTraversal == null) {
+            complete(bytecode, durationNanos, failed, null);
+            return;
+        }
+
+        profileTraversal.profile().promise(Traversal::next).whenComplete((metrics, throwable) -> {
+            if (throwable != null) {
+                log.warn("Unable to profile the traversal", throwable);
+            }
+            complete(bytecode, durationNanos, failed, metrics != null ? metrics.toString() : null);
+        });
+    }
+
+    private void complete(Bytecode bytecode, long durationNanos, boolean failed, String profile) {
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        if (durationNanos < slowThresholdNanos) {
+            if (profile != null) {
+                log.debug("Profiled traversal ({} ms): {}\n{}", durationMillis, translate(bytecode), profile);
+            }
+            return;
+        }
+
+        SlowTraversalResponse slowTraversal = SlowTraversalResponse.builder().timestamp(Instant.now())
+                .durationMillis(durationMillis).traversal(translate(bytecode)).bindings(bytecode.getBindings())
+                .failed(failed).profile(profile).build();
+        log.warn("Slow traversal ({} ms{}): {} with bindings: {}{}", durationMillis, failed ? ", failed" : "",
+                slowTraversal.getTraversal(), slowTraversal.getBindings(), profile != null ? "\n" + profile : "");
+
+        if (capacity > 0) {
+            synchronized (this) {
+                if (slowTraversals.size() == capacity) {
+                    slowTraversals.removeFirst();
+                }
+                slowTraversals.addLast(slowTraversal);
+            }
+        }
+    }
+
+    private static String translate(Bytecode bytecode) {
+        try {
+            return GroovyTranslator.of("g").translate(bytecode).getScript();
+        } catch (RuntimeException e) {
+            return bytecode.toString();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.erebelo.springneptunedemo.repository;
+
+import com.erebelo.springneptunedemo.domain.graph.UserProfile;
+import com.erebelo.springneptunedemo.domain.graph.edge.FollowEdge;
+import com.erebelo.springneptunedemo.domain.graph.node.UserNode;
+import com.erebelo.springneptunedemo.domain.request.NameMatch;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+
+public interface AsyncUserRepository {
+
+    CompletableFuture<List<UserNode>> findAll(String name, NameMatch nameMatch, String addressState, Integer limit,
+            Integer page);
+
+    CompletableFuture<List<UserNode>> findAllAfter(String name, NameMatch nameMatch, String addressState,
+            Integer limit, String lastId);
+
+    CompletableFuture<UserNode> findById(String id);
+
+    CompletableFuture<UserProfile> findProfileById(String id);
+
+    CompletableFuture<UserNode> insert(UserNode node);
+
+    CompletableFuture<List<String>> insertAll(List<UserNode> nodes);
+
+    CompletableFuture<Set<String>> findExistingIds(Collection<String> ids);
+
+    CompletableFuture<UserNode> update(String id, UserNode node);
+
+    CompletableFuture<UserNode> patch(String id, Map<String, Object> requestMap);
+
+    CompletableFuture<Void> deleteById(String id);
+
+    CompletableFuture<List<FollowEdge>> findEdgesByUserIdAndDirection(String userId, Direction direction);
+
+    CompletableFuture<FollowEdge> createEdge(String fromId, String toId, FollowEdge edge);
+
+    CompletableFuture<List<String>> createEdges(List<FollowEdge> edges);
+
+    CompletableFuture<Void> removeEdge(String fromId, String toId);
+
+}
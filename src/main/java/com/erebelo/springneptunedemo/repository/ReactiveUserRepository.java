@@ -0,0 +1,46 @@
+package com.erebelo.springneptunedemo.repository;
+
+import com.erebelo.springneptunedemo.domain.graph.UserProfile;
+import com.erebelo.springneptunedemo.domain.graph.edge.FollowEdge;
+import com.erebelo.springneptunedemo.domain.graph.node.UserNode;
+import com.erebelo.springneptunedemo.domain.request.NameMatch;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserRepository {
+
+    Flux<UserNode> findAll(String name, NameMatch nameMatch, String addressState, Integer limit, Integer page);
+
+    Flux<UserNode> findAllAfter(String name, NameMatch nameMatch, String addressState, Integer limit,
+            String lastId);
+
+    Mono<UserNode> findById(String id);
+
+    Mono<UserProfile> findProfileById(String id);
+
+    Mono<UserNode> insert(UserNode node);
+
+    Mono<List<String>> insertAll(List<UserNode> nodes);
+
+    Mono<Set<String>> findExistingIds(Collection<String> ids);
+
+    Mono<UserNode> update(String id, UserNode node);
+
+    Mono<UserNode> patch(String id, Map<String, Object> requestMap);
+
+    Mono<Void> deleteById(String id);
+
+    Flux<FollowEdge> findEdgesByUserIdAndDirection(String userId, Direction direction);
+
+    Mono<FollowEdge> createEdge(String fromId, String toId, FollowEdge edge);
+
+    Mono<List<String>> createEdges(List<FollowEdge> edges);
+
+    Mono<Void> removeEdge(String fromId, String toId);
+
+}
@@ -1,19 +1,32 @@
 package com.erebelo.springneptunedemo.repository;
 
+import com.erebelo.springneptunedemo.domain.graph.UserProfile;
 import com.erebelo.springneptunedemo.domain.graph.edge.FollowEdge;
 import com.erebelo.springneptunedemo.domain.graph.node.UserNode;
+import com.erebelo.springneptunedemo.domain.request.NameMatch;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 
 public interface UserRepository {
 
-    List<UserNode> findAll(String name, String addressState, Integer limit, Integer page);
+    List<UserNode> findAll(String name, NameMatch nameMatch, String addressState, Integer limit, Integer page);
+
+    List<UserNode> findAllAfter(String name, NameMatch nameMatch, String addressState, Integer limit,
+            String lastId);
 
     UserNode findById(String id);
 
+    UserProfile findProfileById(String id);
+
     UserNode insert(UserNode node);
 
+    List<String> insertAll(List<UserNode> nodes);
+
+    Set<String> findExistingIds(Collection<String> ids);
+
     UserNode update(String id, UserNode node);
 
     UserNode patch(String id, Map<String, Object> requestMap);
@@ -24,6 +37,8 @@ public interface UserRepository {
 
     FollowEdge createEdge(String fromId, String toId, FollowEdge edge);
 
+    List<String> createEdges(List<FollowEdge> edges);
+
     void removeEdge(String fromId, String toId);
 
 }
@@ -0,0 +1,703 @@
+package com.erebelo.springneptunedemo.repository.impl;
+
+import static com.erebelo.springneptunedemo.constant.UserConstant.EDGE_CONSTRAINT_ERROR_MESSAGE;
+import static com.erebelo.springneptunedemo.constant.UserConstant.EXISTING_EDGE_ERROR_MESSAGE;
+import static com.erebelo.springneptunedemo.constant.UserConstant.GREMLIN_QUERY_ERROR_MESSAGE;
+import static com.erebelo.springneptunedemo.constant.UserConstant.JSON_PROCESSING_ERROR_MESSAGE;
+import static com.erebelo.springneptunedemo.constant.UserConstant.NO_EXISTING_EDGE_ERROR_MESSAGE;
+import static com.erebelo.springneptunedemo.constant.UserConstant.USERNAME_PROPERTY;
+import static com.erebelo.springneptunedemo.constant.UserConstant.USERS_NOT_FOUND_ERROR_MESSAGE;
+import static com.erebelo.springneptunedemo.constant.UserConstant.USER_ALREADY_EXISTS_ERROR_MESSAGE;
+import static com.erebelo.springneptunedemo.constant.UserConstant.USER_CONSTRAINT_ERROR_MESSAGE;
+import static com.erebelo.springneptunedemo.constant.UserConstant.USER_NOT_FOUND_ERROR_MESSAGE;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.dropFollowEdges;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.findEdgesAndAdjacentVertices;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.findFollowEdge;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.findProfile;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.findUser;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.findUserIds;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.findUsernameConflict;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.findUsers;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.findUsersByIds;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.findUsersAfter;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.mapCreatedIds;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.mapEdgesAndAdjacentVertices;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.mapProfile;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.mergeFollowEdge;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.mergeFollowEdges;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.mergeUser;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.mergeUsers;
+import static com.erebelo.springneptunedemo.util.GraphUtil.appendVertexAndEdgeProperties;
+import static com.erebelo.springneptunedemo.util.GraphUtil.mapVertexAndEdgeToGraphObject;
+import static com.erebelo.springneptunedemo.util.ObjectMapperUtil.objectMapper;
+import static com.erebelo.springneptunedemo.util.QueryUtil.calculatePaginationIndexes;
+
+import com.erebelo.springneptunedemo.cache.UserNodeCache;
+import com.erebelo.springneptunedemo.cache.UsernameBloomFilter;
+import com.erebelo.springneptunedemo.config.GraphTraversalRouter;
+import com.erebelo.springneptunedemo.domain.graph.UserProfile;
+import com.erebelo.springneptunedemo.domain.graph.edge.FollowEdge;
+import com.erebelo.springneptunedemo.domain.graph.node.UserNode;
+import com.erebelo.springneptunedemo.domain.request.NameMatch;
+import com.erebelo.springneptunedemo.exception.model.ConflictException;
+import com.erebelo.springneptunedemo.exception.model.NotFoundException;
+import com.erebelo.springneptunedemo.profiling.TraversalProfiler;
+import com.erebelo.springneptunedemo.repository.AsyncUserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.tinkerpop.gremlin.driver.exception.ResponseException;
+import org.apache.tinkerpop.gremlin.process.remote.traversal.strategy.decoration.RemoteStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.FailStep;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Non-blocking counterpart of `UserRepositoryImpl`. Remote traversals are
+ * submitted through the driver with `promise()`, so no thread waits on Neptune.
+ * Embedded TinkerGraph traversals cannot be promised and are run on a bounded
+ * executor of their own (`aws.neptune.embedded-executor.*`) instead, rather
+ * than on the common pool shared with the rest of the JVM. Once its queue is
+ * full, the futures complete exceptionally with a RejectedExecutionException.
+ * <p>
+ * Futures complete exceptionally with the same NotFoundException and
+ * ConflictException the blocking repository throws. Both repositories share the
+ * same user node cache, are timed by the same UserRepositoryMetrics and
+ * TraversalProfiler, and route their reads and writes alike through
+ * GraphTraversalRouter.
+ */
+@Slf4j
+@Repository
+public class AsyncUserRepositoryImpl implements AsyncUserRepository {
+
+    private final GraphTraversalRouter router;
+    private final UserNodeCache cache;
+    private final UsernameBloomFilter usernameFilter;
+    private final UserRepositoryMetrics metrics;
+    private final TraversalProfiler profiler;
+    private final boolean remote;
+    private final FollowWriteCoalescer<FollowEdge> followCoalescer;
+    private final FollowWriteCoalescer<Void> unfollowCoalescer;
+    private final ThreadPoolExecutor embeddedExecutor;
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    public AsyncUserRepositoryImpl(GraphTraversalRouter router, UserNodeCache cache,
+            UsernameBloomFilter usernameFilter, UserRepositoryMetrics metrics, TraversalProfiler profiler,
+            @Value("${users.follow.coalescing.enabled:false}") boolean coalescingEnabled,
+            @Value("${users.follow.coalescing.max-batch-size:64}") int coalescingMaxBatchSize,
+            @Value("${users.follow.coalescing.max-delay:5ms}") Duration coalescingMaxDelay,
+            @Value("${aws.neptune.embedded-executor.pool-size:4}") int embeddedPoolSize,
+            @Value("${aws.neptune.embedded-executor.queue-capacity:1000}") int embeddedQueueCapacity,
+            MeterRegistry meterRegistry) {
+        this.router = router;
+        this.cache = cache;
+        this.usernameFilter = usernameFilter;
+        this.metrics = metrics;
+        this.profiler = profiler;
+        this.remote = router.writer().getStrategies().getStrategy(RemoteStrategy.class).isPresent();
+        this.embeddedExecutor = remote ? null : newEmbeddedExecutor(embeddedPoolSize, embeddedQueueCapacity);
+
+        if (coalescingEnabled) {
+            log.info("Follow write coalescing enabled with max batch size: {} and max delay: {}",
+                    coalescingMaxBatchSize, coalescingMaxDelay);
+            this.followCoalescer = new FollowWriteCoalescer<>("follow", coalescingMaxBatchSize, coalescingMaxDelay,
+                    this::createEdgeBatch, meterRegistry);
+            this.unfollowCoalescer = new FollowWriteCoalescer<>("unfollow", coalescingMaxBatchSize,
+                    coalescingMaxDelay, this::removeEdgeBatch, meterRegistry);
+        } else {
+            this.followCoalescer = null;
+            this.unfollowCoalescer = null;
+        }
+    }
+
+    /*
+     * Writes the follows and unfollows still waiting for their batch, then waits
+     * up to `SHUTDOWN_TIMEOUT` for the embedded traversals already submitted,
+     * before the graph connections are closed.
+     */
+    @PreDestroy
+    public void close() {
+        if (followCoalescer != null) {
+            followCoalescer.close();
+            unfollowCoalescer.close();
+        }
+
+        if (embeddedExecutor != null) {
+            embeddedExecutor.shutdown();
+            try {
+                if (!embeddedExecutor.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                    log.warn("Embedded traversals still running on close: {}", embeddedExecutor.getActiveCount());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<UserNode>> findAll(String name, NameMatch nameMatch, String addressState,
+            Integer limit, Integer page) {
+        return metrics.recordAsync("findAll", () -> {
+            // Calculate the start and end indexes for pagination
+            int[] indexes = calculatePaginationIndexes(limit, page);
+
+            GraphTraversal<Vertex, Map<Object, Object>> vertexTraversal = findUsers(router.reader(), name, nameMatch,
+                    addressState).range(indexes[0], indexes[1]).elementMap();
+
+            return submit(vertexTraversal, Traversal::toList).thenApply(vertexMapList -> {
+                if (vertexMapList.isEmpty()) {
+                    throw new NotFoundException(USERS_NOT_FOUND_ERROR_MESSAGE);
+                }
+
+                return vertexMapList.stream().map(v -> mapVertexAndEdgeToGraphObject(v, UserNode.class)).toList();
+            });
+        });
+    }
+
+    /*
+     * Completes with an empty list past the last page, as the blocking
+     * repository.
+     */
+    @Override
+    public CompletableFuture<List<UserNode>> findAllAfter(String name, NameMatch nameMatch, String addressState,
+            Integer limit, String lastId) {
+        return metrics.recordAsync("findAllAfter", () -> {
+            GraphTraversal<Vertex, Map<Object, Object>> vertexTraversal = findUsersAfter(router.reader(), name,
+                    nameMatch, addressState, lastId).limit(limit).elementMap();
+
+            return submit(vertexTraversal, Traversal::toList).thenApply(vertexMapList -> vertexMapList.stream()
+                    .map(v -> mapVertexAndEdgeToGraphObject(v, UserNode.class)).toList());
+        });
+    }
+
+    @Override
+    public CompletableFuture<UserNode> findById(String id) {
+        return metrics.recordAsync("findById", () -> findNodeById(router.reader(), id));
+    }
+
+    @Override
+    public CompletableFuture<UserProfile> findProfileById(String id) {
+        return metrics.recordAsync("findProfileById",
+                () -> submit(findProfile(router.reader(), id), Traversal::tryNext).thenApply(profileMap -> mapProfile(
+                        profileMap.orElseThrow(() -> new NotFoundException(USER_NOT_FOUND_ERROR_MESSAGE + id)))));
+    }
+
+    @Override
+    public CompletableFuture<UserNode> insert(UserNode node) {
+        return metrics.recordAsync("insert", () -> {
+            GraphTraversal<Vertex, Map<Object, Object>> vertexTraversal = mergeUser(router.writer(), node).elementMap();
+
+            return submit(vertexTraversal, Traversal::next)
+                    .thenApply(vertexMap -> cacheNode(mapVertexAndEdgeToGraphObject(vertexMap, UserNode.class)))
+                    .thenApply(insertedNode -> {
+                        usernameFilter.put(insertedNode.getUsername());
+                        return insertedNode;
+                    }).exceptionally(e -> {
+                        throw translateConstraintFailure(e, USER_CONSTRAINT_ERROR_MESSAGE);
+                    });
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<String>> insertAll(List<UserNode> nodes) {
+        return metrics.recordAsync("insertAll", () -> {
+            List<Map<String, Object>> rows = nodes.stream().map(UserTraversals::userRow).toList();
+
+            return submit(mergeUsers(router.writer(), rows), Traversal::toList).thenApply(mergedRows -> {
+                List<String> createdIds = mapCreatedIds(rows, mergedRows);
+
+                for (int i = 0; i < nodes.size(); i++) {
+                    if (createdIds.get(i) != null) {
+                        usernameFilter.put(nodes.get(i).getUsername());
+                    }
+                }
+                return createdIds;
+            });
+        });
+    }
+
+    /*
+     * Validates the bulk follows about to be written, so it reads from the
+     * writer.
+     */
+    @Override
+    public CompletableFuture<Set<String>> findExistingIds(Collection<String> ids) {
+        return metrics.recordAsync("findExistingIds",
+                () -> submit(findUserIds(router.writer(), ids), Traversal::toList).thenApply(
+                        vertexIds -> vertexIds.stream().map(Object::toString).collect(Collectors.toSet())));
+    }
+
+    @Override
+    public CompletableFuture<UserNode> update(String id, UserNode node) {
+        return metrics.recordAsync("update", () -> {
+            GraphTraversalSource g = router.writer();
+
+            return retrieveVertexIdById(g, id)
+                    // Check if the username is not in use
+                    .thenCompose(vertexId -> checkUsernameConflict(g, vertexId, node.getUsername())
+                            .thenCompose(v -> updateProperties(g, vertexId, node, HttpMethod.PUT.name())))
+                    .thenApply(updatedNode -> {
+                        usernameFilter.put(node.getUsername());
+                        return updatedNode;
+                    });
+        });
+    }
+
+    @Override
+    public CompletableFuture<UserNode> patch(String id, Map<String, Object> requestMap) {
+        return metrics.recordAsync("patch", () -> {
+            GraphTraversalSource g = router.writer();
+            String username = (String) requestMap.get(USERNAME_PROPERTY);
+
+            return retrieveVertexIdById(g, id).thenCompose(vertexId -> {
+                // Check if the username is not in use
+                CompletableFuture<Void> usernameCheck = username != null
+                        ? checkUsernameConflict(g, vertexId, username)
+                        : CompletableFuture.completedFuture(null);
+
+                return usernameCheck
+                        .thenCompose(v -> updateProperties(g, vertexId, requestMap, HttpMethod.PATCH.name()));
+            }).thenApply(patchedNode -> {
+                usernameFilter.put(username);
+                return patchedNode;
+            });
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteById(String id) {
+        return metrics.recordAsync("deleteById", () -> {
+            GraphTraversalSource g = router.writer();
+
+            return retrieveVertexIdById(g, id).thenCompose(vertexId -> submitAndIterate(g.V(vertexId).drop()))
+                    .thenRun(() -> cache.invalidate(id));
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<FollowEdge>> findEdgesByUserIdAndDirection(String userId,
+            Direction vertexDirection) {
+        return metrics.recordAsync("findEdgesByUserIdAndDirection",
+                () -> submit(findEdgesAndAdjacentVertices(router.reader(), userId, vertexDirection), Traversal::tryNext)
+                        .thenApply(edgeMapList -> mapEdgesAndAdjacentVertices(edgeMapList.orElseThrow(
+                                () -> new NotFoundException(USER_NOT_FOUND_ERROR_MESSAGE + userId)), vertexDirection)));
+    }
+
+    /*
+     * With coalescing, the edge is merged along with the other follows received
+     * meanwhile, and the future completes as it would have on its own.
+     */
+    @Override
+    public CompletableFuture<FollowEdge> createEdge(String fromId, String toId, FollowEdge edge) {
+        return metrics.recordAsync("createEdge", () -> followCoalescer != null
+                ? followCoalescer.submit(fromId, toId, edge)
+                : mergeEdge(fromId, toId, edge));
+    }
+
+    @Override
+    public CompletableFuture<List<String>> createEdges(List<FollowEdge> edges) {
+        return metrics.recordAsync("createEdges", () -> {
+            List<Map<String, Object>> rows = edges.stream().map(UserTraversals::followEdgeRow).toList();
+
+            return submit(mergeFollowEdges(router.writer(), rows), Traversal::toList).thenApply(mergedRows -> {
+                List<String> createdIds = mapCreatedIds(rows, mergedRows);
+
+                for (int i = 0; i < edges.size(); i++) {
+                    if (createdIds.get(i) != null) {
+                        cache.invalidate(edges.get(i).getOut().getId(), edges.get(i).getIn().getId());
+                    }
+                }
+                return createdIds;
+            });
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> removeEdge(String fromId, String toId) {
+        return metrics.recordAsync("removeEdge", () -> unfollowCoalescer != null
+                ? unfollowCoalescer.submit(fromId, toId, null)
+                : dropEdge(fromId, toId));
+    }
+
+    private CompletableFuture<FollowEdge> mergeEdge(String fromId, String toId, FollowEdge edge) {
+        GraphTraversalSource g = router.writer();
+
+        // Both vertices are independent from each other, so retrieve them at the same
+        // time
+        CompletableFuture<UserNode> fromNodeFuture = findNodeById(g, fromId);
+        CompletableFuture<UserNode> toNodeFuture = findNodeById(g, toId);
+
+        return CompletableFuture.allOf(fromNodeFuture, toNodeFuture).thenCompose(v -> {
+            UserNode fromNode = fromNodeFuture.join();
+            UserNode toNode = toNodeFuture.join();
+
+            GraphTraversal<Edge, Map<Object, Object>> edgeTraversal = mergeFollowEdge(g, fromNode.getId(),
+                    toNode.getId(), edge).elementMap();
+
+            return submit(edgeTraversal, Traversal::next).thenApply(edgeMap -> {
+                // Map edge properties
+                FollowEdge followEdge = mapVertexAndEdgeToGraphObject(edgeMap, FollowEdge.class);
+
+                // Map IN and OUT edge vertices
+                followEdge.setIn(toNode);
+                followEdge.setOut(fromNode);
+
+                cache.invalidate(fromId, toId);
+                return followEdge;
+            }).exceptionally(e -> {
+                throw translateConstraintFailure(e, EDGE_CONSTRAINT_ERROR_MESSAGE);
+            });
+        });
+    }
+
+    private CompletableFuture<Void> dropEdge(String fromId, String toId) {
+        GraphTraversalSource g = router.writer();
+        CompletableFuture<UserNode> fromNodeFuture = findNodeById(g, fromId);
+        CompletableFuture<UserNode> toNodeFuture = findNodeById(g, toId);
+
+        return CompletableFuture.allOf(fromNodeFuture, toNodeFuture).thenCompose(v -> {
+            String fromVertexId = fromNodeFuture.join().getId();
+            String toVertexId = toNodeFuture.join().getId();
+
+            // Check if the edge exists
+            return submit(findFollowEdge(g, fromVertexId, toVertexId), Traversal::hasNext)
+                    .thenCompose(edgeExists -> {
+                        if (Boolean.FALSE.equals(edgeExists)) {
+                            throw new ConflictException(
+                                    String.format(NO_EXISTING_EDGE_ERROR_MESSAGE, fromId, toId));
+                        }
+
+                        return submitAndIterate(findFollowEdge(g, fromVertexId, toVertexId).drop())
+                                .thenRun(() -> cache.invalidate(fromId, toId));
+                    });
+        });
+    }
+
+    /*
+     * Coalesced `mergeEdge()`: the users of the whole batch are resolved with one
+     * traversal and the edges merged with another. A follow repeated within the
+     * batch conflicts with the first one, as it would have right after it.
+     */
+    private CompletableFuture<Void> createEdgeBatch(List<FollowWriteCoalescer.Command<FollowEdge>> commands) {
+        return metrics.recordAsync("createEdgeBatch", () -> {
+            GraphTraversalSource g = router.writer();
+
+            return findNodesByIds(g, commandUserIds(commands)).thenCompose(nodes -> {
+                List<FollowWriteCoalescer.Command<FollowEdge>> mergedCommands = new ArrayList<>();
+                List<FollowEdge> edges = new ArrayList<>();
+                Set<List<String>> pairs = new HashSet<>();
+
+                for (FollowWriteCoalescer.Command<FollowEdge> command : commands) {
+                    if (failIfUserNotFound(command, nodes)) {
+                        continue;
+                    }
+
+                    UserNode fromNode = nodes.get(command.fromId());
+                    UserNode toNode = nodes.get(command.toId());
+                    if (!pairs.add(List.of(fromNode.getId(), toNode.getId()))) {
+                        command.result().completeExceptionally(new ConflictException(
+                                String.format(EXISTING_EDGE_ERROR_MESSAGE, fromNode.getId(), toNode.getId())));
+                        continue;
+                    }
+
+                    mergedCommands.add(command);
+                    edges.add(FollowEdge.builder().status(command.edge().getStatus())
+                            .startPeriod(command.edge().getStartPeriod()).endPeriod(command.edge().getEndPeriod())
+                            .in(toNode).out(fromNode).build());
+                }
+
+                if (edges.isEmpty()) {
+                    return CompletableFuture.completedFuture(null);
+                }
+
+                List<Map<String, Object>> rows = edges.stream().map(UserTraversals::followEdgeRow).toList();
+                return submit(mergeFollowEdges(g, rows), Traversal::toList).thenAccept(mergedRows -> {
+                    List<String> createdIds = mapCreatedIds(rows, mergedRows);
+
+                    for (int i = 0; i < edges.size(); i++) {
+                        FollowWriteCoalescer.Command<FollowEdge> command = mergedCommands.get(i);
+                        FollowEdge edge = edges.get(i);
+
+                        if (createdIds.get(i) == null) {
+                            command.result().completeExceptionally(new ConflictException(String.format(
+                                    EXISTING_EDGE_ERROR_MESSAGE, edge.getOut().getId(), edge.getIn().getId())));
+                        } else {
+                            edge.setId(createdIds.get(i));
+                            cache.invalidate(command.fromId(), command.toId());
+                            command.result().complete(edge);
+                        }
+                    }
+                });
+            });
+        });
+    }
+
+    /*
+     * Coalesced `dropEdge()`: the users of the whole batch are resolved with one
+     * traversal and the edges dropped with another. An unfollow repeated within
+     * the batch finds no edge, as it would have right after the first one.
+     */
+    private CompletableFuture<Void> removeEdgeBatch(List<FollowWriteCoalescer.Command<Void>> commands) {
+        return metrics.recordAsync("removeEdgeBatch", () -> {
+            GraphTraversalSource g = router.writer();
+
+            return findNodesByIds(g, commandUserIds(commands)).thenCompose(nodes -> {
+                List<FollowWriteCoalescer.Command<Void>> droppedCommands = new ArrayList<>();
+                List<Object> fromVertexIds = new ArrayList<>();
+                List<Object> toVertexIds = new ArrayList<>();
+                Set<List<String>> pairs = new HashSet<>();
+
+                for (FollowWriteCoalescer.Command<Void> command : commands) {
+                    if (failIfUserNotFound(command, nodes)) {
+                        continue;
+                    }
+
+                    String fromVertexId = nodes.get(command.fromId()).getId();
+                    String toVertexId = nodes.get(command.toId()).getId();
+                    if (!pairs.add(List.of(fromVertexId, toVertexId))) {
+                        command.result().completeExceptionally(new ConflictException(
+                                String.format(NO_EXISTING_EDGE_ERROR_MESSAGE, command.fromId(), command.toId())));
+                        continue;
+                    }
+
+                    droppedCommands.add(command);
+                    fromVertexIds.add(fromVertexId);
+                    toVertexIds.add(toVertexId);
+                }
+
+                if (droppedCommands.isEmpty()) {
+                    return CompletableFuture.completedFuture(null);
+                }
+
+                return submit(dropFollowEdges(g, fromVertexIds, toVertexIds), Traversal::toList)
+                        .thenAccept(droppedIndexes -> {
+                            Set<Integer> dropped = new HashSet<>(droppedIndexes);
+
+                            for (int i = 0; i < droppedCommands.size(); i++) {
+                                FollowWriteCoalescer.Command<Void> command = droppedCommands.get(i);
+
+                                if (dropped.contains(i)) {
+                                    cache.invalidate(command.fromId(), command.toId());
+                                    command.result().complete(null);
+                                } else {
+                                    command.result().completeExceptionally(new ConflictException(String
+                                            .format(NO_EXISTING_EDGE_ERROR_MESSAGE, command.fromId(), command.toId())));
+                                }
+                            }
+                        });
+            });
+        });
+    }
+
+    private static Set<String> commandUserIds(List<? extends FollowWriteCoalescer.Command<?>> commands) {
+        Set<String> userIds = new HashSet<>();
+        commands.forEach(command -> {
+            userIds.add(command.fromId());
+            userIds.add(command.toId());
+        });
+        return userIds;
+    }
+
+    /*
+     * The from user is reported first when both are missing.
+     */
+    private static boolean failIfUserNotFound(FollowWriteCoalescer.Command<?> command, Map<String, UserNode> nodes) {
+        String missingId = !nodes.containsKey(command.fromId())
+                ? command.fromId()
+                : !nodes.containsKey(command.toId()) ? command.toId() : null;
+
+        if (missingId == null) {
+            return false;
+        }
+
+        command.result().completeExceptionally(new NotFoundException(USER_NOT_FOUND_ERROR_MESSAGE + missingId));
+        return true;
+    }
+
+    private <S, E, R> CompletableFuture<R> submit(Traversal<S, E> traversal,
+            Function<Traversal<S, E>, R> traversalFunction) {
+        if (remote) {
+            return profiler.promise(traversal, traversalFunction);
+        }
+
+        try {
+            return CompletableFuture.supplyAsync(() -> profiler.execute(traversal, traversalFunction),
+                    embeddedExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /*
+     * The threads are daemon ones, like the coalescer schedulers, and the queue is
+     * bounded so that a burst of requests is rejected rather than held in memory.
+     */
+    private static ThreadPoolExecutor newEmbeddedExecutor(int poolSize, int queueCapacity) {
+        log.info("Embedded traversal executor created with pool size: {} and queue capacity: {}", poolSize,
+                queueCapacity);
+        AtomicInteger threadCount = new AtomicInteger();
+
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "embedded-traversal-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    private CompletableFuture<Void> submitAndIterate(Traversal<?, ?> traversal) {
+        return submit(traversal, t -> {
+            t.iterate();
+            return null;
+        });
+    }
+
+    private <T> CompletableFuture<UserNode> updateProperties(GraphTraversalSource g, Object vertexId, T graphObject,
+            String op) {
+        GraphTraversal<Vertex, Vertex> gtVertex = g.V(vertexId);
+        appendVertexAndEdgeProperties(gtVertex, graphObject, op);
+
+        return submitAndIterate(gtVertex).thenCompose(v -> {
+            GraphTraversal<Vertex, Map<Object, Object>> vertexTraversal = g.V(vertexId).elementMap();
+            return submit(vertexTraversal, Traversal::next);
+        }).thenApply(vertexMap -> cacheNode(mapVertexAndEdgeToGraphObject(vertexMap, UserNode.class)));
+    }
+
+    /*
+     * Used by the edge operations as well, so that their node lookups are not
+     * timed as findById calls. Cache misses are loaded from the writer, as in the
+     * blocking repository.
+     */
+    private CompletableFuture<UserNode> findNodeById(GraphTraversalSource g, String id) {
+        if (!cache.isEnabled()) {
+            return retrieveVertexPropertiesById(g, id)
+                    .thenApply(vertexMap -> mapVertexAndEdgeToGraphObject(vertexMap, UserNode.class));
+        }
+
+        UserNode cachedNode = cache.getIfPresent(id);
+        if (cachedNode != null) {
+            return CompletableFuture.completedFuture(cachedNode);
+        }
+
+        return retrieveVertexPropertiesById(router.writer(), id)
+                .thenApply(vertexMap -> cacheNode(mapVertexAndEdgeToGraphObject(vertexMap, UserNode.class)));
+    }
+
+    /*
+     * Batched `findNodeById()`: the nodes missing from the cache are retrieved
+     * with a single traversal. Unknown ids are absent from the returned map.
+     */
+    private CompletableFuture<Map<String, UserNode>> findNodesByIds(GraphTraversalSource g, Set<String> ids) {
+        Map<String, UserNode> nodes = new HashMap<>();
+        Set<String> missingIds = new HashSet<>();
+        ids.forEach(id -> {
+            UserNode cachedNode = cache.getIfPresent(id);
+            if (cachedNode != null) {
+                nodes.put(id, cachedNode);
+            } else {
+                missingIds.add(id);
+            }
+        });
+
+        if (missingIds.isEmpty()) {
+            return CompletableFuture.completedFuture(nodes);
+        }
+
+        return submit(findUsersByIds(g, missingIds), Traversal::toList).thenApply(vertexMapList -> {
+            vertexMapList.forEach(vertexMap -> {
+                UserNode node = cacheNode(mapVertexAndEdgeToGraphObject(vertexMap, UserNode.class));
+                nodes.put(node.getId(), node);
+            });
+            return nodes;
+        });
+    }
+
+    private UserNode cacheNode(UserNode node) {
+        cache.put(node);
+        return node;
+    }
+
+    private CompletableFuture<Map<Object, Object>> retrieveVertexPropertiesById(GraphTraversalSource g, String id) {
+        GraphTraversal<Vertex, Map<Object, Object>> vertexTraversal = findUser(g, id).elementMap();
+        return submit(vertexTraversal, Traversal::tryNext).thenApply(
+                vertexMap -> vertexMap.orElseThrow(() -> new NotFoundException(USER_NOT_FOUND_ERROR_MESSAGE + id)));
+    }
+
+    private CompletableFuture<Object> retrieveVertexIdById(GraphTraversalSource g, String id) {
+        return submit(findUser(g, id).id(), Traversal::tryNext).thenApply(
+                vertexId -> vertexId.orElseThrow(() -> new NotFoundException(USER_NOT_FOUND_ERROR_MESSAGE + id)));
+    }
+
+    private CompletableFuture<Void> checkUsernameConflict(GraphTraversalSource g, Object vertexId, String username) {
+        // A username unknown to the filter is definitely not in use
+        if (!usernameFilter.mightContain(username)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return submit(findUsernameConflict(g, vertexId, username), Traversal::hasNext).thenAccept(conflict -> {
+            if (Boolean.TRUE.equals(conflict)) {
+                throw new ConflictException(USER_ALREADY_EXISTS_ERROR_MESSAGE + username);
+            }
+        });
+    }
+
+    /*
+     * Mirrors the blocking repository: a fail() step surfaces as a
+     * ResponseException on Neptune and as a FailStep.FailException on TinkerGraph,
+     * both translated to a ConflictException. Any other failure is propagated
+     * unchanged.
+     */
+    private static RuntimeException translateConstraintFailure(Throwable throwable, String constraintErrorMessage) {
+        Throwable cause = throwable;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+
+        if (cause instanceof ResponseException responseException) {
+            try {
+                Map<String, Object> errorProperties = objectMapper.readValue(responseException.getMessage(),
+                        new TypeReference<>() {
+                        });
+                log.error(constraintErrorMessage);
+                return new ConflictException((String) errorProperties.get("message"));
+            } catch (JsonProcessingException jsonProcessingException) {
+                log.error(JSON_PROCESSING_ERROR_MESSAGE, jsonProcessingException);
+            }
+        } else if (cause instanceof FailStep.FailException failException) {
+            log.error(constraintErrorMessage);
+            return new ConflictException(failException.getMessage());
+        }
+
+        log.error(GREMLIN_QUERY_ERROR_MESSAGE);
+        return cause instanceof RuntimeException runtimeException ? runtimeException : new CompletionException(cause);
+    }
+}
@@ -0,0 +1,170 @@
+package com.erebelo.springneptunedemo.repository.impl;
+
+import com.erebelo.springneptunedemo.domain.graph.edge.FollowEdge;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Micro-batching stage of the follow writes. The commands submitted
+ * concurrently are handed together to the batch writer once `maxBatchSize` of
+ * them are pending, or `maxDelay` after the first one otherwise, so that a
+ * burst of follows is written with one traversal instead of one per request.
+ * <p>
+ * The batch writer completes the result of every command of the batch, the
+ * same way the command would have completed on its own. If the batch fails as
+ * a whole, every command still pending fails with its error.
+ * <p>
+ * Closing it writes the pending commands right away and stops its scheduler;
+ * the commands submitted afterwards are rejected.
+ */
+@Slf4j
+public class FollowWriteCoalescer<R> implements AutoCloseable {
+
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(10);
+    private static final String CLOSED_ERROR_MESSAGE = "Follow write coalescer is closed";
+
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final Function<List<Command<R>>, CompletableFuture<Void>> batchWriter;
+    private final DistributionSummary batchSizes;
+    private final ScheduledExecutorService scheduler;
+    private final Object lock = new Object();
+
+    private List<Command<R>> pendingCommands;
+    private ScheduledFuture<?> scheduledFlush;
+    private boolean closed;
+
+    public FollowWriteCoalescer(String operation, int maxBatchSize, Duration maxDelay,
+            Function<List<Command<R>>, CompletableFuture<Void>> batchWriter, MeterRegistry meterRegistry) {
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.batchWriter = batchWriter;
+        this.pendingCommands = new ArrayList<>(maxBatchSize);
+        this.batchSizes = DistributionSummary.builder("users.follow.coalescer.batch.size").tag("operation", operation)
+                .description("Follow commands written per traversal").register(meterRegistry);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "follow-coalescer-" + operation);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public CompletableFuture<R> submit(String fromId, String toId, FollowEdge edge) {
+        Command<R> command = new Command<>(fromId, toId, edge, new CompletableFuture<>());
+
+        List<Command<R>> batch = null;
+        synchronized (lock) {
+            if (closed) {
+                command.result().completeExceptionally(new RejectedExecutionException(CLOSED_ERROR_MESSAGE));
+                return command.result();
+            }
+
+            pendingCommands.add(command);
+            if (pendingCommands.size() >= maxBatchSize) {
+                batch = takePendingCommands();
+            } else if (pendingCommands.size() == 1) {
+                scheduledFlush = scheduler.schedule(this::flush, maxDelayNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        // A full batch is written from the thread that completed it
+        if (batch != null) {
+            write(batch);
+        }
+        return command.result();
+    }
+
+    /*
+     * Waits up to `CLOSE_TIMEOUT` for the pending commands to be written. A flush
+     * already running on the scheduler completes on its own.
+     */
+    @Override
+    public void close() {
+        List<Command<R>> batch;
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+            batch = takePendingCommands();
+        }
+        scheduler.shutdown();
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        log.info("Writing {} pending follow commands before closing", batch.size());
+        write(batch);
+        try {
+            CompletableFuture.allOf(batch.stream().map(Command::result).toArray(CompletableFuture[]::new))
+                    .get(CLOSE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Failed commands were completed by failBatch(), late ones complete once written
+            log.warn("Pending follow commands not written on close: {}", e.getMessage());
+        }
+    }
+
+    private void flush() {
+        List<Command<R>> batch;
+        synchronized (lock) {
+            if (pendingCommands.isEmpty()) {
+                return;
+            }
+            batch = takePendingCommands();
+        }
+        write(batch);
+    }
+
+    private List<Command<R>> takePendingCommands() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+
+        List<Command<R>> batch = pendingCommands;
+        pendingCommands = new ArrayList<>(maxBatchSize);
+        return batch;
+    }
+
+    private void write(List<Command<R>> batch) {
+        batchSizes.record(batch.size());
+
+        try {
+            batchWriter.apply(batch).whenComplete((v, e) -> {
+                if (e != null) {
+                    failBatch(batch, e);
+                }
+            });
+        } catch (RuntimeException e) {
+            failBatch(batch, e);
+        }
+    }
+
+    private void failBatch(List<Command<R>> batch, Throwable throwable) {
+        log.error("Coalesced follow write of {} commands failed", batch.size(), throwable);
+        batch.forEach(command -> command.result().completeExceptionally(throwable));
+    }
+
+    /*
+     * The edge is only set for follows.
+     */
+    public record Command<R>(String fromId, String toId, FollowEdge edge, CompletableFuture<R> result) {
+    }
+}
@@ -0,0 +1,125 @@
+package com.erebelo.springneptunedemo.repository.impl;
+
+import com.erebelo.springneptunedemo.domain.graph.UserProfile;
+import com.erebelo.springneptunedemo.domain.graph.edge.FollowEdge;
+import com.erebelo.springneptunedemo.domain.graph.node.UserNode;
+import com.erebelo.springneptunedemo.domain.request.NameMatch;
+import com.erebelo.springneptunedemo.repository.AsyncUserRepository;
+import com.erebelo.springneptunedemo.repository.ReactiveUserRepository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Reactor view of `AsyncUserRepositoryImpl`, whose traversals are submitted
+ * through the driver with `promise()`. Nothing is submitted until the returned
+ * publisher is subscribed, and cancelling the subscription cancels the
+ * traversal future.
+ * <p>
+ * The Gremlin driver blocks the submitting thread while it waits for a pooled
+ * connection (up to `aws.neptune.driver.max-wait-for-connection`), so the
+ * traversals are submitted from the bounded elastic scheduler rather than from
+ * the event loop. Once submitted, no thread is held until Neptune responds.
+ * <p>
+ * Errors are the NotFoundException and ConflictException of the other
+ * repositories, unwrapped from their CompletionException.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveUserRepositoryImpl implements ReactiveUserRepository {
+
+    private final AsyncUserRepository asyncRepository;
+
+    @Override
+    public Flux<UserNode> findAll(String name, NameMatch nameMatch, String addressState, Integer limit,
+            Integer page) {
+        return defer(() -> asyncRepository.findAll(name, nameMatch, addressState, limit, page))
+                .flatMapIterable(Function.identity());
+    }
+
+    @Override
+    public Flux<UserNode> findAllAfter(String name, NameMatch nameMatch, String addressState, Integer limit,
+            String lastId) {
+        return defer(() -> asyncRepository.findAllAfter(name, nameMatch, addressState, limit, lastId))
+                .flatMapIterable(Function.identity());
+    }
+
+    @Override
+    public Mono<UserNode> findById(String id) {
+        return defer(() -> asyncRepository.findById(id));
+    }
+
+    @Override
+    public Mono<UserProfile> findProfileById(String id) {
+        return defer(() -> asyncRepository.findProfileById(id));
+    }
+
+    @Override
+    public Mono<UserNode> insert(UserNode node) {
+        return defer(() -> asyncRepository.insert(node));
+    }
+
+    @Override
+    public Mono<List<String>> insertAll(List<UserNode> nodes) {
+        return defer(() -> asyncRepository.insertAll(nodes));
+    }
+
+    @Override
+    public Mono<Set<String>> findExistingIds(Collection<String> ids) {
+        return defer(() -> asyncRepository.findExistingIds(ids));
+    }
+
+    @Override
+    public Mono<UserNode> update(String id, UserNode node) {
+        return defer(() -> asyncRepository.update(id, node));
+    }
+
+    @Override
+    public Mono<UserNode> patch(String id, Map<String, Object> requestMap) {
+        return defer(() -> asyncRepository.patch(id, requestMap));
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return defer(() -> asyncRepository.deleteById(id));
+    }
+
+    @Override
+    public Flux<FollowEdge> findEdgesByUserIdAndDirection(String userId, Direction direction) {
+        return defer(() -> asyncRepository.findEdgesByUserIdAndDirection(userId, direction))
+                .flatMapIterable(Function.identity());
+    }
+
+    @Override
+    public Mono<FollowEdge> createEdge(String fromId, String toId, FollowEdge edge) {
+        return defer(() -> asyncRepository.createEdge(fromId, toId, edge));
+    }
+
+    @Override
+    public Mono<List<String>> createEdges(List<FollowEdge> edges) {
+        return defer(() -> asyncRepository.createEdges(edges));
+    }
+
+    @Override
+    public Mono<Void> removeEdge(String fromId, String toId) {
+        return defer(() -> asyncRepository.removeEdge(fromId, toId));
+    }
+
+    /*
+     * Mono.fromFuture() unwraps the CompletionException of a failed future, so
+     * the global exception handler keeps mapping the original exception.
+     */
+    private static <T> Mono<T> defer(Supplier<CompletableFuture<T>> futureSupplier) {
+        return Mono.fromFuture(futureSupplier).subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -1,289 +1,415 @@
 package com.erebelo.springneptunedemo.repository.impl;
 
-import static com.erebelo.springneptunedemo.constant.UserConstant.ADDRESS_STATE_PROPERTY;
 import static com.erebelo.springneptunedemo.constant.UserConstant.EDGE_CONSTRAINT_ERROR_MESSAGE;
-import static com.erebelo.springneptunedemo.constant.UserConstant.EXISTING_EDGE_ERROR_MESSAGE;
-import static com.erebelo.springneptunedemo.constant.UserConstant.FOLLOW_EDGE_LABEL;
 import static com.erebelo.springneptunedemo.constant.UserConstant.GREMLIN_QUERY_ERROR_MESSAGE;
 import static com.erebelo.springneptunedemo.constant.UserConstant.JSON_PROCESSING_ERROR_MESSAGE;
-import static com.erebelo.springneptunedemo.constant.UserConstant.NAME_PROPERTY;
 import static com.erebelo.springneptunedemo.constant.UserConstant.NO_EXISTING_EDGE_ERROR_MESSAGE;
-import static com.erebelo.springneptunedemo.constant.UserConstant.REGEX_CASE_INSENSITIVE;
-import static com.erebelo.springneptunedemo.constant.UserConstant.REGEX_LIKE_CASE_INSENSITIVE;
 import static com.erebelo.springneptunedemo.constant.UserConstant.USERNAME_PROPERTY;
 import static com.erebelo.springneptunedemo.constant.UserConstant.USERS_NOT_FOUND_ERROR_MESSAGE;
 import static com.erebelo.springneptunedemo.constant.UserConstant.USER_ALREADY_EXISTS_ERROR_MESSAGE;
 import static com.erebelo.springneptunedemo.constant.UserConstant.USER_CONSTRAINT_ERROR_MESSAGE;
 import static com.erebelo.springneptunedemo.constant.UserConstant.USER_NOT_FOUND_ERROR_MESSAGE;
-import static com.erebelo.springneptunedemo.constant.UserConstant.USER_VERTEX_LABEL;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.findEdgesAndAdjacentVertices;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.findFollowEdge;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.findProfile;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.findProfileEdges;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.findUser;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.findUserIds;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.findUsernameConflict;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.findUsers;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.findUsersAfter;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.findUsersByIds;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.mapCreatedIds;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.mapEdgesAndAdjacentVertices;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.mapProfile;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.mergeFollowEdge;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.mergeFollowEdges;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.mergeUser;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.mergeUsers;
+import static com.erebelo.springneptunedemo.repository.impl.UserTraversals.profileUserIds;
 import static com.erebelo.springneptunedemo.util.GraphUtil.mapVertexAndEdgeToGraphObject;
 import static com.erebelo.springneptunedemo.util.GraphUtil.updateVertexAndEdgeProperties;
 import static com.erebelo.springneptunedemo.util.ObjectMapperUtil.objectMapper;
 import static com.erebelo.springneptunedemo.util.QueryUtil.calculatePaginationIndexes;
-import static com.erebelo.springneptunedemo.util.QueryUtil.isValidProperty;
-import static org.apache.tinkerpop.gremlin.process.traversal.Merge.onCreate;
-import static org.apache.tinkerpop.gremlin.process.traversal.Merge.onMatch;
-import static org.apache.tinkerpop.gremlin.process.traversal.TextP.regex;
-import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.fail;
 
+import com.erebelo.springneptunedemo.cache.UserNodeCache;
+import com.erebelo.springneptunedemo.cache.UsernameBloomFilter;
+import com.erebelo.springneptunedemo.config.GraphTraversalRouter;
+import com.erebelo.springneptunedemo.domain.graph.UserProfile;
 import com.erebelo.springneptunedemo.domain.graph.edge.FollowEdge;
 import com.erebelo.springneptunedemo.domain.graph.node.UserNode;
+import com.erebelo.springneptunedemo.domain.request.NameMatch;
 import com.erebelo.springneptunedemo.exception.model.ConflictException;
 import com.erebelo.springneptunedemo.exception.model.NotFoundException;
+import com.erebelo.springneptunedemo.profiling.TraversalProfiler;
 import com.erebelo.springneptunedemo.repository.UserRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Set;
 import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.tinkerpop.gremlin.driver.exception.ResponseException;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
-import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.FailStep;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
-import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Repository;
 
+/**
+ * Blocking user repository. The read-only lookups are sent to the Neptune read
+ * replicas, while the writes, and the reads they depend on, are sent to the
+ * writer (see GraphTraversalRouter).
+ */
 @Slf4j
 @Repository
 @RequiredArgsConstructor
 public class UserRepositoryImpl implements UserRepository {
 
-    private final GraphTraversalSource g;
+    private final GraphTraversalRouter router;
+    private final UserNodeCache cache;
+    private final UsernameBloomFilter usernameFilter;
+    private final UserRepositoryMetrics metrics;
+    private final TraversalProfiler profiler;
 
     @Override
-    public List<UserNode> findAll(String name, String addressState, Integer limit, Integer page) {
-        GraphTraversal<Vertex, Vertex> gtVertex = g.V().hasLabel(USER_VERTEX_LABEL);
+    public List<UserNode> findAll(String name, NameMatch nameMatch, String addressState, Integer limit,
+            Integer page) {
+        return metrics.record("findAll", () -> {
+            GraphTraversal<Vertex, Vertex> gtVertex = findUsers(router.reader(), name, nameMatch, addressState);
 
-        // Apply a case-insensitive regex filter on 'name' property, which mimics a LIKE
-        // query
-        if (isValidProperty(name)) {
-            gtVertex.has(NAME_PROPERTY, regex(REGEX_LIKE_CASE_INSENSITIVE + name));
-        }
+            // Calculate the start and end indexes for pagination
+            int[] indexes = calculatePaginationIndexes(limit, page);
 
-        // Apply a case-insensitive regex filter on 'address_state' property
-        if (isValidProperty(addressState)) {
-            gtVertex.has(ADDRESS_STATE_PROPERTY, regex(String.format(REGEX_CASE_INSENSITIVE, addressState)));
-        }
+            List<Map<Object, Object>> vertexMapList = profiler
+                    .execute(gtVertex.range(indexes[0], indexes[1]).elementMap(), Traversal::toList);
 
-        // Calculate the start and end indexes for pagination
-        int[] indexes = calculatePaginationIndexes(limit, page);
+            if (vertexMapList.isEmpty()) {
+                throw new NotFoundException(USERS_NOT_FOUND_ERROR_MESSAGE);
+            }
 
-        List<Map<Object, Object>> vertexMapList = gtVertex.range(indexes[0], indexes[1]).elementMap().toList();
+            return vertexMapList.stream().map(v -> mapVertexAndEdgeToGraphObject(v, UserNode.class)).toList();
+        });
+    }
 
-        if (vertexMapList.isEmpty()) {
-            throw new NotFoundException(USERS_NOT_FOUND_ERROR_MESSAGE);
-        }
+    /*
+     * An empty page is not an error: a full last page is followed by a cursor
+     * that leads to no more users.
+     */
+    @Override
+    public List<UserNode> findAllAfter(String name, NameMatch nameMatch, String addressState, Integer limit,
+            String lastId) {
+        return metrics.record("findAllAfter", () -> {
+            GraphTraversal<Vertex, Vertex> gtVertex = findUsersAfter(router.reader(), name, nameMatch, addressState,
+                    lastId);
 
-        return vertexMapList.stream().map(v -> mapVertexAndEdgeToGraphObject(v, UserNode.class)).toList();
+            List<Map<Object, Object>> vertexMapList = profiler.execute(gtVertex.limit(limit).elementMap(),
+                    Traversal::toList);
+
+            return vertexMapList.stream().map(v -> mapVertexAndEdgeToGraphObject(v, UserNode.class)).toList();
+        });
     }
 
     @Override
     public UserNode findById(String id) {
-        Map<Object, Object> vertexMap = retrieveVertexPropertiesById(id);
-        return mapVertexAndEdgeToGraphObject(vertexMap, UserNode.class);
+        return metrics.record("findById", () -> findNodeById(router.reader(), id));
     }
 
+    /*
+     * With the cache enabled, only the edges are read from the graph and the
+     * users they connect are resolved from the cache, the missing ones being
+     * loaded from the writer in a single traversal.
+     */
     @Override
-    public List<FollowEdge> findEdgesByUserIdAndDirection(String userId, Direction vertexDirection) {
-        Vertex vertex = retrieveVertexById(userId);
-
-        // From the vertex perspective, retrieve the edge whose vertex direction is
-        // IN (from vertex/followers) or OUT (to vertex/following)
-        List<Map<Object, Object>> edgeMapList = vertexDirection == Direction.IN
-                ? g.V(vertex.id()).inE(FOLLOW_EDGE_LABEL).elementMap().toList()
-                : g.V(vertex.id()).outE(FOLLOW_EDGE_LABEL).elementMap().toList();
-
-        return edgeMapList.stream().map(rel -> {
-            // Map edge properties
-            FollowEdge followEdge = mapVertexAndEdgeToGraphObject(rel, FollowEdge.class);
-
-            // From edge perspective, retrieve the vertex whose edge direction is
-            // IN (to vertex) or OUT (from vertex)
-            if (vertexDirection == Direction.IN) {
-                followEdge.setOut(this.findById(((Map<?, ?>) rel.get(Direction.OUT)).get(T.id).toString()));
-            } else {
-                followEdge.setIn(this.findById(((Map<?, ?>) rel.get(Direction.IN)).get(T.id).toString()));
+    public UserProfile findProfileById(String id) {
+        return metrics.record("findProfileById", () -> {
+            GraphTraversalSource g = router.reader();
+            if (!cache.isEnabled()) {
+                Map<String, Object> profileMap = profiler.execute(findProfile(g, id), Traversal::tryNext)
+                        .orElseThrow(() -> new NotFoundException(USER_NOT_FOUND_ERROR_MESSAGE + id));
+                return mapProfile(profileMap);
             }
 
-            return followEdge;
-        }).toList();
+            Map<String, Object> profileEdgesMap = profiler.execute(findProfileEdges(g, id), Traversal::tryNext)
+                    .orElseThrow(() -> new NotFoundException(USER_NOT_FOUND_ERROR_MESSAGE + id));
+            Map<String, UserNode> nodes = cache.getAll(profileUserIds(id, profileEdgesMap),
+                    ids -> retrieveNodesByIds(router.writer(), ids));
+
+            UserNode node = nodes.get(id);
+            if (node == null) {
+                throw new NotFoundException(USER_NOT_FOUND_ERROR_MESSAGE + id);
+            }
+            return mapProfile(node, profileEdgesMap, nodes);
+        });
+    }
+
+    @Override
+    public List<FollowEdge> findEdgesByUserIdAndDirection(String userId, Direction vertexDirection) {
+        return metrics.record("findEdgesByUserIdAndDirection", () -> {
+            List<Map<String, Object>> edgeMapList = profiler
+                    .execute(findEdgesAndAdjacentVertices(router.reader(), userId, vertexDirection), Traversal::tryNext)
+                    .orElseThrow(() -> new NotFoundException(USER_NOT_FOUND_ERROR_MESSAGE + userId));
+            return mapEdgesAndAdjacentVertices(edgeMapList, vertexDirection);
+        });
     }
 
-    /*
-     * Use `mergeV()` to enforce the constraint on properties with better execution
-     * performance. For insertion without constraints, consider using:
-     * `g.addV(USER_VERTEX_LABEL).property(T.id, UUID.randomUUID().toString())`.
-     */
     @Override
     public UserNode insert(UserNode node) {
-        try {
-            GraphTraversal<Vertex, Vertex> gtVertex = g
-                    .mergeV(Map.of(T.label, USER_VERTEX_LABEL, USERNAME_PROPERTY, node.getUsername()))
-                    .option(onCreate, Map.of(T.label, USER_VERTEX_LABEL, T.id, UUID.randomUUID().toString()))
-                    .option(onMatch, fail(USER_ALREADY_EXISTS_ERROR_MESSAGE + node.getUsername()));
-            updateVertexAndEdgeProperties(gtVertex, node, HttpMethod.POST.name());
-
-            GraphTraversal<Vertex, Map<Object, Object>> vertexTraversal = gtVertex.elementMap();
-            return mapVertexAndEdgeToGraphObject(vertexTraversal.next(), UserNode.class);
-        } catch (CompletionException e) {
-            // AWS Neptune processes Gremlin queries asynchronously,
-            // often resulting in CompletionException when fail() is invoked
-            if (e.getCause() instanceof ResponseException responseException) {
-                try {
-                    Map<String, Object> errorProperties = objectMapper.readValue(responseException.getMessage(),
-                            new TypeReference<>() {
-                            });
-                    log.error(USER_CONSTRAINT_ERROR_MESSAGE);
-                    throw new ConflictException((String) errorProperties.get("message"));
-                } catch (JsonProcessingException jsonProcessingException) {
-                    log.error(JSON_PROCESSING_ERROR_MESSAGE, jsonProcessingException);
+        return metrics.record("insert", () -> {
+            try {
+                GraphTraversal<Vertex, Vertex> gtVertex = mergeUser(router.writer(), node);
+
+                GraphTraversal<Vertex, Map<Object, Object>> vertexTraversal = gtVertex.elementMap();
+                UserNode insertedNode = mapVertexAndEdgeToGraphObject(
+                        profiler.execute(vertexTraversal, Traversal::next), UserNode.class);
+
+                cache.put(insertedNode);
+                usernameFilter.put(insertedNode.getUsername());
+                return insertedNode;
+            } catch (CompletionException e) {
+                // AWS Neptune processes Gremlin queries asynchronously,
+                // often resulting in CompletionException when fail() is invoked
+                if (e.getCause() instanceof ResponseException responseException) {
+                    try {
+                        Map<String, Object> errorProperties = objectMapper.readValue(responseException.getMessage(),
+                                new TypeReference<>() {
+                                });
+                        log.error(USER_CONSTRAINT_ERROR_MESSAGE);
+                        throw new ConflictException((String) errorProperties.get("message"));
+                    } catch (JsonProcessingException jsonProcessingException) {
+                        log.error(JSON_PROCESSING_ERROR_MESSAGE, jsonProcessingException);
+                    }
                 }
+                log.error(GREMLIN_QUERY_ERROR_MESSAGE);
+                throw e;
+            } catch (FailStep.FailException e) {
+                // TinkerGraph processes Gremlin queries synchronously locally,
+                // resulting in FailStep.FailException when fail() is invoked
+                log.error(USER_CONSTRAINT_ERROR_MESSAGE);
+                throw new ConflictException(e.getMessage());
             }
-            log.error(GREMLIN_QUERY_ERROR_MESSAGE);
-            throw e;
-        } catch (FailStep.FailException e) {
-            // TinkerGraph processes Gremlin queries synchronously locally,
-            // resulting in FailStep.FailException when fail() is invoked
-            log.error(USER_CONSTRAINT_ERROR_MESSAGE);
-            throw new ConflictException(e.getMessage());
-        }
+        });
+    }
+
+    @Override
+    public List<String> insertAll(List<UserNode> nodes) {
+        return metrics.record("insertAll", () -> {
+            List<Map<String, Object>> rows = nodes.stream().map(UserTraversals::userRow).toList();
+            List<String> createdIds = mapCreatedIds(rows,
+                    profiler.execute(mergeUsers(router.writer(), rows), Traversal::toList));
+
+            for (int i = 0; i < nodes.size(); i++) {
+                if (createdIds.get(i) != null) {
+                    usernameFilter.put(nodes.get(i).getUsername());
+                }
+            }
+            return createdIds;
+        });
+    }
+
+    /*
+     * Validates the bulk follows about to be written, so it reads from the
+     * writer.
+     */
+    @Override
+    public Set<String> findExistingIds(Collection<String> ids) {
+        return metrics.record("findExistingIds",
+                () -> profiler.execute(findUserIds(router.writer(), ids), Traversal::toList).stream()
+                        .map(Object::toString).collect(Collectors.toSet()));
     }
 
     @Override
     public UserNode update(String id, UserNode node) {
-        Vertex vertex = retrieveVertexById(id);
+        return metrics.record("update", () -> {
+            GraphTraversalSource g = router.writer();
+            Vertex vertex = retrieveVertexById(g, id);
 
-        // Check if the username is not in use
-        checkUsernameConflict(vertex.id(), node.getUsername());
+            // Check if the username is not in use
+            checkUsernameConflict(g, vertex.id(), node.getUsername());
 
-        GraphTraversal<Vertex, Vertex> gtVertex = g.V(vertex.id());
-        updateVertexAndEdgeProperties(gtVertex, node, HttpMethod.PUT.name());
+            GraphTraversal<Vertex, Vertex> gtVertex = g.V(vertex.id());
+            updateVertexAndEdgeProperties(gtVertex, node, HttpMethod.PUT.name());
+            usernameFilter.put(node.getUsername());
 
-        gtVertex = g.V(vertex.id());
-        GraphTraversal<Vertex, Map<Object, Object>> vertexTraversal = gtVertex.elementMap();
-        return mapVertexAndEdgeToGraphObject(vertexTraversal.next(), UserNode.class);
+            return refreshNode(g, vertex.id());
+        });
     }
 
     @Override
     public UserNode patch(String id, Map<String, Object> requestMap) {
-        Vertex vertex = retrieveVertexById(id);
-
-        // Check if the username is not in use
-        String username = (String) requestMap.get(USERNAME_PROPERTY);
-        if (username != null) {
-            checkUsernameConflict(vertex.id(), username);
-        }
+        return metrics.record("patch", () -> {
+            GraphTraversalSource g = router.writer();
+            Vertex vertex = retrieveVertexById(g, id);
+
+            // Check if the username is not in use
+            String username = (String) requestMap.get(USERNAME_PROPERTY);
+            if (username != null) {
+                checkUsernameConflict(g, vertex.id(), username);
+            }
 
-        GraphTraversal<Vertex, Vertex> gtVertex = g.V(vertex.id());
-        updateVertexAndEdgeProperties(gtVertex, requestMap, HttpMethod.PATCH.name());
+            GraphTraversal<Vertex, Vertex> gtVertex = g.V(vertex.id());
+            updateVertexAndEdgeProperties(gtVertex, requestMap, HttpMethod.PATCH.name());
+            usernameFilter.put(username);
 
-        gtVertex = g.V(vertex.id());
-        GraphTraversal<Vertex, Map<Object, Object>> vertexTraversal = gtVertex.elementMap();
-        return mapVertexAndEdgeToGraphObject(vertexTraversal.next(), UserNode.class);
+            return refreshNode(g, vertex.id());
+        });
     }
 
     @Override
     public void deleteById(String id) {
-        Vertex vertex = retrieveVertexById(id);
-        g.V(vertex.id()).drop().iterate();
+        metrics.record("deleteById", () -> {
+            GraphTraversalSource g = router.writer();
+            Vertex vertex = retrieveVertexById(g, id);
+            profiler.execute(g.V(vertex.id()).drop(), Traversal::iterate);
+            cache.invalidate(id);
+        });
     }
 
-    /*
-     * Use `mergeE()` to enforce the constraint on properties with better execution
-     * performance. For insertion without constraints, consider using:
-     * `g.addE(FOLLOW_EDGE_LABEL).from(__.V(fromVertexId)).to(__.V(toVertexId)).
-     * property(T.id, UUID.randomUUID().toString());`.
-     */
     @Override
     public FollowEdge createEdge(String fromId, String toId, FollowEdge edge) {
-        // Retrieve vertex properties
-        Map<Object, Object> fromVertexMap = retrieveVertexPropertiesById(fromId);
-        Map<Object, Object> toVertexMap = retrieveVertexPropertiesById(toId);
-
-        Object fromVertexId = fromVertexMap.get(T.id);
-        Object toVertexId = toVertexMap.get(T.id);
-
-        try {
-            GraphTraversal<Edge, Edge> gtEdge = g
-                    .mergeE(Map.of(T.label, FOLLOW_EDGE_LABEL, Direction.from, fromVertexId, Direction.to, toVertexId))
-                    .option(onCreate,
-                            Map.of(T.label, FOLLOW_EDGE_LABEL, Direction.from, fromVertexId, Direction.to, toVertexId,
-                                    T.id, UUID.randomUUID().toString()))
-                    .option(onMatch, fail(String.format(EXISTING_EDGE_ERROR_MESSAGE, fromId, toId)));
-            updateVertexAndEdgeProperties(gtEdge, edge, HttpMethod.POST.name());
-
-            // Map edge properties
-            GraphTraversal<Edge, Map<Object, Object>> edgeTraversal = gtEdge.elementMap();
-            FollowEdge followEdge = mapVertexAndEdgeToGraphObject(edgeTraversal.next(), FollowEdge.class);
-
-            // Map IN and OUT edge vertices
-            followEdge.setIn(mapVertexAndEdgeToGraphObject(toVertexMap, UserNode.class));
-            followEdge.setOut(mapVertexAndEdgeToGraphObject(fromVertexMap, UserNode.class));
-
-            return followEdge;
-        } catch (CompletionException e) {
-            // AWS Neptune processes Gremlin queries asynchronously,
-            // often resulting in CompletionException when fail() is invoked
-            if (e.getCause() instanceof ResponseException responseException) {
-                try {
-                    Map<String, Object> errorProperties = objectMapper.readValue(responseException.getMessage(),
-                            new TypeReference<>() {
-                            });
-                    log.error(EDGE_CONSTRAINT_ERROR_MESSAGE);
-                    throw new ConflictException((String) errorProperties.get("message"));
-                } catch (JsonProcessingException jsonProcessingException) {
-                    log.error(JSON_PROCESSING_ERROR_MESSAGE, jsonProcessingException);
+        return metrics.record("createEdge", () -> {
+            GraphTraversalSource g = router.writer();
+
+            // Retrieve vertices, the user ids being the vertex ids
+            UserNode fromNode = findNodeById(g, fromId);
+            UserNode toNode = findNodeById(g, toId);
+
+            try {
+                GraphTraversal<Edge, Edge> gtEdge = mergeFollowEdge(g, fromNode.getId(), toNode.getId(), edge);
+
+                // Map edge properties
+                GraphTraversal<Edge, Map<Object, Object>> edgeTraversal = gtEdge.elementMap();
+                FollowEdge followEdge = mapVertexAndEdgeToGraphObject(profiler.execute(edgeTraversal, Traversal::next),
+                        FollowEdge.class);
+
+                // Map IN and OUT edge vertices
+                followEdge.setIn(toNode);
+                followEdge.setOut(fromNode);
+
+                // Edge mutations evict both users so that their next read reflects the
+                // current graph state
+                cache.invalidate(fromId, toId);
+                return followEdge;
+            } catch (CompletionException e) {
+                // AWS Neptune processes Gremlin queries asynchronously,
+                // often resulting in CompletionException when fail() is invoked
+                if (e.getCause() instanceof ResponseException responseException) {
+                    try {
+                        Map<String, Object> errorProperties = objectMapper.readValue(responseException.getMessage(),
+                                new TypeReference<>() {
+                                });
+                        log.error(EDGE_CONSTRAINT_ERROR_MESSAGE);
+                        throw new ConflictException((String) errorProperties.get("message"));
+                    } catch (JsonProcessingException jsonProcessingException) {
+                        log.error(JSON_PROCESSING_ERROR_MESSAGE, jsonProcessingException);
+                    }
                 }
+                log.error(GREMLIN_QUERY_ERROR_MESSAGE);
+                throw e;
+            } catch (FailStep.FailException e) {
+                // TinkerGraph processes Gremlin queries synchronously locally,
+                // resulting in FailStep.FailException when fail() is invoked
+                log.error(EDGE_CONSTRAINT_ERROR_MESSAGE);
+                throw new ConflictException(e.getMessage());
             }
-            log.error(GREMLIN_QUERY_ERROR_MESSAGE);
-            throw e;
-        } catch (FailStep.FailException e) {
-            // TinkerGraph processes Gremlin queries synchronously locally,
-            // resulting in FailStep.FailException when fail() is invoked
-            log.error(EDGE_CONSTRAINT_ERROR_MESSAGE);
-            throw new ConflictException(e.getMessage());
-        }
+        });
+    }
+
+    @Override
+    public List<String> createEdges(List<FollowEdge> edges) {
+        return metrics.record("createEdges", () -> {
+            List<Map<String, Object>> rows = edges.stream().map(UserTraversals::followEdgeRow).toList();
+            List<String> createdIds = mapCreatedIds(rows,
+                    profiler.execute(mergeFollowEdges(router.writer(), rows), Traversal::toList));
+
+            for (int i = 0; i < edges.size(); i++) {
+                if (createdIds.get(i) != null) {
+                    cache.invalidate(edges.get(i).getOut().getId(), edges.get(i).getIn().getId());
+                }
+            }
+            return createdIds;
+        });
     }
 
     @Override
     public void removeEdge(String fromId, String toId) {
-        Vertex fromVertex = retrieveVertexById(fromId);
-        Vertex toVertex = retrieveVertexById(toId);
-
-        // Check if the edge exists
-        if (edgeExists(fromVertex.id(), toVertex.id())) {
-            g.V(fromVertex.id()).outE(FOLLOW_EDGE_LABEL).where(__.inV().hasId(toVertex.id())).drop().iterate();
-        } else {
-            throw new ConflictException(String.format(NO_EXISTING_EDGE_ERROR_MESSAGE, fromId, toId));
-        }
+        metrics.record("removeEdge", () -> {
+            GraphTraversalSource g = router.writer();
+            UserNode fromNode = findNodeById(g, fromId);
+            UserNode toNode = findNodeById(g, toId);
+
+            // Check if the edge exists
+            if (edgeExists(g, fromNode.getId(), toNode.getId())) {
+                profiler.execute(findFollowEdge(g, fromNode.getId(), toNode.getId()).drop(), Traversal::iterate);
+                cache.invalidate(fromId, toId);
+            } else {
+                throw new ConflictException(String.format(NO_EXISTING_EDGE_ERROR_MESSAGE, fromId, toId));
+            }
+        });
     }
 
-    private Map<Object, Object> retrieveVertexPropertiesById(String id) {
-        return g.V().hasLabel(USER_VERTEX_LABEL).has(T.id, id).elementMap().tryNext()
+    /*
+     * Used by the edge operations as well, so that their node lookups are not
+     * timed as findById calls. Cache misses are loaded from the writer: a replica
+     * lagging behind a write would otherwise put the node the write invalidated
+     * back in the cache for its whole TTL.
+     */
+    private UserNode findNodeById(GraphTraversalSource g, String id) {
+        return cache.get(id, key -> retrieveNodeById(cache.isEnabled() ? router.writer() : g, key));
+    }
+
+    private Map<Object, Object> retrieveVertexPropertiesById(GraphTraversalSource g, String id) {
+        return profiler.execute(findUser(g, id).elementMap(), Traversal::tryNext)
                 .orElseThrow(() -> new NotFoundException(USER_NOT_FOUND_ERROR_MESSAGE + id));
     }
 
-    private Vertex retrieveVertexById(String id) {
-        return g.V().hasLabel(USER_VERTEX_LABEL).has(T.id, id).tryNext()
+    private UserNode retrieveNodeById(GraphTraversalSource g, String id) {
+        return mapVertexAndEdgeToGraphObject(retrieveVertexPropertiesById(g, id), UserNode.class);
+    }
+
+    private Map<String, UserNode> retrieveNodesByIds(GraphTraversalSource g, Set<? extends String> ids) {
+        return profiler.execute(findUsersByIds(g, ids), Traversal::toList).stream()
+                .map(v -> mapVertexAndEdgeToGraphObject(v, UserNode.class))
+                .collect(Collectors.toMap(UserNode::getId, Function.identity()));
+    }
+
+    /*
+     * Re-read the written vertex and cache it.
+     */
+    private UserNode refreshNode(GraphTraversalSource g, Object vertexId) {
+        UserNode node = mapVertexAndEdgeToGraphObject(profiler.execute(g.V(vertexId).elementMap(), Traversal::next),
+                UserNode.class);
+
+        cache.put(node);
+        return node;
+    }
+
+    private Vertex retrieveVertexById(GraphTraversalSource g, String id) {
+        return profiler.execute(findUser(g, id), Traversal::tryNext)
                 .orElseThrow(() -> new NotFoundException(USER_NOT_FOUND_ERROR_MESSAGE + id));
     }
 
-    private void checkUsernameConflict(Object vertexId, String username) {
-        g.V().hasLabel(USER_VERTEX_LABEL).has(USERNAME_PROPERTY, username).not(__.hasId(vertexId)).tryNext()
-                .ifPresent(vertex -> {
-                    throw new ConflictException(USER_ALREADY_EXISTS_ERROR_MESSAGE + username);
-                });
+    private void checkUsernameConflict(GraphTraversalSource g, Object vertexId, String username) {
+        // A username unknown to the filter is definitely not in use
+        if (!usernameFilter.mightContain(username)) {
+            return;
+        }
+
+        profiler.execute(findUsernameConflict(g, vertexId, username), Traversal::tryNext).ifPresent(vertex -> {
+            throw new ConflictException(USER_ALREADY_EXISTS_ERROR_MESSAGE + username);
+        });
     }
 
-    private boolean edgeExists(Object fromVertexId, Object toVertexId) {
-        return g.V(fromVertexId).outE(FOLLOW_EDGE_LABEL).inV().hasId(toVertexId).hasNext();
+    private boolean edgeExists(GraphTraversalSource g, Object fromVertexId, Object toVertexId) {
+        return profiler.execute(findFollowEdge(g, fromVertexId, toVertexId), Traversal::hasNext);
     }
 }
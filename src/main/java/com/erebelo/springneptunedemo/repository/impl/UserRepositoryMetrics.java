@@ -0,0 +1,119 @@
+package com.erebelo.springneptunedemo.repository.impl;
+
+import com.erebelo.springneptunedemo.exception.model.ConflictException;
+import com.erebelo.springneptunedemo.exception.model.NotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Latency timers of the user repository operations, published as
+ * `users.repository{operation, backend, outcome}` for the blocking repository
+ * and `users.repository.async` for the non-blocking one, with percentile
+ * histograms so that the p99 of every operation can be computed and alerted on
+ * from Prometheus.
+ * <p>
+ * The outcome is `not_found` and `conflict` for the NotFoundException and
+ * ConflictException thrown by the repositories, `error` for any other failure.
+ * Reads served by the user node cache are timed as well.
+ */
+@Component
+public class UserRepositoryMetrics {
+
+    static final String METRIC_NAME = "users.repository";
+    static final String ASYNC_METRIC_NAME = "users.repository.async";
+
+    private static final Duration MINIMUM_EXPECTED_LATENCY = Duration.ofMillis(1);
+    private static final Duration MAXIMUM_EXPECTED_LATENCY = Duration.ofSeconds(30);
+
+    private final MeterRegistry meterRegistry;
+    private final String backend;
+    private final Map<String, Map<Outcome, Timer>> timers = new ConcurrentHashMap<>();
+
+    public UserRepositoryMetrics(MeterRegistry meterRegistry, @Value("${aws.neptune.embedded}") boolean embedded) {
+        this.meterRegistry = meterRegistry;
+        this.backend = embedded ? "embedded" : "remote";
+    }
+
+    public <T> T record(String operation, Supplier<T> repositoryCall) {
+        long start = meterRegistry.config().clock().monotonicTime();
+        try {
+            T result = repositoryCall.get();
+            stop(METRIC_NAME, operation, Outcome.SUCCESS, start);
+            return result;
+        } catch (RuntimeException e) {
+            stop(METRIC_NAME, operation, Outcome.of(e), start);
+            throw e;
+        }
+    }
+
+    public void record(String operation, Runnable repositoryCall) {
+        record(operation, () -> {
+            repositoryCall.run();
+            return null;
+        });
+    }
+
+    /*
+     * Times the future up to its completion. Failures thrown before the future is
+     * returned are timed as well.
+     */
+    public <T> CompletableFuture<T> recordAsync(String operation, Supplier<CompletableFuture<T>> repositoryCall) {
+        long start = meterRegistry.config().clock().monotonicTime();
+        try {
+            return repositoryCall.get().whenComplete((result, throwable) -> stop(ASYNC_METRIC_NAME, operation,
+                    throwable == null ? Outcome.SUCCESS : Outcome.of(throwable), start));
+        } catch (RuntimeException e) {
+            stop(ASYNC_METRIC_NAME, operation, Outcome.of(e), start);
+            throw e;
+        }
+    }
+
+    private void stop(String name, String operation, Outcome outcome, long start) {
+        long duration = meterRegistry.config().clock().monotonicTime() - start;
+        timer(name, operation, outcome).record(Duration.ofNanos(duration));
+    }
+
+    private Timer timer(String name, String operation, Outcome outcome) {
+        return timers.computeIfAbsent(name + '#' + operation, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(outcome, key -> Timer.builder(name).tag("operation", operation)
+                        .tag("backend", backend).tag("outcome", outcome.tag).publishPercentileHistogram()
+                        .minimumExpectedValue(MINIMUM_EXPECTED_LATENCY).maximumExpectedValue(MAXIMUM_EXPECTED_LATENCY)
+                        .register(meterRegistry));
+    }
+
+    private enum Outcome {
+
+        SUCCESS("success"), NOT_FOUND("not_found"), CONFLICT("conflict"), ERROR("error");
+
+        private final String tag;
+
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+
+        private static Outcome of(Throwable throwable) {
+            Throwable cause = throwable;
+            while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                    && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+
+            if (cause instanceof NotFoundException) {
+                return NOT_FOUND;
+            }
+            if (cause instanceof ConflictException) {
+                return CONFLICT;
+            }
+            return ERROR;
+        }
+    }
+}
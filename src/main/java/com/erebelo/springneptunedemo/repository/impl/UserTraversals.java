@@ -0,0 +1,386 @@
+package com.erebelo.springneptunedemo.repository.impl;
+
+import static com.erebelo.springneptunedemo.constant.UserConstant.ADDRESS_STATE_PROPERTY;
+import static com.erebelo.springneptunedemo.constant.UserConstant.EXISTING_EDGE_ERROR_MESSAGE;
+import static com.erebelo.springneptunedemo.constant.UserConstant.FOLLOW_EDGE_LABEL;
+import static com.erebelo.springneptunedemo.constant.UserConstant.NAME_SEARCH_PROPERTY;
+import static com.erebelo.springneptunedemo.constant.UserConstant.USERNAME_PROPERTY;
+import static com.erebelo.springneptunedemo.constant.UserConstant.USER_ALREADY_EXISTS_ERROR_MESSAGE;
+import static com.erebelo.springneptunedemo.constant.UserConstant.USER_VERTEX_LABEL;
+import static com.erebelo.springneptunedemo.util.GraphUtil.appendVertexAndEdgeProperties;
+import static com.erebelo.springneptunedemo.util.GraphUtil.mapEdgeAndAdjacentVertexToGraphObject;
+import static com.erebelo.springneptunedemo.util.GraphUtil.mapVertexAndEdgeToGraphObject;
+import static com.erebelo.springneptunedemo.util.GraphUtil.toVertexAndEdgeProperties;
+import static com.erebelo.springneptunedemo.util.QueryUtil.isValidProperty;
+import static com.erebelo.springneptunedemo.util.TextUtil.canonicalizeCode;
+import static com.erebelo.springneptunedemo.util.TextUtil.normalizeSearchText;
+import static org.apache.tinkerpop.gremlin.process.traversal.Merge.onCreate;
+import static org.apache.tinkerpop.gremlin.process.traversal.Merge.onMatch;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.fail;
+
+import com.erebelo.springneptunedemo.domain.graph.UserProfile;
+import com.erebelo.springneptunedemo.domain.graph.edge.FollowEdge;
+import com.erebelo.springneptunedemo.domain.graph.node.UserNode;
+import com.erebelo.springneptunedemo.domain.request.NameMatch;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import lombok.experimental.UtilityClass;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.TextP;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.springframework.http.HttpMethod;
+
+/**
+ * Traversals shared by the blocking and the asynchronous user repositories.
+ * They are only built here, executing them is up to each repository.
+ */
+@UtilityClass
+class UserTraversals {
+
+    private static final String USER_KEY = "user";
+    private static final String FOLLOWERS_KEY = "followers";
+    private static final String FOLLOWING_KEY = "following";
+    private static final String EDGE_KEY = "edge";
+    private static final String VERTEX_KEY = "vertex";
+    private static final String IN_VERTEX_PROPERTY = "in";
+    private static final String OUT_VERTEX_PROPERTY = "out";
+    private static final String ROW_KEY = "row";
+    private static final String ROW_ID_KEY = "rowId";
+    private static final String MATCH_KEY = "match";
+    private static final String CREATE_KEY = "create";
+    private static final String ELEMENT_ID_KEY = "elementId";
+
+    static GraphTraversal<Vertex, Vertex> findUsers(GraphTraversalSource g, String name, NameMatch nameMatch,
+            String addressState) {
+        GraphTraversal<Vertex, Vertex> gtVertex = g.V().hasLabel(USER_VERTEX_LABEL);
+
+        // Match the normalized name against the 'nameSearch' shadow property, which
+        // avoids compiling and evaluating the user input as a regex on every vertex
+        if (isValidProperty(name)) {
+            gtVertex.has(NAME_SEARCH_PROPERTY, nameMatchPredicate(normalizeSearchText(name), nameMatch));
+        }
+
+        // 'address_state' is stored in canonical form, so a case-insensitive match is
+        // an equality lookup on the canonical input
+        if (isValidProperty(addressState)) {
+            gtVertex.has(ADDRESS_STATE_PROPERTY, P.eq(canonicalizeCode(addressState)));
+        }
+
+        return gtVertex;
+    }
+
+    /*
+     * Keyset pagination: resume right after the last id returned, following the
+     * id order. Neither TinkerGraph nor Neptune serves `has(T.id, gt())` and
+     * `order().by(T.id)` from an ordered id index, so every page scans all the
+     * matching users and sorts the ones left after the cursor before `limit()`
+     * applies. The first page is the most expensive and none is cheaper than the
+     * `range()` of findUsers(), which only walks `offset + limit` users. What it
+     * buys is a stable order across the pages.
+     */
+    static GraphTraversal<Vertex, Vertex> findUsersAfter(GraphTraversalSource g, String name, NameMatch nameMatch,
+            String addressState, String lastId) {
+        GraphTraversal<Vertex, Vertex> gtVertex = findUsers(g, name, nameMatch, addressState);
+
+        if (lastId != null) {
+            gtVertex.has(T.id, P.gt(lastId));
+        }
+
+        return gtVertex.order().by(T.id);
+    }
+
+    static GraphTraversal<Vertex, Vertex> findUser(GraphTraversalSource g, String id) {
+        return g.V().hasLabel(USER_VERTEX_LABEL).has(T.id, id);
+    }
+
+    /*
+     * Project the user vertex together with its followers and following so the
+     * whole profile is read in a single traversal.
+     */
+    static GraphTraversal<Vertex, Map<String, Object>> findProfile(GraphTraversalSource g, String id) {
+        return findUser(g, id).project(USER_KEY, FOLLOWERS_KEY, FOLLOWING_KEY).by(__.elementMap())
+                .by(projectEdgesAndAdjacentVertices(Direction.IN).fold())
+                .by(projectEdgesAndAdjacentVertices(Direction.OUT).fold());
+    }
+
+    /*
+     * Same as `findProfile()` but the adjacent vertices are left out, for them to
+     * be resolved from the user node cache.
+     */
+    static GraphTraversal<Vertex, Map<String, Object>> findProfileEdges(GraphTraversalSource g, String id) {
+        return findUser(g, id).project(FOLLOWERS_KEY, FOLLOWING_KEY)
+                .by(__.inE(FOLLOW_EDGE_LABEL).elementMap().fold()).by(__.outE(FOLLOW_EDGE_LABEL).elementMap().fold());
+    }
+
+    static GraphTraversal<Vertex, Object> findUserIds(GraphTraversalSource g, Collection<String> ids) {
+        return g.V(ids.toArray()).hasLabel(USER_VERTEX_LABEL).id();
+    }
+
+    static GraphTraversal<Vertex, Map<Object, Object>> findUsersByIds(GraphTraversalSource g,
+            Collection<? extends String> ids) {
+        return g.V(ids.toArray()).hasLabel(USER_VERTEX_LABEL).elementMap();
+    }
+
+    /*
+     * Resolve the edges and their adjacent vertices in a single traversal. The
+     * edges are folded per user vertex so that a missing user can still be told
+     * apart from a user without edges.
+     */
+    static GraphTraversal<Vertex, List<Map<String, Object>>> findEdgesAndAdjacentVertices(GraphTraversalSource g,
+            String userId, Direction vertexDirection) {
+        return findUser(g, userId).map(projectEdgesAndAdjacentVertices(vertexDirection).fold());
+    }
+
+    /*
+     * Use `mergeV()` to enforce the constraint on properties with better execution
+     * performance. For insertion without constraints, consider using:
+     * `g.addV(USER_VERTEX_LABEL).property(T.id, UUID.randomUUID().toString())`.
+     */
+    static GraphTraversal<Vertex, Vertex> mergeUser(GraphTraversalSource g, UserNode node) {
+        GraphTraversal<Vertex, Vertex> gtVertex = g
+                .mergeV(Map.of(T.label, USER_VERTEX_LABEL, USERNAME_PROPERTY, node.getUsername()))
+                .option(onCreate, Map.of(T.label, USER_VERTEX_LABEL, T.id, UUID.randomUUID().toString()))
+                .option(onMatch, fail(USER_ALREADY_EXISTS_ERROR_MESSAGE + node.getUsername()));
+        appendVertexAndEdgeProperties(gtVertex, node, HttpMethod.POST.name());
+
+        return gtVertex;
+    }
+
+    /*
+     * Batched `mergeUser()`: the rows built by `userRow()` are injected and merged
+     * one by one in a single traversal. Existing usernames are left unchanged
+     * instead of failing the whole batch; the created users are told apart by
+     * their vertex id being the one generated for their row.
+     */
+    static GraphTraversal<Object, Map<String, Object>> mergeUsers(GraphTraversalSource g,
+            List<Map<String, Object>> rows) {
+        return g.inject((Object) rows).unfold().as(ROW_KEY)
+                .mergeV(__.<Object, Map<Object, Object>>select(MATCH_KEY))
+                .option(onCreate, __.<Object, Map<Object, Object>>select(CREATE_KEY))
+                .project(ROW_ID_KEY, ELEMENT_ID_KEY).by(__.select(ROW_KEY).select(ROW_ID_KEY)).by(T.id);
+    }
+
+    static Map<String, Object> userRow(UserNode node) {
+        String id = UUID.randomUUID().toString();
+
+        Map<Object, Object> createMap = new HashMap<>(toVertexAndEdgeProperties(node));
+        createMap.put(T.label, USER_VERTEX_LABEL);
+        createMap.put(T.id, id);
+
+        return Map.of(ROW_ID_KEY, id, MATCH_KEY,
+                Map.of(T.label, USER_VERTEX_LABEL, USERNAME_PROPERTY, node.getUsername()), CREATE_KEY, createMap);
+    }
+
+    /*
+     * Id of the element created for each row, in the order of the rows, or null
+     * when a matching element (same username or same follow edge) already existed.
+     */
+    static List<String> mapCreatedIds(List<Map<String, Object>> rows, List<Map<String, Object>> mergedRows) {
+        Map<Object, Object> elementIdsByRowId = new HashMap<>();
+        mergedRows.forEach(
+                mergedRow -> elementIdsByRowId.put(mergedRow.get(ROW_ID_KEY), mergedRow.get(ELEMENT_ID_KEY)));
+
+        return rows.stream().map(row -> {
+            Object rowId = row.get(ROW_ID_KEY);
+            return rowId.equals(elementIdsByRowId.get(rowId)) ? rowId.toString() : null;
+        }).toList();
+    }
+
+    /*
+     * Use `mergeE()` to enforce the constraint on properties with better execution
+     * performance. For insertion without constraints, consider using:
+     * `g.addE(FOLLOW_EDGE_LABEL).from(__.V(fromVertexId)).to(__.V(toVertexId)).
+     * property(T.id, UUID.randomUUID().toString());`.
+     */
+    static GraphTraversal<Edge, Edge> mergeFollowEdge(GraphTraversalSource g, Object fromVertexId,
+            Object toVertexId, FollowEdge edge) {
+        GraphTraversal<Edge, Edge> gtEdge = g
+                .mergeE(Map.of(T.label, FOLLOW_EDGE_LABEL, Direction.from, fromVertexId, Direction.to, toVertexId))
+                .option(onCreate,
+                        Map.of(T.label, FOLLOW_EDGE_LABEL, Direction.from, fromVertexId, Direction.to, toVertexId,
+                                T.id, UUID.randomUUID().toString()))
+                .option(onMatch, fail(String.format(EXISTING_EDGE_ERROR_MESSAGE, fromVertexId, toVertexId)));
+        appendVertexAndEdgeProperties(gtEdge, edge, HttpMethod.POST.name());
+
+        return gtEdge;
+    }
+
+    /*
+     * Batched `mergeFollowEdge()`, built like `mergeUsers()`: existing follow
+     * edges are left unchanged instead of failing the whole batch. Both users of
+     * every row must exist, which is up to the caller to check beforehand.
+     */
+    static GraphTraversal<Object, Map<String, Object>> mergeFollowEdges(GraphTraversalSource g,
+            List<Map<String, Object>> rows) {
+        return g.inject((Object) rows).unfold().as(ROW_KEY)
+                .mergeE(__.<Object, Map<Object, Object>>select(MATCH_KEY))
+                .option(onCreate, __.<Object, Map<Object, Object>>select(CREATE_KEY))
+                .project(ROW_ID_KEY, ELEMENT_ID_KEY).by(__.select(ROW_KEY).select(ROW_ID_KEY)).by(T.id);
+    }
+
+    /*
+     * The adjacent users of the edge only carry their id, which is used for the
+     * edge direction and not stored as edge properties.
+     */
+    static Map<String, Object> followEdgeRow(FollowEdge edge) {
+        String id = UUID.randomUUID().toString();
+        String fromVertexId = edge.getOut().getId();
+        String toVertexId = edge.getIn().getId();
+
+        Map<Object, Object> createMap = new HashMap<>(toVertexAndEdgeProperties(
+                new FollowEdge(null, edge.getStatus(), edge.getStartPeriod(), edge.getEndPeriod(), null, null)));
+        createMap.put(T.label, FOLLOW_EDGE_LABEL);
+        createMap.put(T.id, id);
+        createMap.put(Direction.from, fromVertexId);
+        createMap.put(Direction.to, toVertexId);
+
+        return Map.of(ROW_ID_KEY, id, MATCH_KEY,
+                Map.of(T.label, FOLLOW_EDGE_LABEL, Direction.from, fromVertexId, Direction.to, toVertexId),
+                CREATE_KEY, createMap);
+    }
+
+    static GraphTraversal<Edge, Edge> findFollowEdge(GraphTraversalSource g, Object fromVertexId, Object toVertexId) {
+        return g.V(fromVertexId).outE(FOLLOW_EDGE_LABEL).where(__.inV().hasId(toVertexId));
+    }
+
+    /*
+     * Batched drop of `findFollowEdge()`, emitting the index of the vertex id
+     * pairs whose follow edge was found (and dropped). The pairs must be
+     * distinct.
+     */
+    @SuppressWarnings("unchecked")
+    static GraphTraversal<Integer, Integer> dropFollowEdges(GraphTraversalSource g, List<Object> fromVertexIds,
+            List<Object> toVertexIds) {
+        GraphTraversal<?, Integer>[] dropTraversals = new GraphTraversal[fromVertexIds.size()];
+        for (int i = 0; i < dropTraversals.length; i++) {
+            dropTraversals[i] = __.V(fromVertexIds.get(i)).outE(FOLLOW_EDGE_LABEL)
+                    .where(__.inV().hasId(toVertexIds.get(i))).sideEffect(__.drop()).constant(i);
+        }
+
+        return g.inject(0).union(dropTraversals).dedup();
+    }
+
+    static GraphTraversal<Vertex, Vertex> findUsernameConflict(GraphTraversalSource g, Object vertexId,
+            String username) {
+        return g.V().hasLabel(USER_VERTEX_LABEL).has(USERNAME_PROPERTY, username).not(__.hasId(vertexId));
+    }
+
+    @SuppressWarnings("unchecked")
+    static UserProfile mapProfile(Map<String, Object> profileMap) {
+        return UserProfile.builder()
+                .node(mapVertexAndEdgeToGraphObject((Map<Object, Object>) profileMap.get(USER_KEY), UserNode.class))
+                .followers(mapEdgesAndAdjacentVertices((List<Map<String, Object>>) profileMap.get(FOLLOWERS_KEY),
+                        Direction.IN))
+                .following(mapEdgesAndAdjacentVertices((List<Map<String, Object>>) profileMap.get(FOLLOWING_KEY),
+                        Direction.OUT))
+                .build();
+    }
+
+    /*
+     * Ids of the user and of all the users adjacent to it in the profile edges.
+     */
+    @SuppressWarnings("unchecked")
+    static Set<String> profileUserIds(String id, Map<String, Object> profileEdgesMap) {
+        Set<String> ids = new HashSet<>();
+        ids.add(id);
+        ((List<Map<Object, Object>>) profileEdgesMap.get(FOLLOWERS_KEY))
+                .forEach(edgeMap -> ids.add(adjacentVertexId(edgeMap, Direction.IN)));
+        ((List<Map<Object, Object>>) profileEdgesMap.get(FOLLOWING_KEY))
+                .forEach(edgeMap -> ids.add(adjacentVertexId(edgeMap, Direction.OUT)));
+
+        return ids;
+    }
+
+    @SuppressWarnings("unchecked")
+    static UserProfile mapProfile(UserNode node, Map<String, Object> profileEdgesMap, Map<String, UserNode> nodes) {
+        return UserProfile.builder().node(node)
+                .followers(mapEdges((List<Map<Object, Object>>) profileEdgesMap.get(FOLLOWERS_KEY), Direction.IN,
+                        nodes))
+                .following(mapEdges((List<Map<Object, Object>>) profileEdgesMap.get(FOLLOWING_KEY), Direction.OUT,
+                        nodes))
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    static List<FollowEdge> mapEdgesAndAdjacentVertices(List<Map<String, Object>> edgeMapList,
+            Direction vertexDirection) {
+        // From edge perspective, the adjacent vertex is the OUT (from vertex) one for
+        // the followers and the IN (to vertex) one for the following
+        String vertexProperty = vertexDirection == Direction.IN ? OUT_VERTEX_PROPERTY : IN_VERTEX_PROPERTY;
+
+        return edgeMapList.stream()
+                .map(edgeMap -> mapEdgeAndAdjacentVertexToGraphObject((Map<Object, Object>) edgeMap.get(EDGE_KEY),
+                        (Map<Object, Object>) edgeMap.get(VERTEX_KEY), vertexProperty, FollowEdge.class))
+                .toList();
+    }
+
+    /*
+     * Edges whose adjacent user is no longer found (e.g. deleted in the meantime)
+     * are left out.
+     */
+    private static List<FollowEdge> mapEdges(List<Map<Object, Object>> edgeMapList, Direction vertexDirection,
+            Map<String, UserNode> nodes) {
+        return edgeMapList.stream().map(edgeMap -> {
+            UserNode adjacentNode = nodes.get(adjacentVertexId(edgeMap, vertexDirection));
+            if (adjacentNode == null) {
+                return null;
+            }
+
+            FollowEdge followEdge = mapVertexAndEdgeToGraphObject(edgeMap, FollowEdge.class);
+            if (vertexDirection == Direction.IN) {
+                followEdge.setOut(adjacentNode);
+            } else {
+                followEdge.setIn(adjacentNode);
+            }
+            return followEdge;
+        }).filter(Objects::nonNull).toList();
+    }
+
+    /*
+     * From the vertex perspective, the adjacent vertex of an IN edge is its OUT
+     * (from) vertex and vice versa.
+     */
+    private static String adjacentVertexId(Map<Object, Object> edgeMap, Direction vertexDirection) {
+        return ((Map<?, ?>) edgeMap.get(vertexDirection.opposite())).get(T.id).toString();
+    }
+
+    /*
+     * Prefix and exact matches can be served by an index on the shadow property,
+     * whereas a contains match still has to scan it.
+     */
+    private static P<String> nameMatchPredicate(String normalizedName, NameMatch nameMatch) {
+        return switch (nameMatch) {
+            case PREFIX -> TextP.startingWith(normalizedName);
+            case EXACT -> P.eq(normalizedName);
+            case CONTAINS -> TextP.containing(normalizedName);
+        };
+    }
+
+    /*
+     * From the vertex perspective, retrieve the edges whose vertex direction is IN
+     * (from vertex/followers) or OUT (to vertex/following), each projected together
+     * with the vertex on its opposite side.
+     */
+    private static GraphTraversal<Object, Map<String, Object>> projectEdgesAndAdjacentVertices(
+            Direction vertexDirection) {
+        if (vertexDirection == Direction.IN) {
+            return __.inE(FOLLOW_EDGE_LABEL).project(EDGE_KEY, VERTEX_KEY).by(__.elementMap())
+                    .by(__.outV().elementMap());
+        }
+
+        return __.outE(FOLLOW_EDGE_LABEL).project(EDGE_KEY, VERTEX_KEY).by(__.elementMap())
+                .by(__.inV().elementMap());
+    }
+}
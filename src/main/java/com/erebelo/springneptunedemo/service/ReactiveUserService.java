@@ -0,0 +1,41 @@
+package com.erebelo.springneptunedemo.service;
+
+import com.erebelo.springneptunedemo.domain.request.BulkFollowRequest;
+import com.erebelo.springneptunedemo.domain.request.FollowRequest;
+import com.erebelo.springneptunedemo.domain.request.NameMatch;
+import com.erebelo.springneptunedemo.domain.request.UserRequest;
+import com.erebelo.springneptunedemo.domain.response.bulk.BulkRowResponse;
+import com.erebelo.springneptunedemo.domain.response.edge.FollowResponse;
+import com.erebelo.springneptunedemo.domain.response.node.UserResponse;
+import java.util.List;
+import java.util.Map;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserService {
+
+    Mono<List<UserResponse>> findAll(String name, NameMatch nameMatch, String addressState, Integer limit,
+            Integer page);
+
+    Mono<List<UserResponse>> findAllAfter(String name, NameMatch nameMatch, String addressState, Integer limit,
+            String lastId);
+
+    Mono<UserResponse> findById(String id);
+
+    Mono<UserResponse> insert(UserRequest request);
+
+    Mono<List<BulkRowResponse>> bulkInsert(Flux<UserRequest> requests);
+
+    Mono<UserResponse> update(String id, UserRequest request);
+
+    Mono<UserResponse> patch(String id, Map<String, Object> requestMap);
+
+    Mono<Void> delete(String id);
+
+    Mono<List<BulkRowResponse>> bulkFollow(Flux<BulkFollowRequest> requests);
+
+    Mono<FollowResponse> follow(String fromId, String toId, FollowRequest request);
+
+    Mono<Void> unfollow(String fromId, String toId);
+
+}
@@ -1,26 +1,36 @@
 package com.erebelo.springneptunedemo.service;
 
 import com.erebelo.springneptunedemo.domain.request.FollowRequest;
+import com.erebelo.springneptunedemo.domain.request.NameMatch;
 import com.erebelo.springneptunedemo.domain.request.UserRequest;
+import com.erebelo.springneptunedemo.domain.response.bulk.BulkRowResponse;
 import com.erebelo.springneptunedemo.domain.response.edge.FollowResponse;
 import com.erebelo.springneptunedemo.domain.response.node.UserResponse;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
 public interface UserService {
 
-    List<UserResponse> findAll(String name, String addressState, Integer limit, Integer page);
+    List<UserResponse> findAll(String name, NameMatch nameMatch, String addressState, Integer limit, Integer page);
+
+    List<UserResponse> findAllAfter(String name, NameMatch nameMatch, String addressState, Integer limit,
+            String lastId);
 
     UserResponse findById(String id);
 
     UserResponse insert(UserRequest request);
 
+    List<BulkRowResponse> bulkInsert(InputStream inputStream);
+
     UserResponse update(String id, UserRequest request);
 
     UserResponse patch(String id, Map<String, Object> requestMap);
 
     void delete(String id);
 
+    List<BulkRowResponse> bulkFollow(InputStream inputStream);
+
     FollowResponse follow(String fromId, String toId, FollowRequest request);
 
     void unfollow(String fromId, String toId);
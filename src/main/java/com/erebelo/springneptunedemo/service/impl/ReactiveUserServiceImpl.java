@@ -0,0 +1,342 @@
+package com.erebelo.springneptunedemo.service.impl;
+
+import static com.erebelo.springneptunedemo.constant.UserConstant.EXISTING_EDGE_ERROR_MESSAGE;
+import static com.erebelo.springneptunedemo.constant.UserConstant.INVALID_FOLLOW_ROW_ERROR_MESSAGE;
+import static com.erebelo.springneptunedemo.constant.UserConstant.INVALID_USERNAME_ERROR_MESSAGE;
+import static com.erebelo.springneptunedemo.constant.UserConstant.MALFORMED_BULK_ROW_ERROR_MESSAGE;
+import static com.erebelo.springneptunedemo.constant.UserConstant.USERNAME_PROPERTY;
+import static com.erebelo.springneptunedemo.constant.UserConstant.USER_ALREADY_EXISTS_ERROR_MESSAGE;
+import static com.erebelo.springneptunedemo.constant.UserConstant.USER_NOT_FOUND_ERROR_MESSAGE;
+import static com.erebelo.springneptunedemo.util.BulkUtil.findMissingId;
+import static com.erebelo.springneptunedemo.util.BulkUtil.invalidRow;
+import static com.erebelo.springneptunedemo.util.BulkUtil.mapWrittenRows;
+import static com.erebelo.springneptunedemo.util.BulkUtil.validateRow;
+import static com.erebelo.springneptunedemo.util.ObjectMapperUtil.objectMapper;
+import static com.erebelo.springneptunedemo.util.QueryUtil.isValidProperty;
+import static com.erebelo.springneptunedemo.util.UsernameUtil.isUsernameInvalid;
+import static com.erebelo.springneptunedemo.util.UsernameUtil.normalizeUsername;
+
+import com.erebelo.springneptunedemo.domain.graph.edge.FollowEdge;
+import com.erebelo.springneptunedemo.domain.graph.node.UserAddress;
+import com.erebelo.springneptunedemo.domain.graph.node.UserNode;
+import com.erebelo.springneptunedemo.domain.request.BulkFollowRequest;
+import com.erebelo.springneptunedemo.domain.request.FollowRequest;
+import com.erebelo.springneptunedemo.domain.request.NameMatch;
+import com.erebelo.springneptunedemo.domain.request.UserAddressRequest;
+import com.erebelo.springneptunedemo.domain.request.UserRequest;
+import com.erebelo.springneptunedemo.domain.response.bulk.BulkRowResponse;
+import com.erebelo.springneptunedemo.domain.response.bulk.BulkRowStatus;
+import com.erebelo.springneptunedemo.domain.response.edge.FollowResponse;
+import com.erebelo.springneptunedemo.domain.response.node.UserResponse;
+import com.erebelo.springneptunedemo.exception.model.BadRequestException;
+import com.erebelo.springneptunedemo.mapper.UserMapper;
+import com.erebelo.springneptunedemo.repository.ReactiveUserRepository;
+import com.erebelo.springneptunedemo.service.ReactiveUserService;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ObjectUtils;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+/**
+ * Non-blocking counterpart of `UserServiceImpl`, serving the reactive Users
+ * API. UserRequestFilter only applies to the servlet stack, so the usernames of
+ * the requests are validated and normalized here instead, with the same error
+ * messages.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReactiveUserServiceImpl implements ReactiveUserService {
+
+    private final ReactiveUserRepository repository;
+    private final UserMapper mapper;
+    private final Validator validator;
+
+    @Value("${users.bulk.chunk-size:500}")
+    private int bulkChunkSize;
+
+    private static final String ADDRESS_PROPERTY = "address";
+
+    private static final String INVALID_PAYLOAD_ERROR_MESSAGE = "Request body is mandatory and must contain some "
+            + "attribute";
+    private static final String INVALID_PATCH_USERNAME_ERROR_MESSAGE = "[username cannot be blank or contain any "
+            + "whitespace characters]";
+
+    @Override
+    public Mono<List<UserResponse>> findAll(String name, NameMatch nameMatch, String addressState, Integer limit,
+            Integer page) {
+        log.info("Fetching all users by name: {} ({}), addressState: {}, limit: {}, and page: {}", name, nameMatch,
+                addressState, limit, page);
+
+        return repository.findAll(name, nameMatch, addressState, limit, page).collectList().map(nodeList -> {
+            log.info("Users successfully retrieved: {}", nodeList);
+            return mapper.nodeListToResponseList(nodeList);
+        });
+    }
+
+    @Override
+    public Mono<List<UserResponse>> findAllAfter(String name, NameMatch nameMatch, String addressState,
+            Integer limit, String lastId) {
+        log.info("Fetching all users by name: {} ({}), addressState: {}, limit: {}, and after id: {}", name,
+                nameMatch, addressState, limit, lastId);
+
+        return repository.findAllAfter(name, nameMatch, addressState, limit, lastId).collectList().map(nodeList -> {
+            log.info("Users successfully retrieved: {}", nodeList);
+            return mapper.nodeListToResponseList(nodeList);
+        });
+    }
+
+    @Override
+    public Mono<UserResponse> findById(String id) {
+        log.info("Fetching user by id: {}", id);
+
+        return repository.findProfileById(id).map(mapper::profileToResponse)
+                .doOnNext(response -> log.info("User successfully retrieved: {}", response));
+    }
+
+    @Override
+    public Mono<UserResponse> insert(UserRequest request) {
+        log.info("Creating user");
+
+        return Mono.fromCallable(() -> mapper.requestToNode(normalizeRequestUsername(request)))
+                .flatMap(repository::insert).map(node -> {
+                    log.info("User created successfully: {}", node);
+                    return mapper.nodeToResponse(node);
+                });
+    }
+
+    @Override
+    public Mono<List<BulkRowResponse>> bulkInsert(Flux<UserRequest> requests) {
+        log.info("Creating users in bulk by chunks of {}", bulkChunkSize);
+
+        return processInChunks(requests,
+                request -> isUsernameInvalid(request.getUsername()) ? INVALID_USERNAME_ERROR_MESSAGE : null,
+                this::insertChunk);
+    }
+
+    @Override
+    public Mono<UserResponse> update(String id, UserRequest request) {
+        log.info("Updating user with id: {}", id);
+
+        return Mono.fromCallable(() -> {
+            // Objects nested in the request dto classes must be instantiated for the update
+            // request to work properly
+            if (request.getAddress() == null) {
+                request.setAddress(new UserAddressRequest());
+            }
+
+            return mapper.requestToNode(normalizeRequestUsername(request));
+        }).flatMap(node -> repository.update(id, node)).map(node -> {
+            log.info("User updated successfully: {}", node);
+            return mapper.nodeToResponse(node);
+        });
+    }
+
+    @Override
+    public Mono<UserResponse> patch(String id, Map<String, Object> requestMap) {
+        log.info("Patching user with id: {}", id);
+
+        return Mono.fromCallable(() -> {
+            if (ObjectUtils.isEmpty(requestMap)) {
+                throw new BadRequestException(INVALID_PAYLOAD_ERROR_MESSAGE);
+            }
+
+            if (requestMap.containsKey(ADDRESS_PROPERTY) && requestMap.get(ADDRESS_PROPERTY) == null) {
+                requestMap.put(ADDRESS_PROPERTY, objectMapper.convertValue(new UserAddress(), Map.class));
+            }
+
+            return normalizePatchUsername(requestMap);
+        }).flatMap(normalizedMap -> repository.patch(id, normalizedMap)).map(node -> {
+            log.info("User updated successfully: {}", node);
+            return mapper.nodeToResponse(node);
+        });
+    }
+
+    @Override
+    public Mono<Void> delete(String id) {
+        log.info("Deleting user with id: {}", id);
+
+        return repository.deleteById(id).doOnSuccess(v -> log.info("User deleted successfully"));
+    }
+
+    @Override
+    public Mono<List<BulkRowResponse>> bulkFollow(Flux<BulkFollowRequest> requests) {
+        log.info("Creating follow edges in bulk by chunks of {}", bulkChunkSize);
+
+        return processInChunks(requests,
+                request -> !isValidProperty(request.getFromId()) || !isValidProperty(request.getToId())
+                        ? INVALID_FOLLOW_ROW_ERROR_MESSAGE
+                        : null,
+                this::followChunk);
+    }
+
+    @Override
+    public Mono<FollowResponse> follow(String fromId, String toId, FollowRequest request) {
+        log.info("User id: {} following user id: {}", fromId, toId);
+
+        return Mono.fromCallable(() -> mapper.requestToEdge(request))
+                .flatMap(edge -> repository.createEdge(fromId, toId, edge)).map(edge -> {
+                    log.info("User id: {} followed successfully user id: {}", fromId, toId);
+                    return mapper.edgeToResponse(edge);
+                });
+    }
+
+    @Override
+    public Mono<Void> unfollow(String fromId, String toId) {
+        log.info("User id: {} unfollowing user id: {}", fromId, toId);
+
+        return repository.removeEdge(fromId, toId)
+                .doOnSuccess(v -> log.info("User id: {} successfully unfollowed user id: {}", fromId, toId));
+    }
+
+    /*
+     * Same contract as the blocking service: the rows are decoded one at a time
+     * and written by chunks, one chunk at a time, invalid rows being reported
+     * and skipped. A malformed row stops the import, the previous chunks being
+     * already written. Unlike there, a chunk is made of `bulkChunkSize` rows
+     * including the invalid ones.
+     */
+    private <R> Mono<List<BulkRowResponse>> processInChunks(Flux<R> rows, Function<R, String> rowValidator,
+            BiFunction<List<R>, List<Integer>, Mono<List<BulkRowResponse>>> chunkWriter) {
+        return Mono.defer(() -> {
+            long startTime = System.currentTimeMillis();
+            AtomicInteger rowCount = new AtomicInteger();
+
+            return rows.doOnNext(row -> rowCount.incrementAndGet())
+                    .onErrorMap(e -> e instanceof DecodingException || e instanceof ServerWebInputException,
+                            e -> new BadRequestException(String.format(MALFORMED_BULK_ROW_ERROR_MESSAGE,
+                                    rowCount.get(), NestedExceptionUtils.getMostSpecificCause(e).getMessage())))
+                    .index().buffer(bulkChunkSize)
+                    .concatMap(indexedRows -> writeChunk(indexedRows, rowValidator, chunkWriter))
+                    .flatMapIterable(Function.identity())
+                    .collectSortedList(Comparator.comparing(BulkRowResponse::getIndex))
+                    .doOnSuccess(responses -> {
+                        long elapsedTime = Math.max(1, System.currentTimeMillis() - startTime);
+                        log.info("{} rows processed in {} ms ({} rows/s)", rowCount.get(), elapsedTime,
+                                rowCount.get() * 1000L / elapsedTime);
+                    });
+        });
+    }
+
+    private <R> Mono<List<BulkRowResponse>> writeChunk(List<Tuple2<Long, R>> indexedRows,
+            Function<R, String> rowValidator,
+            BiFunction<List<R>, List<Integer>, Mono<List<BulkRowResponse>>> chunkWriter) {
+        List<BulkRowResponse> responses = new ArrayList<>();
+        List<R> chunk = new ArrayList<>(indexedRows.size());
+        List<Integer> chunkIndexes = new ArrayList<>(indexedRows.size());
+
+        for (Tuple2<Long, R> indexedRow : indexedRows) {
+            int index = indexedRow.getT1().intValue();
+            String errorMessage = validateRow(validator, indexedRow.getT2());
+            if (errorMessage == null) {
+                errorMessage = rowValidator.apply(indexedRow.getT2());
+            }
+
+            if (errorMessage != null) {
+                responses.add(invalidRow(index, errorMessage));
+            } else {
+                chunk.add(indexedRow.getT2());
+                chunkIndexes.add(index);
+            }
+        }
+
+        if (chunk.isEmpty()) {
+            return Mono.just(responses);
+        }
+
+        return chunkWriter.apply(chunk, chunkIndexes).map(writtenRows -> {
+            responses.addAll(writtenRows);
+            return responses;
+        });
+    }
+
+    private Mono<List<BulkRowResponse>> insertChunk(List<UserRequest> chunk, List<Integer> chunkIndexes) {
+        List<UserNode> nodes = chunk.stream().map(request -> {
+            request.setUsername(normalizeUsername(request.getUsername()));
+            return mapper.requestToNode(request);
+        }).toList();
+
+        return repository.insertAll(nodes).map(createdIds -> mapWrittenRows(chunkIndexes, createdIds,
+                i -> USER_ALREADY_EXISTS_ERROR_MESSAGE + nodes.get(i).getUsername()));
+    }
+
+    private Mono<List<BulkRowResponse>> followChunk(List<BulkFollowRequest> chunk, List<Integer> chunkIndexes) {
+        Set<String> userIds = new HashSet<>();
+        chunk.forEach(request -> {
+            userIds.add(request.getFromId());
+            userIds.add(request.getToId());
+        });
+
+        return repository.findExistingIds(userIds).flatMap(existingIds -> {
+            List<BulkRowResponse> responses = new ArrayList<>(chunk.size());
+            List<FollowEdge> edges = new ArrayList<>();
+            List<Integer> edgeIndexes = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                BulkFollowRequest request = chunk.get(i);
+                String missingId = findMissingId(request, existingIds);
+
+                if (missingId != null) {
+                    responses.add(BulkRowResponse.builder().index(chunkIndexes.get(i))
+                            .status(BulkRowStatus.NOT_FOUND).message(USER_NOT_FOUND_ERROR_MESSAGE + missingId).build());
+                } else {
+                    edges.add(mapper.bulkRequestToEdge(request));
+                    edgeIndexes.add(chunkIndexes.get(i));
+                }
+            }
+
+            if (edges.isEmpty()) {
+                return Mono.just(responses);
+            }
+
+            return repository.createEdges(edges).map(createdIds -> {
+                responses.addAll(mapWrittenRows(edgeIndexes, createdIds, i -> String.format(
+                        EXISTING_EDGE_ERROR_MESSAGE, edges.get(i).getOut().getId(), edges.get(i).getIn().getId())));
+                return responses;
+            });
+        });
+    }
+
+    /*
+     * POST and PUT requests, for which the username is mandatory.
+     */
+    private static UserRequest normalizeRequestUsername(UserRequest request) {
+        if (isUsernameInvalid(request.getUsername())) {
+            throw new BadRequestException("[" + INVALID_USERNAME_ERROR_MESSAGE + "]");
+        }
+
+        request.setUsername(normalizeUsername(request.getUsername()));
+        return request;
+    }
+
+    /*
+     * PATCH requests, for which the username is only validated when present.
+     */
+    private static Map<String, Object> normalizePatchUsername(Map<String, Object> requestMap) {
+        if (requestMap.containsKey(USERNAME_PROPERTY)) {
+            Object username = requestMap.get(USERNAME_PROPERTY);
+            if (username == null || isUsernameInvalid(username.toString())) {
+                throw new BadRequestException(INVALID_PATCH_USERNAME_ERROR_MESSAGE);
+            }
+
+            requestMap.put(USERNAME_PROPERTY, normalizeUsername(username.toString()));
+        }
+        return requestMap;
+    }
+}
@@ -1,24 +1,55 @@
 package com.erebelo.springneptunedemo.service.impl;
 
+import static com.erebelo.springneptunedemo.constant.UserConstant.EMPTY_BULK_ROW_ERROR_MESSAGE;
+import static com.erebelo.springneptunedemo.constant.UserConstant.EXISTING_EDGE_ERROR_MESSAGE;
+import static com.erebelo.springneptunedemo.constant.UserConstant.INVALID_FOLLOW_ROW_ERROR_MESSAGE;
+import static com.erebelo.springneptunedemo.constant.UserConstant.INVALID_USERNAME_ERROR_MESSAGE;
+import static com.erebelo.springneptunedemo.constant.UserConstant.MALFORMED_BULK_ROW_ERROR_MESSAGE;
+import static com.erebelo.springneptunedemo.constant.UserConstant.USER_ALREADY_EXISTS_ERROR_MESSAGE;
+import static com.erebelo.springneptunedemo.constant.UserConstant.USER_NOT_FOUND_ERROR_MESSAGE;
+import static com.erebelo.springneptunedemo.util.BulkUtil.findMissingId;
+import static com.erebelo.springneptunedemo.util.BulkUtil.invalidRow;
+import static com.erebelo.springneptunedemo.util.BulkUtil.mapWrittenRows;
+import static com.erebelo.springneptunedemo.util.BulkUtil.validateRow;
+import static com.erebelo.springneptunedemo.util.FutureUtil.join;
 import static com.erebelo.springneptunedemo.util.ObjectMapperUtil.objectMapper;
+import static com.erebelo.springneptunedemo.util.QueryUtil.isValidProperty;
+import static com.erebelo.springneptunedemo.util.UsernameUtil.isUsernameInvalid;
+import static com.erebelo.springneptunedemo.util.UsernameUtil.normalizeUsername;
 
+import com.erebelo.springneptunedemo.domain.graph.UserProfile;
 import com.erebelo.springneptunedemo.domain.graph.edge.FollowEdge;
 import com.erebelo.springneptunedemo.domain.graph.node.UserAddress;
 import com.erebelo.springneptunedemo.domain.graph.node.UserNode;
+import com.erebelo.springneptunedemo.domain.request.BulkFollowRequest;
 import com.erebelo.springneptunedemo.domain.request.FollowRequest;
+import com.erebelo.springneptunedemo.domain.request.NameMatch;
 import com.erebelo.springneptunedemo.domain.request.UserAddressRequest;
 import com.erebelo.springneptunedemo.domain.request.UserRequest;
+import com.erebelo.springneptunedemo.domain.response.bulk.BulkRowResponse;
+import com.erebelo.springneptunedemo.domain.response.bulk.BulkRowStatus;
 import com.erebelo.springneptunedemo.domain.response.edge.FollowResponse;
 import com.erebelo.springneptunedemo.domain.response.node.UserResponse;
 import com.erebelo.springneptunedemo.exception.model.BadRequestException;
 import com.erebelo.springneptunedemo.mapper.UserMapper;
+import com.erebelo.springneptunedemo.repository.AsyncUserRepository;
 import com.erebelo.springneptunedemo.repository.UserRepository;
 import com.erebelo.springneptunedemo.service.UserService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.ObjectUtils;
 
@@ -28,7 +59,12 @@ import org.springframework.util.ObjectUtils;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository repository;
+    private final AsyncUserRepository asyncRepository;
     private final UserMapper mapper;
+    private final Validator validator;
+
+    @Value("${users.bulk.chunk-size:500}")
+    private int bulkChunkSize;
 
     private static final String ADDRESS_PROPERTY = "address";
 
@@ -36,10 +72,22 @@ public class UserServiceImpl implements UserService {
             + "attribute";
 
     @Override
-    public List<UserResponse> findAll(String name, String addressState, Integer limit, Integer page) {
-        log.info("Fetching all users by name: {}, addressState: {}, limit: {}, and page: {}", name, addressState, limit,
-                page);
-        List<UserNode> nodeList = repository.findAll(name, addressState, limit, page);
+    public List<UserResponse> findAll(String name, NameMatch nameMatch, String addressState, Integer limit,
+            Integer page) {
+        log.info("Fetching all users by name: {} ({}), addressState: {}, limit: {}, and page: {}", name, nameMatch,
+                addressState, limit, page);
+        List<UserNode> nodeList = repository.findAll(name, nameMatch, addressState, limit, page);
+
+        log.info("Users successfully retrieved: {}", nodeList);
+        return mapper.nodeListToResponseList(nodeList);
+    }
+
+    @Override
+    public List<UserResponse> findAllAfter(String name, NameMatch nameMatch, String addressState, Integer limit,
+            String lastId) {
+        log.info("Fetching all users by name: {} ({}), addressState: {}, limit: {}, and after id: {}", name,
+                nameMatch, addressState, limit, lastId);
+        List<UserNode> nodeList = repository.findAllAfter(name, nameMatch, addressState, limit, lastId);
 
         log.info("Users successfully retrieved: {}", nodeList);
         return mapper.nodeListToResponseList(nodeList);
@@ -49,13 +97,8 @@ public class UserServiceImpl implements UserService {
     public UserResponse findById(String id) {
         log.info("Fetching user by id: {}", id);
 
-        UserNode node = repository.findById(id);
-        List<FollowEdge> followers = repository.findEdgesByUserIdAndDirection(id, Direction.IN);
-        List<FollowEdge> following = repository.findEdgesByUserIdAndDirection(id, Direction.OUT);
-
-        UserResponse response = mapper.nodeToResponse(node);
-        response.setFollowers(mapper.edgeListToLazyFollowResponseList(followers, Direction.OUT.name()));
-        response.setFollowing(mapper.edgeListToLazyFollowResponseList(following, Direction.IN.name()));
+        UserProfile profile = repository.findProfileById(id);
+        UserResponse response = mapper.profileToResponse(profile);
 
         log.info("User successfully retrieved: {}", response);
         return response;
@@ -72,6 +115,27 @@ public class UserServiceImpl implements UserService {
         return mapper.nodeToResponse(node);
     }
 
+    @Override
+    public List<BulkRowResponse> bulkInsert(InputStream inputStream) {
+        log.info("Creating users in bulk by chunks of {}", bulkChunkSize);
+
+        // Validate the username as UserRequestFilter does
+        return processInChunks(inputStream, UserRequest.class,
+                request -> isUsernameInvalid(request.getUsername()) ? INVALID_USERNAME_ERROR_MESSAGE : null,
+                this::insertChunk);
+    }
+
+    @Override
+    public List<BulkRowResponse> bulkFollow(InputStream inputStream) {
+        log.info("Creating follow edges in bulk by chunks of {}", bulkChunkSize);
+
+        return processInChunks(inputStream, BulkFollowRequest.class,
+                request -> !isValidProperty(request.getFromId()) || !isValidProperty(request.getToId())
+                        ? INVALID_FOLLOW_ROW_ERROR_MESSAGE
+                        : null,
+                this::followChunk);
+    }
+
     @Override
     public UserResponse update(String id, UserRequest request) {
         log.info("Updating user with id: {}", id);
@@ -119,8 +183,10 @@ public class UserServiceImpl implements UserService {
     public FollowResponse follow(String fromId, String toId, FollowRequest request) {
         log.info("User id: {} following user id: {}", fromId, toId);
 
+        // The async repository resolves both users at the same time before merging the
+        // edge
         FollowEdge edge = mapper.requestToEdge(request);
-        edge = repository.createEdge(fromId, toId, edge);
+        edge = join(asyncRepository.createEdge(fromId, toId, edge));
 
         log.info("User id: {} followed successfully user id: {}", fromId, toId);
         return mapper.edgeToResponse(edge);
@@ -130,7 +196,105 @@ public class UserServiceImpl implements UserService {
     public void unfollow(String fromId, String toId) {
         log.info("User id: {} unfollowing user id: {}", fromId, toId);
 
-        repository.removeEdge(fromId, toId);
+        join(asyncRepository.removeEdge(fromId, toId));
         log.info("User id: {} successfully unfollowed user id: {}", fromId, toId);
     }
+
+    /*
+     * Rows are read one at a time from the stream (a JSON array or NDJSON), so
+     * only a chunk is held in memory before being written in a single traversal.
+     * Each row gets the bean validation of its single request counterpart, then
+     * the row validator, which returns the error message of an invalid row. The
+     * invalid rows are reported and skipped. A malformed row stops the import, the previous chunks being
+     * already written.
+     */
+    private <R> List<BulkRowResponse> processInChunks(InputStream inputStream, Class<R> rowClass,
+            Function<R, String> rowValidator, BiFunction<List<R>, List<Integer>, List<BulkRowResponse>> chunkWriter) {
+        long startTime = System.currentTimeMillis();
+
+        List<BulkRowResponse> responses = new ArrayList<>();
+        List<R> chunk = new ArrayList<>(bulkChunkSize);
+        List<Integer> chunkIndexes = new ArrayList<>(bulkChunkSize);
+        int index = 0;
+
+        try (MappingIterator<R> rows = objectMapper.readerFor(rowClass).readValues(inputStream)) {
+            for (; rows.hasNextValue(); index++) {
+                R row = rows.nextValue();
+
+                String errorMessage = row == null ? EMPTY_BULK_ROW_ERROR_MESSAGE : validateRow(validator, row);
+                if (errorMessage == null) {
+                    errorMessage = rowValidator.apply(row);
+                }
+                if (errorMessage != null) {
+                    responses.add(invalidRow(index, errorMessage));
+                    continue;
+                }
+
+                chunk.add(row);
+                chunkIndexes.add(index);
+                if (chunk.size() == bulkChunkSize) {
+                    responses.addAll(chunkWriter.apply(chunk, chunkIndexes));
+                    chunk.clear();
+                    chunkIndexes.clear();
+                }
+            }
+
+            if (!chunk.isEmpty()) {
+                responses.addAll(chunkWriter.apply(chunk, chunkIndexes));
+            }
+        } catch (IOException e) {
+            throw new BadRequestException(String.format(MALFORMED_BULK_ROW_ERROR_MESSAGE, index, e.getMessage()));
+        }
+
+        long elapsedTime = Math.max(1, System.currentTimeMillis() - startTime);
+        log.info("{} rows processed in {} ms ({} rows/s)", index, elapsedTime, index * 1000L / elapsedTime);
+
+        responses.sort(Comparator.comparing(BulkRowResponse::getIndex));
+        return responses;
+    }
+
+    private List<BulkRowResponse> insertChunk(List<UserRequest> chunk, List<Integer> chunkIndexes) {
+        List<UserNode> nodes = chunk.stream().map(request -> {
+            request.setUsername(normalizeUsername(request.getUsername()));
+            return mapper.requestToNode(request);
+        }).toList();
+        List<String> createdIds = repository.insertAll(nodes);
+
+        return mapWrittenRows(chunkIndexes, createdIds,
+                i -> USER_ALREADY_EXISTS_ERROR_MESSAGE + nodes.get(i).getUsername());
+    }
+
+    /*
+     * All the users of the chunk are resolved at once, the rows referring to a
+     * missing one being reported instead of failing the chunk.
+     */
+    private List<BulkRowResponse> followChunk(List<BulkFollowRequest> chunk, List<Integer> chunkIndexes) {
+        Set<String> userIds = new HashSet<>();
+        chunk.forEach(request -> {
+            userIds.add(request.getFromId());
+            userIds.add(request.getToId());
+        });
+        Set<String> existingIds = repository.findExistingIds(userIds);
+
+        List<BulkRowResponse> responses = new ArrayList<>(chunk.size());
+        List<FollowEdge> edges = new ArrayList<>();
+        List<Integer> edgeIndexes = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            BulkFollowRequest request = chunk.get(i);
+            String missingId = findMissingId(request, existingIds);
+
+            if (missingId != null) {
+                responses.add(BulkRowResponse.builder().index(chunkIndexes.get(i)).status(BulkRowStatus.NOT_FOUND)
+                        .message(USER_NOT_FOUND_ERROR_MESSAGE + missingId).build());
+            } else {
+                edges.add(mapper.bulkRequestToEdge(request));
+                edgeIndexes.add(chunkIndexes.get(i));
+            }
+        }
+
+        List<String> createdIds = edges.isEmpty() ? List.of() : repository.createEdges(edges);
+        responses.addAll(mapWrittenRows(edgeIndexes, createdIds, i -> String.format(EXISTING_EDGE_ERROR_MESSAGE,
+                edges.get(i).getOut().getId(), edges.get(i).getIn().getId())));
+        return responses;
+    }
 }
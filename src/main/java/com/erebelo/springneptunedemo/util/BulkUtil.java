@@ -0,0 +1,61 @@
+package com.erebelo.springneptunedemo.util;
+
+import com.erebelo.springneptunedemo.domain.request.BulkFollowRequest;
+import com.erebelo.springneptunedemo.domain.response.bulk.BulkRowResponse;
+import com.erebelo.springneptunedemo.domain.response.bulk.BulkRowStatus;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntFunction;
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class BulkUtil {
+
+    public static BulkRowResponse invalidRow(int index, String message) {
+        return BulkRowResponse.builder().index(index).status(BulkRowStatus.INVALID).message(message).build();
+    }
+
+    /*
+     * Applies to a bulk row the bean validation a single request gets from
+     * `@Valid`, returning the violation messages in the same format as
+     * GlobalExceptionHandler, or null if the row is valid.
+     */
+    public static String validateRow(Validator validator, Object row) {
+        List<String> messages = validator.validate(row).stream().map(ConstraintViolation::getMessage).sorted()
+                .toList();
+        return messages.isEmpty() ? null : messages.toString();
+    }
+
+    /*
+     * Maps the ids returned by a bulk write to the rows written, a null id
+     * meaning the row already existed. The conflict message is built from the
+     * position of the row in the write.
+     */
+    public static List<BulkRowResponse> mapWrittenRows(List<Integer> indexes, List<String> createdIds,
+            IntFunction<String> conflictMessage) {
+        List<BulkRowResponse> responses = new ArrayList<>(indexes.size());
+        for (int i = 0; i < indexes.size(); i++) {
+            String createdId = createdIds.get(i);
+            responses.add(createdId != null
+                    ? BulkRowResponse.builder().index(indexes.get(i)).status(BulkRowStatus.CREATED).id(createdId)
+                            .build()
+                    : BulkRowResponse.builder().index(indexes.get(i)).status(BulkRowStatus.CONFLICT)
+                            .message(conflictMessage.apply(i)).build());
+        }
+        return responses;
+    }
+
+    /*
+     * Returns the first user of the follow row missing from the existing ids, or
+     * null if both exist.
+     */
+    public static String findMissingId(BulkFollowRequest request, Set<String> existingIds) {
+        if (!existingIds.contains(request.getFromId())) {
+            return request.getFromId();
+        }
+        return !existingIds.contains(request.getToId()) ? request.getToId() : null;
+    }
+}
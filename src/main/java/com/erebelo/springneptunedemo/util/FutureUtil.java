@@ -0,0 +1,26 @@
+package com.erebelo.springneptunedemo.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class FutureUtil {
+
+    /*
+     * Waits for the future and rethrows its original runtime exception (e.g.
+     * NotFoundException, ConflictException) instead of the CompletionException
+     * wrapper, so the global exception handler keeps mapping it to its HTTP
+     * status.
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.erebelo.springneptunedemo.util;
+
+import static com.erebelo.springneptunedemo.util.GraphUtil.NESTED_PROPERTY_DELIMITER;
+import static com.erebelo.springneptunedemo.util.ObjectMapperUtil.objectMapper;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * Maps `elementMap()` entries straight into a graph object, without the
+ * intermediate maps and the Jackson conversion of every element. It is the
+ * reverse of the flattening done by `GraphUtil` when writing: a
+ * `prefix_property` key is set on the nested object held by the `prefix`
+ * property.
+ * <p>
+ * The properties are resolved once per class from its Jackson bean description,
+ * so that their names match the written ones, and their setters are then invoked
+ * through method handles. Unknown keys (e.g. the `nameSearch` shadow property or
+ * the adjacent vertices of an edge) are ignored like `@JsonIgnoreProperties`
+ * does.
+ */
+final class GraphObjectMapper<T> {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /*
+     * Empty for the classes that cannot be compiled (e.g. without a public no-arg
+     * constructor or setters), which are left to Jackson.
+     */
+    private static final ClassValue<Optional<GraphObjectMapper<?>>> MAPPERS = new ClassValue<>() {
+        @Override
+        protected Optional<GraphObjectMapper<?>> computeValue(Class<?> type) {
+            try {
+                return Optional.of(compile(type));
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return Optional.empty();
+            }
+        }
+    };
+
+    private final Class<T> type;
+    private final MethodHandle constructor;
+    private final Map<String, PropertyWriter> writers;
+    private final Map<String, Property> properties;
+
+    private GraphObjectMapper(Class<T> type, MethodHandle constructor, Map<String, PropertyWriter> writers,
+            Map<String, Property> properties) {
+        this.type = type;
+        this.constructor = constructor;
+        this.writers = writers;
+        this.properties = properties;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Optional<GraphObjectMapper<T>> forClass(Class<T> type) {
+        return MAPPERS.get(type).map(mapper -> (GraphObjectMapper<T>) mapper);
+    }
+
+    T map(Map<Object, Object> elementMap) {
+        try {
+            Object graphObject = (Object) constructor.invokeExact();
+            write(graphObject, elementMap);
+
+            return type.cast(graphObject);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /*
+     * Maps an edge and sets its adjacent vertex, mapped by the mapper of the
+     * nested property type, on that property.
+     */
+    T map(Map<Object, Object> edgeMap, String vertexProperty, Map<Object, Object> vertexMap) {
+        Property property = properties.get(vertexProperty);
+        if (property == null) {
+            throw new IllegalArgumentException("Unknown property: " + vertexProperty);
+        }
+
+        T graphObject = map(edgeMap);
+        Object vertexObject = forClass(property.type()).map(mapper -> (Object) mapper.map(vertexMap))
+                .orElseGet(() -> objectMapper.convertValue(vertexMap, property.type()));
+        try {
+            property.setter().invokeExact((Object) graphObject, vertexObject);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+
+        return graphObject;
+    }
+
+    private void write(Object graphObject, Map<Object, Object> elementMap) throws Throwable {
+        for (Map.Entry<Object, Object> entry : elementMap.entrySet()) {
+            Object value = entry.getValue();
+            if (value != null) {
+                PropertyWriter writer = writers.get(entry.getKey().toString());
+                if (writer != null) {
+                    writer.write(graphObject, value);
+                }
+            }
+        }
+    }
+
+    private static <T> GraphObjectMapper<T> compile(Class<T> type) throws ReflectiveOperationException {
+        MethodHandle constructor = LOOKUP.findConstructor(type, MethodType.methodType(void.class))
+                .asType(CONSTRUCTOR_TYPE);
+        Map<String, Property> properties = findProperties(type);
+
+        Map<String, PropertyWriter> writers = new HashMap<>();
+        for (Map.Entry<String, Property> entry : properties.entrySet()) {
+            Property property = entry.getValue();
+            if (!isNestedObject(property.javaType())) {
+                writers.put(entry.getKey(), scalarWriter(property));
+                continue;
+            }
+
+            // Flattened properties of a nested object, which is created on its first one
+            MethodHandle nestedConstructor = LOOKUP
+                    .findConstructor(property.type(), MethodType.methodType(void.class)).asType(CONSTRUCTOR_TYPE);
+            for (Map.Entry<String, Property> nestedEntry : findProperties(property.type()).entrySet()) {
+                writers.put(entry.getKey() + NESTED_PROPERTY_DELIMITER + nestedEntry.getKey(),
+                        nestedWriter(property, nestedConstructor, scalarWriter(nestedEntry.getValue())));
+            }
+        }
+
+        return new GraphObjectMapper<>(type, constructor, Map.copyOf(writers), Map.copyOf(properties));
+    }
+
+    private static Map<String, Property> findProperties(Class<?> type) throws IllegalAccessException {
+        BeanDescription description = objectMapper.getDeserializationConfig()
+                .introspect(objectMapper.constructType(type));
+
+        Map<String, Property> properties = new HashMap<>();
+        for (BeanPropertyDefinition definition : description.findProperties()) {
+            if (definition.hasSetter() && definition.hasGetter()) {
+                properties.put(definition.getName(),
+                        new Property(definition.getPrimaryType(),
+                                LOOKUP.unreflect(definition.getGetter().getAnnotated()).asType(GETTER_TYPE),
+                                LOOKUP.unreflect(definition.getSetter().getAnnotated()).asType(SETTER_TYPE)));
+            }
+        }
+
+        return properties;
+    }
+
+    static boolean isNestedObject(JavaType javaType) {
+        Class<?> rawClass = javaType.getRawClass();
+        return !rawClass.isPrimitive() && !rawClass.isEnum() && !javaType.isContainerType()
+                && !rawClass.getName().startsWith("java.");
+    }
+
+    private static PropertyWriter scalarWriter(Property property) {
+        MethodHandle setter = property.setter();
+        UnaryOperator<Object> converter = converter(property.javaType());
+
+        return (graphObject, value) -> setter.invokeExact(graphObject, converter.apply(value));
+    }
+
+    private static PropertyWriter nestedWriter(Property property, MethodHandle nestedConstructor,
+            PropertyWriter nestedWriter) {
+        MethodHandle getter = property.getter();
+        MethodHandle setter = property.setter();
+
+        return (graphObject, value) -> {
+            Object nestedObject = (Object) getter.invokeExact(graphObject);
+            if (nestedObject == null) {
+                nestedObject = (Object) nestedConstructor.invokeExact();
+                setter.invokeExact(graphObject, nestedObject);
+            }
+            nestedWriter.write(nestedObject, value);
+        };
+    }
+
+    /*
+     * Values already of the property type are set as they are. The other ones are
+     * converted like Jackson would, with shortcuts for the common types.
+     */
+    private static UnaryOperator<Object> converter(JavaType javaType) {
+        Class<?> boxedType = MethodType.methodType(javaType.getRawClass()).wrap().returnType();
+
+        if (boxedType == String.class) {
+            return value -> value instanceof String ? value : value.toString();
+        }
+        if (boxedType == LocalDate.class) {
+            return value -> value instanceof String text
+                    ? LocalDate.parse(text)
+                    : boxedType.isInstance(value) ? value : objectMapper.convertValue(value, javaType);
+        }
+        return value -> boxedType.isInstance(value) ? value : objectMapper.convertValue(value, javaType);
+    }
+
+    @FunctionalInterface
+    private interface PropertyWriter {
+
+        void write(Object graphObject, Object value) throws Throwable;
+
+    }
+
+    private record Property(JavaType javaType, MethodHandle getter, MethodHandle setter) {
+
+        Class<?> type() {
+            return javaType.getRawClass();
+        }
+    }
+}
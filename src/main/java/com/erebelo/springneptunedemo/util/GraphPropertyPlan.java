@@ -0,0 +1,177 @@
+package com.erebelo.springneptunedemo.util;
+
+import static com.erebelo.springneptunedemo.util.GraphUtil.CANONICAL_PROPERTIES;
+import static com.erebelo.springneptunedemo.util.GraphUtil.NESTED_PROPERTY_DELIMITER;
+import static com.erebelo.springneptunedemo.util.GraphUtil.SEARCH_PROPERTIES;
+import static com.erebelo.springneptunedemo.util.ObjectMapperUtil.objectMapper;
+import static com.erebelo.springneptunedemo.util.TextUtil.normalizeSearchText;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Visits the vertex/edge properties of a graph object the same way `GraphUtil`
+ * does from its Jackson map conversion, but from a plan computed once per class:
+ * the flattened property names, getters (invoked through method handles), value
+ * converters, canonical forms and search shadow properties are all resolved
+ * ahead of time, so visiting an object builds no intermediate map.
+ * <p>
+ * Values are visited as Jackson would have converted them (e.g. `LocalDate` as
+ * an ISO date string). Classes holding maps or untyped properties, whose
+ * flattened names are only known at runtime, cannot be planned.
+ */
+final class GraphPropertyPlan {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /*
+     * Empty for the classes that cannot be planned, which are left to Jackson.
+     */
+    private static final ClassValue<Optional<GraphPropertyPlan>> PLANS = new ClassValue<>() {
+        @Override
+        protected Optional<GraphPropertyPlan> computeValue(Class<?> type) {
+            try {
+                return Optional.of(new GraphPropertyPlan(compileSteps(type, null)));
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return Optional.empty();
+            }
+        }
+    };
+
+    private final List<Step> steps;
+
+    private GraphPropertyPlan(List<Step> steps) {
+        this.steps = steps;
+    }
+
+    static Optional<GraphPropertyPlan> forClass(Class<?> type) {
+        return PLANS.get(type);
+    }
+
+    void visit(Object graphObject, BiConsumer<String, Object> propertyConsumer,
+            Consumer<String> nullPropertyConsumer) {
+        try {
+            for (Step step : steps) {
+                step.visit(graphObject, propertyConsumer, nullPropertyConsumer);
+            }
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /*
+     * Steps of the top-level properties (without prefix) or of the properties of
+     * a nested object, which are flattened one level deep only.
+     */
+    private static List<Step> compileSteps(Class<?> type, String prefix) throws ReflectiveOperationException {
+        BeanDescription description = objectMapper.getSerializationConfig()
+                .introspect(objectMapper.constructType(type));
+
+        List<Step> steps = new ArrayList<>();
+        for (BeanPropertyDefinition definition : description.findProperties()) {
+            if (!definition.hasGetter()) {
+                continue;
+            }
+
+            JavaType javaType = definition.getPrimaryType();
+            Class<?> rawClass = javaType.getRawClass();
+            if (rawClass == Object.class || javaType.isMapLikeType()) {
+                throw new IllegalArgumentException("Untyped property: " + definition.getName());
+            }
+
+            MethodHandle getter = LOOKUP.unreflect(definition.getGetter().getAnnotated()).asType(GETTER_TYPE);
+            if (prefix == null && GraphObjectMapper.isNestedObject(javaType)) {
+                steps.add(new NestedStep(definition.getName(), getter, compileSteps(rawClass, definition.getName())));
+            } else {
+                String key = prefix == null
+                        ? definition.getName()
+                        : prefix + NESTED_PROPERTY_DELIMITER + definition.getName();
+                steps.add(new ScalarStep(key, getter, converter(javaType), CANONICAL_PROPERTIES.get(key),
+                        prefix == null ? SEARCH_PROPERTIES.get(key) : null));
+            }
+        }
+
+        return List.copyOf(steps);
+    }
+
+    /*
+     * Converts a value like `objectMapper.convertValue()` does, with shortcuts for
+     * the common types.
+     */
+    private static UnaryOperator<Object> converter(JavaType javaType) {
+        Class<?> boxedType = MethodType.methodType(javaType.getRawClass()).wrap().returnType();
+
+        if (boxedType == String.class || boxedType == Boolean.class || Number.class.isAssignableFrom(boxedType)) {
+            return UnaryOperator.identity();
+        }
+        if (boxedType == LocalDate.class) {
+            return Object::toString;
+        }
+        if (boxedType.isEnum()) {
+            return value -> ((Enum<?>) value).name();
+        }
+        return value -> objectMapper.convertValue(value, Object.class);
+    }
+
+    private interface Step {
+
+        void visit(Object graphObject, BiConsumer<String, Object> propertyConsumer,
+                Consumer<String> nullPropertyConsumer) throws Throwable;
+
+    }
+
+    private record ScalarStep(String key, MethodHandle getter, UnaryOperator<Object> converter,
+            UnaryOperator<String> canonicalizer, String searchKey) implements Step {
+
+        @Override
+        public void visit(Object graphObject, BiConsumer<String, Object> propertyConsumer,
+                Consumer<String> nullPropertyConsumer) throws Throwable {
+            Object value = (Object) getter.invokeExact(graphObject);
+            if (value == null) {
+                nullPropertyConsumer.accept(key);
+                if (searchKey != null) {
+                    nullPropertyConsumer.accept(searchKey);
+                }
+                return;
+            }
+
+            value = converter.apply(value);
+            propertyConsumer.accept(key,
+                    canonicalizer != null && value instanceof String text ? canonicalizer.apply(text) : value);
+            if (searchKey != null && value instanceof String text) {
+                propertyConsumer.accept(searchKey, normalizeSearchText(text));
+            }
+        }
+    }
+
+    private record NestedStep(String key, MethodHandle getter, List<Step> nestedSteps) implements Step {
+
+        @Override
+        public void visit(Object graphObject, BiConsumer<String, Object> propertyConsumer,
+                Consumer<String> nullPropertyConsumer) throws Throwable {
+            Object nestedObject = (Object) getter.invokeExact(graphObject);
+            if (nestedObject == null) {
+                nullPropertyConsumer.accept(key);
+                return;
+            }
+
+            for (Step step : nestedSteps) {
+                step.visit(nestedObject, propertyConsumer, nullPropertyConsumer);
+            }
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.erebelo.springneptunedemo.util;
 
+import static com.erebelo.springneptunedemo.constant.UserConstant.ADDRESS_STATE_PROPERTY;
+import static com.erebelo.springneptunedemo.constant.UserConstant.NAME_PROPERTY;
+import static com.erebelo.springneptunedemo.constant.UserConstant.NAME_SEARCH_PROPERTY;
 import static com.erebelo.springneptunedemo.util.ObjectMapperUtil.objectMapper;
+import static com.erebelo.springneptunedemo.util.TextUtil.normalizeSearchText;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import java.util.ArrayList;
@@ -8,74 +12,200 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.experimental.UtilityClass;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.springframework.http.HttpMethod;
 
 @UtilityClass
 public class GraphUtil {
 
-    private static final String NESTED_PROPERTY_DELIMITER = "_";
+    static final String NESTED_PROPERTY_DELIMITER = "_";
+
+    /*
+     * Shadow properties holding the normalized value of a searchable property.
+     * Their names must not contain the nested property delimiter.
+     */
+    static final Map<String, String> SEARCH_PROPERTIES = Map.of(NAME_PROPERTY, NAME_SEARCH_PROPERTY);
+
+    /*
+     * Properties stored in canonical form, so that they can be filtered by
+     * equality.
+     */
+    static final Map<String, UnaryOperator<String>> CANONICAL_PROPERTIES = Map.of(ADDRESS_STATE_PROPERTY,
+            TextUtil::canonicalizeCode);
+
+    /*
+     * Properties written with the `single` cardinality. Neptune defaults to `set`,
+     * under which writing a different value adds it next to the previous ones
+     * (e.g. the canonical value next to the one stored before the migration).
+     */
+    static final Set<String> SINGLE_CARDINALITY_PROPERTIES = Stream
+            .concat(SEARCH_PROPERTIES.values().stream(), CANONICAL_PROPERTIES.keySet().stream())
+            .collect(Collectors.toUnmodifiableSet());
 
     private static final String UPDATE_PROPERTIES_ERROR_MESSAGE = "Error updating vertex/edge properties: ";
     private static final String MAP_OBJECT_ERROR_MESSAGE = "Unexpected error while mapping vertex/edge properties to "
             + "graph object: ";
 
-    @SuppressWarnings("unchecked")
     public static <T> void updateVertexAndEdgeProperties(GraphTraversal<?, ?> gtObject, T graphObject, String op) {
         try {
-            // List to collect properties whose value is null to be dropped
-            List<String> propertiesToDrop = new ArrayList<>();
+            addPropertySteps(gtObject, graphObject, op);
+
+            if (op.equals(HttpMethod.PUT.name()) || op.equals(HttpMethod.PATCH.name())) {
+                gtObject.iterate();
+            }
+        } catch (Exception e) {
+            throw new IllegalArgumentException(UPDATE_PROPERTIES_ERROR_MESSAGE + e.getMessage(), e);
+        }
+    }
+
+    /*
+     * Same as `updateVertexAndEdgeProperties()` but leaves the traversal
+     * unexecuted, so that the caller decides how to submit it (e.g.
+     * asynchronously).
+     */
+    public static <T> void appendVertexAndEdgeProperties(GraphTraversal<?, ?> gtObject, T graphObject, String op) {
+        try {
+            addPropertySteps(gtObject, graphObject, op);
+        } catch (Exception e) {
+            throw new IllegalArgumentException(UPDATE_PROPERTIES_ERROR_MESSAGE + e.getMessage(), e);
+        }
+    }
 
-            // Convert Graph Object to Map<String, Object>
-            Map<String, Object> properties = objectMapper.convertValue(graphObject, new TypeReference<>() {
+    /*
+     * Flattened, canonicalized properties of a graph object, including the search
+     * shadow properties and without the null ones, e.g. to create a vertex/edge
+     * from a map in `mergeV()`/`mergeE()`.
+     */
+    public static <T> Map<String, Object> toVertexAndEdgeProperties(T graphObject) {
+        try {
+            Map<String, Object> properties = new HashMap<>();
+            visitProperties(graphObject, properties::put, key -> {
             });
 
-            // Iterate through the Map and update Vertex/Edge properties
-            for (Map.Entry<String, Object> entry : properties.entrySet()) {
-                String key = entry.getKey();
-                Object value = entry.getValue();
-                if (value != null) {
-                    if (value instanceof Map) {
-                        // Flatten nested Object Map into Vertex/Edge properties
-                        flattenNestedProperties(gtObject, key, (Map<String, Object>) value, propertiesToDrop);
-                    } else {
-                        gtObject.property(key, value);
-                    }
-                } else {
-                    // Collect property if value is null
-                    propertiesToDrop.add(key);
-                }
+            return properties;
+        } catch (Exception e) {
+            throw new IllegalArgumentException(UPDATE_PROPERTIES_ERROR_MESSAGE + e.getMessage(), e);
+        }
+    }
+
+    private static <T> void addPropertySteps(GraphTraversal<?, ?> gtObject, T graphObject, String op) {
+        // List to collect properties whose value is null to be dropped
+        List<String> propertiesToDrop = new ArrayList<>();
+
+        visitProperties(graphObject, (key, value) -> {
+            if (SINGLE_CARDINALITY_PROPERTIES.contains(key)) {
+                gtObject.property(VertexProperty.Cardinality.single, key, value);
+            } else {
+                gtObject.property(key, value);
             }
+        }, propertiesToDrop::add);
 
-            // Drop all collected properties at once
-            if (op.equals(HttpMethod.PUT.name()) || op.equals(HttpMethod.PATCH.name())) {
-                if (!propertiesToDrop.isEmpty()) {
-                    gtObject.properties(propertiesToDrop.toArray(new String[0])).drop();
+        // Drop all collected properties at once
+        if ((op.equals(HttpMethod.PUT.name()) || op.equals(HttpMethod.PATCH.name())) && !propertiesToDrop.isEmpty()) {
+            gtObject.properties(propertiesToDrop.toArray(new String[0])).drop();
+        }
+    }
+
+    /*
+     * Graph objects are visited through their precomputed property plan, request
+     * maps (e.g. PATCH) as they are. Only the classes that cannot be planned go
+     * through a Jackson map conversion first.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> void visitProperties(T graphObject, BiConsumer<String, Object> propertyConsumer,
+            Consumer<String> nullPropertyConsumer) {
+        if (graphObject instanceof Map) {
+            visitMapProperties((Map<String, Object>) graphObject, propertyConsumer, nullPropertyConsumer);
+            return;
+        }
+
+        Optional<GraphPropertyPlan> plan = GraphPropertyPlan.forClass(graphObject.getClass());
+        if (plan.isPresent()) {
+            plan.get().visit(graphObject, propertyConsumer, nullPropertyConsumer);
+            return;
+        }
+
+        // Convert Graph Object to Map<String, Object>
+        visitMapProperties(objectMapper.convertValue(graphObject, new TypeReference<>() {
+        }), propertyConsumer, nullPropertyConsumer);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void visitMapProperties(Map<String, Object> properties,
+            BiConsumer<String, Object> propertyConsumer, Consumer<String> nullPropertyConsumer) {
+        // Iterate through the Map and visit Vertex/Edge properties
+        for (Map.Entry<String, Object> entry : properties.entrySet()) {
+            String key = entry.getKey();
+            Object value = entry.getValue();
+            if (value != null) {
+                if (value instanceof Map) {
+                    // Flatten nested Object Map into Vertex/Edge properties
+                    flattenNestedProperties(key, (Map<String, Object>) value, propertyConsumer,
+                            nullPropertyConsumer);
+                } else {
+                    propertyConsumer.accept(key, canonicalValue(key, value));
+                    visitSearchProperty(key, value, propertyConsumer);
+                }
+            } else {
+                // Collect property if value is null
+                nullPropertyConsumer.accept(key);
+                if (SEARCH_PROPERTIES.containsKey(key)) {
+                    nullPropertyConsumer.accept(SEARCH_PROPERTIES.get(key));
                 }
-                gtObject.iterate();
             }
-        } catch (Exception e) {
-            throw new IllegalArgumentException(UPDATE_PROPERTIES_ERROR_MESSAGE + e.getMessage(), e);
         }
     }
 
-    private static void flattenNestedProperties(GraphTraversal<?, ?> gtObject, String prefix,
-            Map<String, Object> nestedProperties, List<String> propertiesToDrop) {
+    /*
+     * Keep the shadow property in sync with the searchable one, so that searches
+     * are served by the normalized value.
+     */
+    private static void visitSearchProperty(String key, Object value, BiConsumer<String, Object> propertyConsumer) {
+        String searchKey = SEARCH_PROPERTIES.get(key);
+        if (searchKey != null && value instanceof String text) {
+            propertyConsumer.accept(searchKey, normalizeSearchText(text));
+        }
+    }
+
+    private static Object canonicalValue(String key, Object value) {
+        UnaryOperator<String> canonicalizer = CANONICAL_PROPERTIES.get(key);
+        if (canonicalizer != null && value instanceof String text) {
+            return canonicalizer.apply(text);
+        }
+
+        return value;
+    }
+
+    private static void flattenNestedProperties(String prefix, Map<String, Object> nestedProperties,
+            BiConsumer<String, Object> propertyConsumer, Consumer<String> nullPropertyConsumer) {
         for (Map.Entry<String, Object> entry : nestedProperties.entrySet()) {
             String key = prefix + NESTED_PROPERTY_DELIMITER + entry.getKey();
             Object value = entry.getValue();
             if (value != null) {
-                gtObject.property(key, value);
+                propertyConsumer.accept(key, canonicalValue(key, value));
             } else {
                 // Collect property if value is null
-                propertiesToDrop.add(key);
+                nullPropertyConsumer.accept(key);
             }
         }
     }
 
     public static <T> T mapVertexAndEdgeToGraphObject(Map<Object, Object> propertiesMap, Class<T> clazz) {
         try {
+            Optional<GraphObjectMapper<T>> mapper = GraphObjectMapper.forClass(clazz);
+            if (mapper.isPresent()) {
+                return mapper.get().map(propertiesMap);
+            }
+
             // Parse vertex properties dynamically and generically
             Map<String, Object> parsedProperties = parseVertexProperties(propertiesMap);
 
@@ -86,6 +216,25 @@ public class GraphUtil {
         }
     }
 
+    public static <T> T mapEdgeAndAdjacentVertexToGraphObject(Map<Object, Object> edgePropertiesMap,
+            Map<Object, Object> vertexPropertiesMap, String vertexProperty, Class<T> clazz) {
+        try {
+            Optional<GraphObjectMapper<T>> mapper = GraphObjectMapper.forClass(clazz);
+            if (mapper.isPresent()) {
+                return mapper.get().map(edgePropertiesMap, vertexProperty, vertexPropertiesMap);
+            }
+
+            // Nest the adjacent vertex properties under the given property so the edge
+            // and its vertex are converted to the target class in a single pass
+            Map<String, Object> parsedProperties = parseVertexProperties(edgePropertiesMap);
+            parsedProperties.put(vertexProperty, parseVertexProperties(vertexPropertiesMap));
+
+            return objectMapper.convertValue(parsedProperties, clazz);
+        } catch (Exception e) {
+            throw new IllegalArgumentException(MAP_OBJECT_ERROR_MESSAGE + e.getMessage(), e);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private static Map<String, Object> parseVertexProperties(Map<Object, Object> propertiesMap) {
         Map<String, Object> result = new HashMap<>();
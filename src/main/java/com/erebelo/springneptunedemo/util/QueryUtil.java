@@ -1,10 +1,15 @@
 package com.erebelo.springneptunedemo.util;
 
+import com.erebelo.springneptunedemo.exception.model.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import lombok.experimental.UtilityClass;
 
 @UtilityClass
 public class QueryUtil {
 
+    private static final String INVALID_CURSOR_ERROR_MESSAGE = "Invalid cursor: ";
+
     public static boolean isValidProperty(String p) {
         return !(p == null || p.isBlank());
     }
@@ -15,4 +20,27 @@ public class QueryUtil {
 
         return new int[]{start, end};
     }
+
+    /*
+     * Cursors are opaque to the clients: they carry the sort key (vertex id) of
+     * the last element returned, from which the next page resumes.
+     */
+    public static String encodeCursor(String lastId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(lastId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /*
+     * A blank cursor starts from the first element, so it decodes to null.
+     */
+    public static String decodeCursor(String cursor) {
+        if (!isValidProperty(cursor)) {
+            return null;
+        }
+
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(INVALID_CURSOR_ERROR_MESSAGE + cursor);
+        }
+    }
 }
@@ -0,0 +1,37 @@
+package com.erebelo.springneptunedemo.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class TextUtil {
+
+    private static final Pattern DIACRITICAL_MARKS = Pattern.compile("\\p{M}+");
+
+    /*
+     * Lower-case and strip the accents of a text (e.g. "Zoë Ångström" becomes "zoe
+     * angstrom") so it can be matched with plain, index-friendly predicates
+     * instead of case-insensitive regexes.
+     */
+    public static String normalizeSearchText(String text) {
+        if (text == null) {
+            return null;
+        }
+
+        String decomposed = Normalizer.normalize(text.strip(), Normalizer.Form.NFD);
+        return DIACRITICAL_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /*
+     * Canonical form of the codes compared by equality (e.g. " ca" becomes "CA").
+     */
+    public static String canonicalizeCode(String code) {
+        if (code == null) {
+            return null;
+        }
+
+        return code.strip().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,24 @@
+package com.erebelo.springneptunedemo.util;
+
+import java.util.Locale;
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class UsernameUtil {
+
+    private static final char AT_SIGN = '@';
+
+    public static boolean isUsernameInvalid(String username) {
+        return username == null || username.isEmpty() || username.contains(" ") || username.equals("null");
+    }
+
+    /*
+     * Usernames are stored lower-cased and prefixed with '@'.
+     */
+    public static String normalizeUsername(String username) {
+        if (username.charAt(0) != AT_SIGN) {
+            username = AT_SIGN + username;
+        }
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
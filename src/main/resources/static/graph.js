@@ -20,6 +20,11 @@ document.getElementById("action").addEventListener("change", function () {
   } else if (action === "get-user-and-relationships-by-id") {
     document.getElementById("user-id-container").style.display = "block";
     sendButton.disabled = false;
+  } else if (action === "explore-user-neighborhood") {
+    document.getElementById("user-id-container").style.display = "block";
+    document.getElementById("radius-container").style.display = "block";
+    document.getElementById("node-limit-container").style.display = "block";
+    sendButton.disabled = false;
   } else {
     sendButton.disabled = true;
   }
@@ -48,9 +53,17 @@ document
     } else if (action === "get-user-and-relationships-by-id") {
       const userId = document.getElementById("user-id").value;
       data = await fetchUserAndRelationshipsById(userId);
+    } else if (action === "explore-user-neighborhood") {
+      const userId = document.getElementById("user-id").value;
+      const radius = document.getElementById("radius").value;
+      const nodeLimit = document.getElementById("node-limit").value;
+      data = await fetchNeighborhood(userId, radius, nodeLimit);
     }
 
-    initializeGraph(data);
+    const cy = await initializeGraph(data);
+    if (action === "explore-user-neighborhood") {
+      addExpandNeighborhoodFeature(cy);
+    }
   });
 
 function resetInputFields() {
@@ -59,6 +72,8 @@ function resetInputFields() {
   document.getElementById("address-state").value = "";
   document.getElementById("limit").value = "";
   document.getElementById("page").value = "";
+  document.getElementById("radius").value = "1";
+  document.getElementById("node-limit").value = "200";
 }
 
 function resetGraph() {
@@ -146,6 +161,23 @@ async function fetchUserAndRelationshipsById(userId) {
   }
 }
 
+async function fetchNeighborhood(seedId, radius, limit) {
+  try {
+    const response = await fetch(
+      `/spring-neptune-demo/graph/neighborhood?seedId=${seedId}&radius=${radius}&limit=${limit}`
+    );
+
+    const data = await response.json();
+    console.log("fetchNeighborhood data", data);
+
+    return response.ok
+      ? transformGraphData(data)
+      : { elements: { nodes: [], edges: [] } };
+  } catch (error) {
+    console.error("Error hitting fetchNeighborhood", error);
+  }
+}
+
 function transformUserDataList(data) {
   const output = { elements: { nodes: [], edges: [] } };
 
@@ -334,6 +366,30 @@ async function initializeGraph(data) {
 
   addOpenPopupFeature(cy);
   cy.fit();
+
+  return cy;
+}
+
+// Only the neighborhood of the double tapped user is fetched and merged into
+// the graph, so the rendered graph grows with the exploration only
+function addExpandNeighborhoodFeature(cy) {
+  cy.on("dbltap", "node", async function (event) {
+    const nodeLimit = document.getElementById("node-limit").value;
+    const data = await fetchNeighborhood(event.target.id(), 1, nodeLimit);
+    if (!data) {
+      return;
+    }
+
+    const newElements = [
+      ...data.elements.nodes,
+      ...data.elements.edges,
+    ].filter((element) => cy.getElementById(element.data.id).empty());
+
+    if (newElements.length > 0) {
+      cy.add(newElements);
+      cy.layout(layoutConfig(cy.edges().length)).run();
+    }
+  });
 }
 
 function calculateNodeSize(label) {
@@ -0,0 +1,52 @@
+package com.erebelo.springneptunedemo.cache;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.IntStream;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.jupiter.api.Test;
+
+class UsernameBloomFilterTest {
+
+    private static final int USERNAME_COUNT = 1000;
+
+    @Test
+    void testLoadedFilterHasNoFalseNegatives() {
+        GraphTraversalSource g = traversal().withEmbedded(TinkerGraph.open());
+        IntStream.range(0, USERNAME_COUNT)
+                .forEach(i -> g.addV("User").property("username", "@user" + i).iterate());
+
+        UsernameBloomFilter usernameFilter = new UsernameBloomFilter(g, true, USERNAME_COUNT, 0.01);
+        usernameFilter.load();
+        usernameFilter.put("@john");
+
+        assertThat(IntStream.range(0, USERNAME_COUNT)).allMatch(i -> usernameFilter.mightContain("@user" + i));
+        assertThat(usernameFilter.mightContain("@john")).isTrue();
+
+        // Expected false positive rate is 1%, allow some margin
+        long falsePositives = IntStream.range(0, USERNAME_COUNT)
+                .filter(i -> usernameFilter.mightContain("@unknown" + i)).count();
+        assertThat(falsePositives).isLessThan(USERNAME_COUNT / 20);
+    }
+
+    @Test
+    void testFilterMightContainAnyUsernameUntilLoaded() {
+        GraphTraversalSource g = traversal().withEmbedded(TinkerGraph.open());
+
+        UsernameBloomFilter usernameFilter = new UsernameBloomFilter(g, true, USERNAME_COUNT, 0.01);
+
+        assertThat(usernameFilter.mightContain("@unknown")).isTrue();
+    }
+
+    @Test
+    void testDisabledFilterMightContainAnyUsername() {
+        GraphTraversalSource g = traversal().withEmbedded(TinkerGraph.open());
+
+        UsernameBloomFilter usernameFilter = new UsernameBloomFilter(g, false, USERNAME_COUNT, 0.01);
+        usernameFilter.load();
+
+        assertThat(usernameFilter.mightContain("@unknown")).isTrue();
+    }
+}
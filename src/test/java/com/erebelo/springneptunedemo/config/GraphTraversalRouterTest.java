@@ -0,0 +1,55 @@
+package com.erebelo.springneptunedemo.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class GraphTraversalRouterTest {
+
+    private final GraphTraversalSource writer = mock(GraphTraversalSource.class);
+    private final GraphTraversalSource reader = mock(GraphTraversalSource.class);
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testReaderAfterWriteWithReadYourWritesSuccessful() {
+        GraphTraversalRouter router = new GraphTraversalRouter(writer, reader, true, null);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        assertThat(router.reader()).isSameAs(reader);
+        assertThat(router.writer()).isSameAs(writer);
+        assertThat(router.reader()).isSameAs(writer);
+
+        // A new request reads from the replicas again
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertThat(router.reader()).isSameAs(reader);
+    }
+
+    @Test
+    void testReaderAfterWriteWithoutReadYourWritesSuccessful() {
+        GraphTraversalRouter router = new GraphTraversalRouter(writer, reader, false, null);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        router.writer();
+
+        assertThat(router.reader()).isSameAs(reader);
+    }
+
+    @Test
+    void testReaderAfterWriteOutsideRequestSuccessful() {
+        GraphTraversalRouter router = new GraphTraversalRouter(writer, reader, true, null);
+
+        router.writer();
+
+        assertThat(router.reader()).isSameAs(reader);
+    }
+}
@@ -0,0 +1,110 @@
+package com.erebelo.springneptunedemo.controller;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.erebelo.springneptunedemo.config.GraphTraversalRouter;
+import com.erebelo.springneptunedemo.exception.model.NotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GraphControllerTest {
+
+    private GraphController controller;
+
+    /*
+     * 3 -> 1 -> 2 -> 4 -> 5
+     */
+    @BeforeEach
+    void setUp() {
+        GraphTraversalSource g = traversal().withEmbedded(TinkerGraph.open());
+        for (String id : List.of("1", "2", "3", "4", "5")) {
+            g.addV("User").property(T.id, id).property("username", "@user" + id).iterate();
+        }
+        follow(g, "3", "1");
+        follow(g, "1", "2");
+        follow(g, "2", "4");
+        follow(g, "4", "5");
+
+        controller = new GraphController(GraphTraversalRouter.of(g));
+    }
+
+    @Test
+    void testGetNeighborhoodWithinRadiusSuccessful() {
+        Map<String, Object> response = controller.getNeighborhood("1", 1, 200);
+
+        assertThat(vertices(response)).containsOnlyKeys("1", "2", "3");
+        assertThat(edges(response).values()).extracting(edge -> edge.get("from") + "->" + edge.get("to"))
+                .containsExactlyInAnyOrder("3->1", "1->2");
+    }
+
+    @Test
+    void testGetNeighborhoodExpandsHopByHopSuccessful() {
+        Map<String, Object> response = controller.getNeighborhood("1", 2, 200);
+
+        assertThat(vertices(response)).containsOnlyKeys("1", "2", "3", "4");
+        assertThat(edges(response)).hasSize(3);
+    }
+
+    @Test
+    void testGetNeighborhoodRadiusZeroReturnsSeedOnly() {
+        Map<String, Object> response = controller.getNeighborhood("1", 0, 200);
+
+        assertThat(vertices(response)).containsOnlyKeys("1");
+        assertThat(edges(response)).isEmpty();
+    }
+
+    @Test
+    void testGetNeighborhoodStopsAtLimit() {
+        Map<String, Object> response = controller.getNeighborhood("2", 5, 3);
+
+        assertThat(vertices(response)).hasSize(3).containsKey("2");
+    }
+
+    @Test
+    void testGetNeighborhoodUnknownSeedNotFound() {
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> controller.getNeighborhood("9", 1, 200));
+
+        assertEquals("User not found by id: 9", exception.getMessage());
+    }
+
+    @Test
+    void testGetNeighborhoodOutOfBoundsParametersInvalid() throws Exception {
+        Method method = GraphController.class.getMethod("getNeighborhood", String.class, Integer.class,
+                Integer.class);
+
+        try (ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory()) {
+            Set<ConstraintViolation<GraphController>> violations = validatorFactory.getValidator().forExecutables()
+                    .validateParameters(controller, method, new Object[]{"1", 6, 2001});
+
+            assertThat(violations).extracting(ConstraintViolation::getInvalidValue).containsExactlyInAnyOrder(6, 2001);
+        }
+    }
+
+    private static void follow(GraphTraversalSource g, String fromId, String toId) {
+        g.V(fromId).addE("FOLLOW").to(g.V(toId).next()).iterate();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Object, Map<String, Object>> vertices(Map<String, Object> response) {
+        return (Map<Object, Map<String, Object>>) response.get("vertices");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Object, Map<String, Object>> edges(Map<String, Object> response) {
+        return (Map<Object, Map<String, Object>>) response.get("edges");
+    }
+}
@@ -0,0 +1,51 @@
+package com.erebelo.springneptunedemo.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class GremlinBulkheadFilterTest {
+
+    private static final String USERS_URI = "/spring-neptune-demo/users";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GremlinBulkheadFilter filter = new GremlinBulkheadFilter(1, Duration.ZERO, meterRegistry);
+
+    @Test
+    void testRequestsWithinPermitsSuccessful() throws Exception {
+        MockFilterChain firstFilterChain = new MockFilterChain();
+        MockFilterChain secondFilterChain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", USERS_URI), new MockHttpServletResponse(),
+                firstFilterChain);
+        filter.doFilter(new MockHttpServletRequest("GET", USERS_URI), new MockHttpServletResponse(),
+                secondFilterChain);
+
+        assertThat(firstFilterChain.getRequest()).isNotNull();
+        assertThat(secondFilterChain.getRequest()).isNotNull();
+        assertThat(meterRegistry.get("gremlin.bulkhead.permits.available").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void testRequestBeyondPermitsServiceUnavailable() throws Exception {
+        MockHttpServletResponse rejectedResponse = new MockHttpServletResponse();
+        MockFilterChain rejectedFilterChain = new MockFilterChain();
+
+        // The second request arrives while the first one holds the only permit
+        filter.doFilter(new MockHttpServletRequest("GET", USERS_URI), new MockHttpServletResponse(),
+                (request, response) -> filter.doFilter(new MockHttpServletRequest("GET", USERS_URI),
+                        rejectedResponse, rejectedFilterChain));
+
+        assertThat(rejectedResponse.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(rejectedResponse.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(rejectedFilterChain.getRequest()).isNull();
+        assertThat(meterRegistry.get("gremlin.bulkhead.rejected").counter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,120 @@
+package com.erebelo.springneptunedemo.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class UserRequestFilterTest {
+
+    private static final String USERS_URI = "/spring-neptune-demo/users";
+    private static final String USER_URI = USERS_URI + "/d9cb7a2c-2b6e-4cf5-9d4c-2f4a1b8f8e43";
+
+    private final UserRequestFilter filter = new UserRequestFilter();
+
+    @Test
+    void testPostNormalizesUsernameSuccessful() throws Exception {
+        List<String> bodies = new ArrayList<>();
+
+        filter.doFilter(request("POST", USERS_URI, "{\"name\":\"John Doe\",\"username\":\"JohnDoe\","
+                + "\"address\":{\"username\":\"Nested\"}}"), new MockHttpServletResponse(), bodyReader(bodies));
+
+        assertThat(bodies).containsExactly(
+                "{\"name\":\"John Doe\",\"username\":\"@johndoe\",\"address\":{\"username\":\"Nested\"}}");
+    }
+
+    @Test
+    void testPatchWithoutUsernameSuccessful() throws Exception {
+        List<String> bodies = new ArrayList<>();
+
+        filter.doFilter(request("PATCH", USER_URI, "{\n  \"name\": \"John Doe\"\n}"), new MockHttpServletResponse(),
+                bodyReader(bodies));
+
+        assertThat(bodies).containsExactly("{\"name\":\"John Doe\"}");
+    }
+
+    @Test
+    void testBodyReadMoreThanOnceSuccessful() throws Exception {
+        List<String> bodies = new ArrayList<>();
+
+        filter.doFilter(request("POST", USERS_URI, "{\"username\":\"JohnDoe\"}"), new MockHttpServletResponse(),
+                (request, response) -> {
+                    ServletInputStream inputStream = request.getInputStream();
+                    bodies.add(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+                    assertThat(inputStream.isFinished()).isTrue();
+
+                    bodies.add(new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+                    bodies.add(request.getReader().readLine());
+                });
+
+        assertThat(bodies).containsOnly("{\"username\":\"@johndoe\"}").hasSize(3);
+    }
+
+    @Test
+    void testReusedBufferHoldsOnlyTheNextBodySuccessful() throws Exception {
+        List<String> bodies = new ArrayList<>();
+
+        filter.doFilter(request("POST", USERS_URI, "{\"username\":\"JohnDoe\",\"name\":\"John Doe\"}"),
+                new MockHttpServletResponse(), bodyReader(bodies));
+        filter.doFilter(request("POST", USERS_URI, "{\"username\":\"Ann\"}"), new MockHttpServletResponse(),
+                bodyReader(bodies));
+
+        assertThat(bodies).containsExactly("{\"username\":\"@johndoe\",\"name\":\"John Doe\"}",
+                "{\"username\":\"@ann\"}");
+    }
+
+    @Test
+    void testPostWithoutUsernameBadRequest() throws Exception {
+        MockFilterChain filterChain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("POST", USERS_URI, "{\"name\":\"John Doe\"}"), response, filterChain);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        assertThat(response.getContentAsString()).contains("username is mandatory");
+        assertThat(filterChain.getRequest()).isNull();
+    }
+
+    @Test
+    void testPutWithNullUsernameBadRequest() throws Exception {
+        MockFilterChain filterChain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("PUT", USER_URI, "{\"username\":null}"), response, filterChain);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        assertThat(filterChain.getRequest()).isNull();
+    }
+
+    @Test
+    void testOtherPathsAreNotFiltered() throws Exception {
+        MockFilterChain filterChain = new MockFilterChain();
+        MockHttpServletRequest request = request("PUT", USER_URI + "/follow", "{\"name\":\"John Doe\"}");
+
+        filter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        assertThat(filterChain.getRequest()).isSameAs(request);
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    /*
+     * The body must be read within the chain, before its buffer is reused.
+     */
+    private static FilterChain bodyReader(List<String> bodies) {
+        return (request, response) -> bodies
+                .add(new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,66 @@
+package com.erebelo.springneptunedemo.profiling;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.erebelo.springneptunedemo.domain.response.profiling.SlowTraversalResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TraversalProfilerTest {
+
+    private GraphTraversalSource g;
+
+    @BeforeEach
+    void setUp() {
+        g = traversal().withEmbedded(TinkerGraph.open());
+        g.addV("User").property("username", "@johndoe").iterate();
+        g.addV("User").property("username", "@janedoe").iterate();
+    }
+
+    @Test
+    void testExecuteSampledSlowTraversalSuccessful() {
+        TraversalProfiler profiler = new TraversalProfiler(true, true, 1, Duration.ZERO, 1);
+
+        Optional<Vertex> vertex = profiler.execute(g.V().has("username", "@johndoe"), Traversal::tryNext);
+        profiler.execute(g.V().hasLabel("User").count(), Traversal::next);
+
+        assertThat(vertex).isPresent();
+        List<SlowTraversalResponse> slowTraversals = profiler.getSlowTraversals();
+        assertThat(slowTraversals).hasSize(1);
+        assertThat(slowTraversals.get(0).getTraversal()).contains("hasLabel", "count");
+        assertThat(slowTraversals.get(0).getFailed()).isFalse();
+        assertThat(slowTraversals.get(0).getProfile()).contains("Traversal Metrics");
+    }
+
+    @Test
+    void testExecuteSampledMutationOnlyTimed() {
+        TraversalProfiler profiler = new TraversalProfiler(true, true, 1, Duration.ZERO, 1);
+
+        profiler.execute(g.inject(1, 2).sideEffect(__.addV("User")), Traversal::next);
+
+        assertThat(g.V().hasLabel("User").count().next()).isEqualTo(3);
+        List<SlowTraversalResponse> slowTraversals = profiler.getSlowTraversals();
+        assertThat(slowTraversals).hasSize(1);
+        assertThat(slowTraversals.get(0).getTraversal()).contains("addV");
+        assertThat(slowTraversals.get(0).getProfile()).isNull();
+    }
+
+    @Test
+    void testExecuteDisabledSuccessful() {
+        TraversalProfiler profiler = new TraversalProfiler(false, true, 1, Duration.ZERO, 10);
+
+        Long count = profiler.execute(g.V().count(), Traversal::next);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(profiler.getSlowTraversals()).isEmpty();
+    }
+}
@@ -0,0 +1,101 @@
+package com.erebelo.springneptunedemo.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.erebelo.springneptunedemo.exception.model.ConflictException;
+import com.erebelo.springneptunedemo.repository.impl.FollowWriteCoalescer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class FollowWriteCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<List<FollowWriteCoalescer.Command<String>>> batches = new CopyOnWriteArrayList<>();
+
+    @Test
+    void testFlushOnMaxBatchSizeSuccessful() throws Exception {
+        FollowWriteCoalescer<String> coalescer = new FollowWriteCoalescer<>("follow", 2, Duration.ofHours(1),
+                this::completeBatch, meterRegistry);
+
+        CompletableFuture<String> firstResult = coalescer.submit("1", "3", null);
+        CompletableFuture<String> secondResult = coalescer.submit("2", "3", null);
+
+        assertThat(batches).hasSize(1);
+        assertThat(firstResult.get(1, TimeUnit.SECONDS)).isEqualTo("1-3");
+        assertThat(secondResult.get(1, TimeUnit.SECONDS)).isEqualTo("2-3");
+        assertThat(meterRegistry.get("users.follow.coalescer.batch.size").summary().totalAmount()).isEqualTo(2);
+    }
+
+    /*
+     * The delay is long enough for both commands to be submitted before the flush
+     * even on a stalled runner, and short enough for the 1s result timeouts.
+     */
+    @Test
+    void testFlushOnMaxDelaySuccessful() throws Exception {
+        FollowWriteCoalescer<String> coalescer = new FollowWriteCoalescer<>("follow", 100, Duration.ofMillis(200),
+                this::completeBatch, meterRegistry);
+
+        CompletableFuture<String> firstResult = coalescer.submit("1", "3", null);
+        CompletableFuture<String> secondResult = coalescer.submit("2", "3", null);
+
+        assertThat(firstResult.get(1, TimeUnit.SECONDS)).isEqualTo("1-3");
+        assertThat(secondResult.get(1, TimeUnit.SECONDS)).isEqualTo("2-3");
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).hasSize(2);
+    }
+
+    @Test
+    void testBatchFailureFailsEveryCommand() {
+        FollowWriteCoalescer<String> coalescer = new FollowWriteCoalescer<>("follow", 2, Duration.ofHours(1),
+                batch -> CompletableFuture.failedFuture(new ConflictException("Batch failed")), meterRegistry);
+
+        CompletableFuture<String> firstResult = coalescer.submit("1", "3", null);
+        CompletableFuture<String> secondResult = coalescer.submit("2", "3", null);
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> firstResult.get(1, TimeUnit.SECONDS));
+        assertThat(exception.getCause()).isInstanceOf(ConflictException.class);
+        assertThat(secondResult).isCompletedExceptionally();
+    }
+
+    @Test
+    void testCloseFlushesPendingCommands() throws Exception {
+        FollowWriteCoalescer<String> coalescer = new FollowWriteCoalescer<>("follow", 100, Duration.ofHours(1),
+                this::completeBatch, meterRegistry);
+
+        CompletableFuture<String> firstResult = coalescer.submit("1", "3", null);
+        CompletableFuture<String> secondResult = coalescer.submit("2", "3", null);
+        coalescer.close();
+
+        assertThat(batches).hasSize(1);
+        assertThat(firstResult).isCompletedWithValue("1-3");
+        assertThat(secondResult).isCompletedWithValue("2-3");
+    }
+
+    @Test
+    void testSubmitAfterCloseRejected() {
+        FollowWriteCoalescer<String> coalescer = new FollowWriteCoalescer<>("follow", 100, Duration.ofMillis(10),
+                this::completeBatch, meterRegistry);
+        coalescer.close();
+
+        CompletableFuture<String> result = coalescer.submit("1", "3", null);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+        assertThat(exception.getCause()).isInstanceOf(RejectedExecutionException.class);
+        assertThat(batches).isEmpty();
+    }
+
+    private CompletableFuture<Void> completeBatch(List<FollowWriteCoalescer.Command<String>> batch) {
+        batches.add(batch);
+        batch.forEach(command -> command.result().complete(command.fromId() + "-" + command.toId()));
+        return CompletableFuture.completedFuture(null);
+    }
+}
@@ -0,0 +1,51 @@
+package com.erebelo.springneptunedemo.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.erebelo.springneptunedemo.exception.model.ConflictException;
+import com.erebelo.springneptunedemo.exception.model.NotFoundException;
+import com.erebelo.springneptunedemo.repository.impl.UserRepositoryMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.Test;
+
+class UserRepositoryMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserRepositoryMetrics metrics = new UserRepositoryMetrics(meterRegistry, true);
+
+    @Test
+    void testRecordOutcomesSuccessful() {
+        metrics.record("findById", () -> "id");
+        assertThrows(NotFoundException.class, () -> metrics.record("findById", () -> {
+            throw new NotFoundException("User not found");
+        }));
+        assertThrows(IllegalStateException.class, () -> metrics.record("deleteById", () -> {
+            throw new IllegalStateException();
+        }));
+
+        assertThat(count("users.repository", "findById", "success")).isEqualTo(1);
+        assertThat(count("users.repository", "findById", "not_found")).isEqualTo(1);
+        assertThat(count("users.repository", "deleteById", "error")).isEqualTo(1);
+    }
+
+    @Test
+    void testRecordAsyncOutcomesSuccessful() {
+        metrics.recordAsync("insert", () -> CompletableFuture.completedFuture("id")).join();
+        CompletableFuture<Object> conflict = metrics.recordAsync("insert",
+                () -> CompletableFuture.supplyAsync(() -> {
+                    throw new ConflictException("User already exists");
+                }));
+
+        assertThrows(CompletionException.class, conflict::join);
+        assertThat(count("users.repository.async", "insert", "success")).isEqualTo(1);
+        assertThat(count("users.repository.async", "insert", "conflict")).isEqualTo(1);
+        assertThat(meterRegistry.get("users.repository.async").tag("backend", "embedded").timers()).hasSize(2);
+    }
+
+    private long count(String name, String operation, String outcome) {
+        return meterRegistry.get(name).tag("operation", operation).tag("outcome", outcome).timer().count();
+    }
+}
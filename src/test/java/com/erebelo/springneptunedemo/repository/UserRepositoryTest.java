@@ -2,7 +2,7 @@ package com.erebelo.springneptunedemo.repository;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.Merge.onCreate;
 import static org.apache.tinkerpop.gremlin.process.traversal.Merge.onMatch;
-import static org.apache.tinkerpop.gremlin.process.traversal.TextP.regex;
+import static org.apache.tinkerpop.gremlin.process.traversal.TextP.containing;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -13,17 +13,29 @@ import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
+import com.erebelo.springneptunedemo.cache.UserNodeCache;
+import com.erebelo.springneptunedemo.cache.UsernameBloomFilter;
+import com.erebelo.springneptunedemo.config.GraphTraversalRouter;
 import com.erebelo.springneptunedemo.domain.graph.node.UserNode;
+import com.erebelo.springneptunedemo.domain.request.NameMatch;
 import com.erebelo.springneptunedemo.exception.model.ConflictException;
+import com.erebelo.springneptunedemo.profiling.TraversalProfiler;
 import com.erebelo.springneptunedemo.repository.impl.UserRepositoryImpl;
+import com.erebelo.springneptunedemo.repository.impl.UserRepositoryMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 import org.apache.tinkerpop.gremlin.driver.exception.ResponseException;
 import org.apache.tinkerpop.gremlin.process.traversal.Merge;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
@@ -35,11 +47,13 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.FailStep;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.util.message.ResponseStatusCode;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
@@ -48,15 +62,36 @@ class UserRepositoryTest {
     @InjectMocks
     private UserRepositoryImpl repository;
 
+    @Mock
+    private GraphTraversalRouter router;
+
     @Mock
     private GraphTraversalSource traversalSource;
 
+    @Mock
+    private UserNodeCache cache;
+
+    @Mock
+    private UsernameBloomFilter usernameFilter;
+
+    @Spy
+    private UserRepositoryMetrics metrics = new UserRepositoryMetrics(new SimpleMeterRegistry(), true);
+
+    @Spy
+    private TraversalProfiler profiler = new TraversalProfiler(false, true, 0, Duration.ZERO, 0);
+
     @Mock
     private GraphTraversal<Vertex, Vertex> gtVertex;
 
     @Mock
     private GraphTraversal<Vertex, Map<Object, Object>> gtVertexMap;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(router.reader()).thenReturn(traversalSource);
+        lenient().when(router.writer()).thenReturn(traversalSource);
+    }
+
     @Test
     void testFindAllSuccessful() {
         given(traversalSource.V()).willReturn(gtVertex);
@@ -66,19 +101,84 @@ class UserRepositoryTest {
         given(gtVertex.elementMap()).willReturn(gtVertexMap);
         given(gtVertexMap.toList()).willReturn(Collections.singletonList(new HashMap<>()));
 
-        List<UserNode> response = repository.findAll("John", "CA", 10, 1);
+        List<UserNode> response = repository.findAll("Jöhn", NameMatch.CONTAINS, "ca", 10, 1);
 
         assertThat(response).isNotNull().hasSize(1);
 
         verify(traversalSource).V();
         verify(gtVertex).hasLabel("User");
-        verify(gtVertex).has("name", regex("(?i)John"));
-        verify(gtVertex).has("address_state", regex("^(?i)CA$"));
+        verify(gtVertex).has("nameSearch", containing("john"));
+        verify(gtVertex).has("address_state", P.eq("CA"));
         verify(gtVertex).range(0, 10);
         verify(gtVertex).elementMap();
         verify(gtVertexMap).toList();
     }
 
+    @Test
+    void testFindAllAfterSuccessful() {
+        given(traversalSource.V()).willReturn(gtVertex);
+        given(gtVertex.hasLabel(anyString())).willReturn(gtVertex);
+        given(gtVertex.has(any(T.class), any(P.class))).willReturn(gtVertex);
+        given(gtVertex.order()).willReturn(gtVertex);
+        given(gtVertex.by(any(T.class))).willReturn(gtVertex);
+        given(gtVertex.limit(anyLong())).willReturn(gtVertex);
+        given(gtVertex.elementMap()).willReturn(gtVertexMap);
+        given(gtVertexMap.toList()).willReturn(Collections.singletonList(new HashMap<>()));
+
+        List<UserNode> response = repository.findAllAfter(null, NameMatch.CONTAINS, null, 10, "lastId");
+
+        assertThat(response).isNotNull().hasSize(1);
+
+        verify(traversalSource).V();
+        verify(gtVertex).hasLabel("User");
+        verify(gtVertex).has(T.id, P.gt("lastId"));
+        verify(gtVertex).order();
+        verify(gtVertex).by(T.id);
+        verify(gtVertex).limit(10);
+        verify(gtVertex).elementMap();
+        verify(gtVertexMap).toList();
+    }
+
+    @Test
+    void testFindAllAfterEmptyLastPageSuccessful() {
+        given(traversalSource.V()).willReturn(gtVertex);
+        given(gtVertex.hasLabel(anyString())).willReturn(gtVertex);
+        given(gtVertex.has(any(T.class), any(P.class))).willReturn(gtVertex);
+        given(gtVertex.order()).willReturn(gtVertex);
+        given(gtVertex.by(any(T.class))).willReturn(gtVertex);
+        given(gtVertex.limit(anyLong())).willReturn(gtVertex);
+        given(gtVertex.elementMap()).willReturn(gtVertexMap);
+        given(gtVertexMap.toList()).willReturn(Collections.emptyList());
+
+        List<UserNode> response = repository.findAllAfter(null, NameMatch.CONTAINS, null, 10, "lastId");
+
+        assertThat(response).isEmpty();
+
+        verify(gtVertex).has(T.id, P.gt("lastId"));
+        verify(gtVertex).limit(10);
+    }
+
+    @Test
+    void testFindByIdLoadsCacheMissFromWriter() {
+        GraphTraversalSource readerSource = mock(GraphTraversalSource.class);
+        given(router.reader()).willReturn(readerSource);
+        given(cache.isEnabled()).willReturn(true);
+        given(cache.get(eq("1"), any())).willAnswer(
+                invocation -> invocation.<Function<String, UserNode>>getArgument(1).apply(invocation.getArgument(0)));
+        given(traversalSource.V()).willReturn(gtVertex);
+        given(gtVertex.hasLabel(anyString())).willReturn(gtVertex);
+        given(gtVertex.has(T.id, (Object) "1")).willReturn(gtVertex);
+        given(gtVertex.elementMap()).willReturn(gtVertexMap);
+        given(gtVertexMap.tryNext()).willReturn(Optional.of(new HashMap<>(Map.of(T.id, "1"))));
+
+        UserNode response = repository.findById("1");
+
+        assertEquals("1", response.getId());
+
+        verify(router).writer();
+        verify(readerSource, never()).V();
+    }
+
     @Test
     void testInsertSuccessful() {
         given(traversalSource.mergeV(anyMap())).willReturn(gtVertex);
@@ -0,0 +1,124 @@
+package com.erebelo.springneptunedemo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.erebelo.springneptunedemo.domain.graph.node.UserNode;
+import com.erebelo.springneptunedemo.domain.request.UserRequest;
+import com.erebelo.springneptunedemo.domain.response.bulk.BulkRowResponse;
+import com.erebelo.springneptunedemo.domain.response.bulk.BulkRowStatus;
+import com.erebelo.springneptunedemo.exception.model.BadRequestException;
+import com.erebelo.springneptunedemo.mapper.UserMapper;
+import com.erebelo.springneptunedemo.repository.ReactiveUserRepository;
+import com.erebelo.springneptunedemo.service.impl.ReactiveUserServiceImpl;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveUserServiceTest {
+
+    @InjectMocks
+    private ReactiveUserServiceImpl service;
+
+    @Mock
+    private ReactiveUserRepository repository;
+
+    @Spy
+    private UserMapper mapper = Mappers.getMapper(UserMapper.class);
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "bulkChunkSize", 2);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testBulkInsertByChunksSuccessful() {
+        given(repository.insertAll(anyList())).willReturn(Mono.just(List.of("1")),
+                Mono.just(Collections.<String>singletonList(null)));
+
+        List<BulkRowResponse> responses = service.bulkInsert(Flux.just(UserRequest.builder().username("@Ann").build(),
+                UserRequest.builder().username("john doe").build(), UserRequest.builder().username("Bob").build()))
+                .block();
+
+        assertThat(responses).extracting(BulkRowResponse::getIndex).containsExactly(0, 1, 2);
+        assertThat(responses).extracting(BulkRowResponse::getStatus).containsExactly(BulkRowStatus.CREATED,
+                BulkRowStatus.INVALID, BulkRowStatus.CONFLICT);
+        assertEquals("1", responses.get(0).getId());
+
+        ArgumentCaptor<List<UserNode>> nodesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(2)).insertAll(nodesCaptor.capture());
+        assertThat(nodesCaptor.getAllValues().stream().flatMap(List::stream).map(UserNode::getUsername))
+                .containsExactly("@ann", "@bob");
+    }
+
+    @Test
+    void testBulkInsertConstraintViolationInvalid() {
+        List<BulkRowResponse> responses = service.bulkInsert(Flux.just(UserRequest.builder().name("Ann").build()))
+                .block();
+
+        assertThat(responses).extracting(BulkRowResponse::getStatus).containsExactly(BulkRowStatus.INVALID);
+        assertEquals("[username is mandatory]", responses.get(0).getMessage());
+        verify(repository, never()).insertAll(anyList());
+    }
+
+    @Test
+    void testBulkInsertMalformedRowBadRequest() {
+        Flux<UserRequest> requests = Flux.concat(Flux.just(UserRequest.builder().username("ann").build()),
+                Flux.error(new DecodingException("Unexpected character")));
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> service.bulkInsert(requests).block());
+
+        assertEquals("Malformed bulk row at index 1: Unexpected character", exception.getMessage());
+        verify(repository, never()).insertAll(anyList());
+    }
+
+    @Test
+    void testPatchUsernameNormalizedSuccessful() {
+        given(repository.patch(eq("1"), anyMap())).willReturn(Mono.just(UserNode.builder().id("1").build()));
+
+        Map<String, Object> requestMap = new HashMap<>(Map.of("username", "Ann"));
+        service.patch("1", requestMap).block();
+
+        verify(repository).patch("1", Map.of("username", "@ann"));
+    }
+
+    @Test
+    void testPatchInvalidUsernameBadRequest() {
+        Map<String, Object> requestMap = new HashMap<>(Map.of("username", "john doe"));
+
+        assertThrows(BadRequestException.class, () -> service.patch("1", requestMap).block());
+        verify(repository, never()).patch(anyString(), any());
+    }
+}
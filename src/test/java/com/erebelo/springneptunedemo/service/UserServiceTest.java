@@ -0,0 +1,151 @@
+package com.erebelo.springneptunedemo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.erebelo.springneptunedemo.domain.graph.edge.FollowEdge;
+import com.erebelo.springneptunedemo.domain.graph.node.UserNode;
+import com.erebelo.springneptunedemo.domain.response.bulk.BulkRowResponse;
+import com.erebelo.springneptunedemo.domain.response.bulk.BulkRowStatus;
+import com.erebelo.springneptunedemo.exception.model.BadRequestException;
+import com.erebelo.springneptunedemo.mapper.UserMapper;
+import com.erebelo.springneptunedemo.repository.AsyncUserRepository;
+import com.erebelo.springneptunedemo.repository.UserRepository;
+import com.erebelo.springneptunedemo.service.impl.UserServiceImpl;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceTest {
+
+    @InjectMocks
+    private UserServiceImpl service;
+
+    @Mock
+    private UserRepository repository;
+
+    @Mock
+    private AsyncUserRepository asyncRepository;
+
+    @Spy
+    private UserMapper mapper = Mappers.getMapper(UserMapper.class);
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "bulkChunkSize", 2);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testBulkInsertByChunksSuccessful() {
+        given(repository.insertAll(anyList())).willReturn(List.of("1", "2"), Collections.singletonList(null));
+
+        List<BulkRowResponse> responses = service.bulkInsert(rows("{\"username\":\"@Ann\"}",
+                "{\"username\":\"john doe\"}", "{\"username\":\"Bob\"}", "{\"username\":\"@carl\"}"));
+
+        assertThat(responses).extracting(BulkRowResponse::getIndex).containsExactly(0, 1, 2, 3);
+        assertThat(responses).extracting(BulkRowResponse::getStatus).containsExactly(BulkRowStatus.CREATED,
+                BulkRowStatus.INVALID, BulkRowStatus.CREATED, BulkRowStatus.CONFLICT);
+        assertThat(responses).extracting(BulkRowResponse::getId).containsExactly("1", null, "2", null);
+        assertEquals("User already exists by username: @carl", responses.get(3).getMessage());
+
+        ArgumentCaptor<List<UserNode>> nodesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(2)).insertAll(nodesCaptor.capture());
+        assertThat(nodesCaptor.getAllValues().stream().flatMap(List::stream).map(UserNode::getUsername))
+                .containsExactly("@ann", "@bob", "@carl");
+    }
+
+    @Test
+    void testBulkInsertConstraintViolationInvalid() {
+        List<BulkRowResponse> responses = service.bulkInsert(rows("{\"name\":\"Ann\"}", "{\"username\":\"\"}"));
+
+        assertThat(responses).extracting(BulkRowResponse::getStatus).containsOnly(BulkRowStatus.INVALID);
+        assertThat(responses).extracting(BulkRowResponse::getMessage).containsOnly("[username is mandatory]");
+        verify(repository, never()).insertAll(anyList());
+    }
+
+    @Test
+    void testBulkInsertMalformedRowBadRequest() {
+        InputStream inputStream = rows("{\"username\":\"@ann\"}", "{\"username\":");
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> service.bulkInsert(inputStream));
+
+        assertThat(exception.getMessage()).startsWith("Malformed bulk row at index 1: ");
+        verify(repository, never()).insertAll(anyList());
+    }
+
+    @Test
+    void testBulkFollowByChunksSuccessful() {
+        given(repository.findExistingIds(anyCollection())).willReturn(Set.of("1", "2"), Set.of("1", "2"));
+        given(repository.createEdges(anyList())).willReturn(Arrays.asList("e1", null));
+
+        List<BulkRowResponse> responses = service.bulkFollow(rows("{\"fromId\":\"1\",\"toId\":\"2\"}",
+                "{\"fromId\":\"1\"}", "{\"fromId\":\"2\",\"toId\":\"1\"}", "{\"fromId\":\"1\",\"toId\":\"3\"}"));
+
+        assertThat(responses).extracting(BulkRowResponse::getIndex).containsExactly(0, 1, 2, 3);
+        assertThat(responses).extracting(BulkRowResponse::getStatus).containsExactly(BulkRowStatus.CREATED,
+                BulkRowStatus.INVALID, BulkRowStatus.CONFLICT, BulkRowStatus.NOT_FOUND);
+        assertThat(responses).extracting(BulkRowResponse::getMessage).containsExactly(null,
+                "fromId and toId are mandatory", "Existing edge found from user id: 2 to user id: 1",
+                "User not found by id: 3");
+        verify(repository, times(1)).createEdges(anyList());
+    }
+
+    @Test
+    void testBulkFollowAllUsersMissingNotWritten() {
+        given(repository.findExistingIds(anyCollection())).willReturn(Set.of());
+
+        List<BulkRowResponse> responses = service.bulkFollow(rows("{\"fromId\":\"1\",\"toId\":\"2\"}"));
+
+        assertThat(responses).extracting(BulkRowResponse::getStatus).containsExactly(BulkRowStatus.NOT_FOUND);
+        verify(repository, never()).createEdges(anyList());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testBulkFollowEdgeMappedSuccessful() {
+        given(repository.findExistingIds(anyCollection())).willReturn(Set.of("1", "2"));
+        given(repository.createEdges(anyList())).willReturn(List.of("e1"));
+
+        service.bulkFollow(rows("{\"fromId\":\"1\",\"toId\":\"2\",\"status\":\"ACTIVE\"}"));
+
+        ArgumentCaptor<List<FollowEdge>> edgesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(repository).createEdges(edgesCaptor.capture());
+        FollowEdge edge = edgesCaptor.getValue().get(0);
+        assertEquals("1", edge.getOut().getId());
+        assertEquals("2", edge.getIn().getId());
+        assertEquals("ACTIVE", edge.getStatus());
+    }
+
+    private static InputStream rows(String... rows) {
+        return new ByteArrayInputStream(String.join("\n", rows).getBytes(StandardCharsets.UTF_8));
+    }
+}
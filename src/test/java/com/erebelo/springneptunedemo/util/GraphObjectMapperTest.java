@@ -0,0 +1,69 @@
+package com.erebelo.springneptunedemo.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.erebelo.springneptunedemo.domain.graph.edge.FollowEdge;
+import com.erebelo.springneptunedemo.domain.graph.node.UserAddress;
+import com.erebelo.springneptunedemo.domain.graph.node.UserNode;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.junit.jupiter.api.Test;
+
+class GraphObjectMapperTest {
+
+    private static final String USER_ID = "d9cb7a2c-2b6e-4cf5-9d4c-2f4a1b8f8e43";
+    private static final String EDGE_ID = "5e0f1c3a-8f8e-4d1e-9a7b-6c2d3e4f5a6b";
+
+    @Test
+    void testMapVertexSuccessful() {
+        UserNode node = GraphObjectMapper.forClass(UserNode.class).orElseThrow().map(userVertexMap());
+
+        assertThat(node).isEqualTo(UserNode.builder().id(USER_ID).username("@johndoe").name("John Doe")
+                .address(UserAddress.builder().city("Los Angeles").state("CA").build()).build());
+    }
+
+    @Test
+    void testMapVertexWithoutNestedPropertiesSuccessful() {
+        Map<Object, Object> vertexMap = Map.of(T.id, USER_ID, T.label, "User", "username", "@johndoe");
+
+        UserNode node = GraphObjectMapper.forClass(UserNode.class).orElseThrow().map(vertexMap);
+
+        assertThat(node).isEqualTo(UserNode.builder().id(USER_ID).username("@johndoe").build());
+    }
+
+    @Test
+    void testMapEdgeAndAdjacentVertexSuccessful() {
+        Map<Object, Object> edgeMap = new HashMap<>();
+        edgeMap.put(T.id, EDGE_ID);
+        edgeMap.put(T.label, "FOLLOW");
+        edgeMap.put(Direction.OUT, Map.of(T.id, USER_ID, T.label, "User"));
+        edgeMap.put("status", "ACTIVE");
+        edgeMap.put("startPeriod", "2024-01-01");
+
+        FollowEdge edge = GraphObjectMapper.forClass(FollowEdge.class).orElseThrow().map(edgeMap, "out",
+                userVertexMap());
+
+        assertThat(edge.getId()).isEqualTo(EDGE_ID);
+        assertThat(edge.getStatus()).isEqualTo("ACTIVE");
+        assertThat(edge.getStartPeriod()).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(edge.getEndPeriod()).isNull();
+        assertThat(edge.getIn()).isNull();
+        assertThat(edge.getOut()).isEqualTo(GraphUtil.mapVertexAndEdgeToGraphObject(userVertexMap(), UserNode.class));
+    }
+
+    private static Map<Object, Object> userVertexMap() {
+        Map<Object, Object> vertexMap = new HashMap<>();
+        vertexMap.put(T.id, USER_ID);
+        vertexMap.put(T.label, "User");
+        vertexMap.put("username", "@johndoe");
+        vertexMap.put("name", "John Doe");
+        vertexMap.put("nameSearch", "john doe");
+        vertexMap.put("address_city", "Los Angeles");
+        vertexMap.put("address_state", "CA");
+
+        return vertexMap;
+    }
+}
@@ -0,0 +1,56 @@
+package com.erebelo.springneptunedemo.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.erebelo.springneptunedemo.domain.graph.edge.FollowEdge;
+import com.erebelo.springneptunedemo.domain.graph.node.UserAddress;
+import com.erebelo.springneptunedemo.domain.graph.node.UserNode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class GraphPropertyPlanTest {
+
+    @Test
+    void testVisitVertexPropertiesSuccessful() {
+        UserNode node = UserNode.builder().username("@johndoe").name("Jöhn Doe")
+                .address(UserAddress.builder().city("Los Angeles").state(" ca ").build()).build();
+        Map<String, Object> properties = new HashMap<>();
+        List<String> nullProperties = new ArrayList<>();
+
+        GraphPropertyPlan.forClass(UserNode.class).orElseThrow().visit(node, properties::put, nullProperties::add);
+
+        assertThat(properties).containsOnly(Map.entry("username", "@johndoe"), Map.entry("name", "Jöhn Doe"),
+                Map.entry("nameSearch", "john doe"), Map.entry("address_city", "Los Angeles"),
+                Map.entry("address_state", "CA"));
+        assertThat(nullProperties).containsExactlyInAnyOrder("id", "address_addressLine", "address_zipCode",
+                "address_country");
+    }
+
+    @Test
+    void testVisitNullNestedAndSearchPropertiesSuccessful() {
+        UserNode node = UserNode.builder().username("@johndoe").build();
+        Map<String, Object> properties = new HashMap<>();
+        List<String> nullProperties = new ArrayList<>();
+
+        GraphPropertyPlan.forClass(UserNode.class).orElseThrow().visit(node, properties::put, nullProperties::add);
+
+        assertThat(properties).containsOnly(Map.entry("username", "@johndoe"));
+        assertThat(nullProperties).containsExactlyInAnyOrder("id", "name", "nameSearch", "address");
+    }
+
+    @Test
+    void testVisitEdgePropertiesSuccessful() {
+        FollowEdge edge = FollowEdge.builder().status("ACTIVE").startPeriod(LocalDate.of(2024, 1, 1)).build();
+        Map<String, Object> properties = new HashMap<>();
+        List<String> nullProperties = new ArrayList<>();
+
+        GraphPropertyPlan.forClass(FollowEdge.class).orElseThrow().visit(edge, properties::put, nullProperties::add);
+
+        assertThat(properties).containsOnly(Map.entry("status", "ACTIVE"), Map.entry("startPeriod", "2024-01-01"));
+        assertThat(nullProperties).containsExactlyInAnyOrder("id", "endPeriod", "in", "out");
+    }
+}
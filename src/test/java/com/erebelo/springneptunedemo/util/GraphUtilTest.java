@@ -0,0 +1,63 @@
+package com.erebelo.springneptunedemo.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+class GraphUtilTest {
+
+    private GraphTraversalSource g;
+
+    /*
+     * Same default cardinality as Neptune.
+     */
+    @BeforeEach
+    void setUp() {
+        BaseConfiguration configuration = new BaseConfiguration();
+        configuration.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY,
+                VertexProperty.Cardinality.set.name());
+        g = TinkerGraph.open(configuration).traversal();
+    }
+
+    @Test
+    void testPatchReplacesSearchProperty() {
+        Vertex vertex = g.addV("User").property("name", "John").property("nameSearch", "john").next();
+
+        Map<String, Object> requestMap = new HashMap<>(Map.of("name", "Jane"));
+        GraphUtil.updateVertexAndEdgeProperties(g.V(vertex.id()), requestMap, HttpMethod.PATCH.name());
+
+        assertThat(g.V(vertex.id()).values("nameSearch").toList()).containsExactly("jane");
+    }
+
+    @Test
+    void testPatchDropsSearchProperty() {
+        Vertex vertex = g.addV("User").property(T.id, "1").property("name", "John").property("nameSearch", "john")
+                .next();
+
+        Map<String, Object> requestMap = new HashMap<>();
+        requestMap.put("name", null);
+        GraphUtil.updateVertexAndEdgeProperties(g.V(vertex.id()), requestMap, HttpMethod.PATCH.name());
+
+        assertThat(g.V(vertex.id()).values("nameSearch").toList()).isEmpty();
+    }
+
+    @Test
+    void testPatchReplacesCanonicalProperty() {
+        Vertex vertex = g.addV("User").property("address_state", "ca").next();
+
+        Map<String, Object> requestMap = new HashMap<>(Map.of("address", Map.of("state", "ca")));
+        GraphUtil.updateVertexAndEdgeProperties(g.V(vertex.id()), requestMap, HttpMethod.PATCH.name());
+
+        assertThat(g.V(vertex.id()).values("address_state").toList()).containsExactly("CA");
+    }
+}